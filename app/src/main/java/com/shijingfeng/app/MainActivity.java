@@ -1,6 +1,10 @@
 package com.shijingfeng.app;
 
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.recyclerview.widget.DividerItemDecoration;
@@ -8,13 +12,34 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.shijingfeng.app.bean.SwipeRemoveBean;
+import com.shijingfeng.app.adapter.RowViewPrewarmer;
 import com.shijingfeng.app.adapter.SwipeRemoveAdapter;
+import com.shijingfeng.app.data.CompactRowStore;
+import com.shijingfeng.app.data.PagedSwipeList;
+import com.shijingfeng.app.image.ThumbnailLoader;
+import com.shijingfeng.app.image.ThumbnailPreloader;
+import com.shijingfeng.swipe_remove.SwipeStateStore;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class MainActivity extends AppCompatActivity {
 
+    private static final String TAG = "MainActivity";
+    private static final String KEY_SWIPE_STATE = "swipe_state";
+    /** 沿滚动方向预加载的行数 */
+    private static final int PRELOAD_COUNT = 6;
+    /** 演示数据总数 */
+    private static final int ROW_COUNT = 200000;
+    /** 每页数量 */
+    private static final int PAGE_SIZE = 40;
+    /** 离已加载窗口边缘不超过这个行数时加载下一页 */
+    private static final int PREFETCH_DISTANCE = 20;
+    /** 内存中最多保留的行数 */
+    private static final int MAX_LOADED_ROWS = 200;
+    /** 预热的行View数量（约一屏半，首屏和第一次快速滑动都不需要在主线程加载布局）*/
+    private static final int PREWARM_ROW_COUNT = 12;
+
     private final String[] IMG_ARRAY = {
             "http://ku.90sjimg.com/element_origin_min_pic/00/54/78/0856d993f3b7b33.jpg",
             "http://ku.90sjimg.com/element_origin_min_pic/00/85/92/8956ea2f6af1c47.jpg",
@@ -61,12 +86,19 @@ public class MainActivity extends AppCompatActivity {
     private RecyclerView rvContent;
 
     private SwipeRemoveAdapter mAdapter;
-    private List<SwipeRemoveBean> mDataList;
+    private SwipeStateStore mSwipeStateStore = new SwipeStateStore();
+    /** 分页读取、删除数据的串行后台线程 */
+    private ExecutorService mDataExecutor = Executors.newSingleThreadExecutor();
+    private PagedSwipeList mPagedList;
+    /** 预热行View的后台线程 */
+    private ExecutorService mInflateExecutor = Executors.newSingleThreadExecutor();
+    private RowViewPrewarmer mRowViewPrewarmer;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
+        mSwipeStateStore.onRestoreInstanceState(savedInstanceState, KEY_SWIPE_STATE);
         initView();
         initData();
         initAction();
@@ -77,17 +109,79 @@ public class MainActivity extends AppCompatActivity {
     }
 
     private void initData() {
-        mDataList = new ArrayList<>();
+        final Handler mainHandler = new Handler(Looper.getMainLooper());
+        final CompactRowStore rowStore = new CompactRowStore(ROW_COUNT);
 
-        for (int i = 0; i < IMG_ARRAY.length; ++i) {
-            mDataList.add(new SwipeRemoveBean(IMG_ARRAY[i], "内容" + i));
-        }
+        //在后台线程填充本地存储（按列存储，相同的图片地址只保存一份；串行线程保证在第一次分页加载之前完成）
+        mDataExecutor.execute(() -> {
+            for (int i = 0; i < ROW_COUNT; ++i) {
+                rowStore.add(i, IMG_ARRAY[i % IMG_ARRAY.length], "内容" + i);
+            }
+        });
+        //数据按页从本地存储读取，内存中只保留当前位置附近的几页
+        mPagedList = new PagedSwipeList(rowStore,
+                PAGE_SIZE, PREFETCH_DISTANCE, MAX_LOADED_ROWS, mDataExecutor, mainHandler::post);
+        final ThumbnailLoader thumbnailLoader = new ThumbnailLoader(this, getResources().getDimensionPixelSize(R.dimen.thumbnail_size));
 
         rvContent.setLayoutManager(new LinearLayoutManager(this));
-        rvContent.setAdapter(mAdapter = new SwipeRemoveAdapter(this, mDataList));
+        //行View的复用池（可以与其他使用同一行布局的列表共享）
+        rvContent.setRecycledViewPool(new RecyclerView.RecycledViewPool());
+        mAdapter = new SwipeRemoveAdapter(this, mSwipeStateStore, thumbnailLoader);
+        rvContent.addOnScrollListener(new ThumbnailPreloader(thumbnailLoader, mAdapter, PRELOAD_COUNT));
+        mAdapter.submitList(mPagedList);
         rvContent.addItemDecoration(new DividerItemDecoration(this, DividerItemDecoration.VERTICAL));
+
+        //行View在后台线程预热并放入复用池，完成后由预热器设置 Adapter
+        mRowViewPrewarmer = new RowViewPrewarmer(rvContent, R.layout.adapter_item_swipe_remove, 0, PREWARM_ROW_COUNT);
+        mRowViewPrewarmer.setOnFirstFrameListener(prewarmer -> Log.i(TAG, "time to first frame: " + prewarmer.getTimeToFirstFrame()
+                + "ms, prewarmed: " + prewarmer.getPrewarmedCount() + ", inflated on main thread: " + prewarmer.getMainThreadInflateCount()));
+        mAdapter.setRowViewPrewarmer(mRowViewPrewarmer);
+        mRowViewPrewarmer.start(mAdapter, mInflateExecutor, null);
     }
 
     private void initAction() {
+        mAdapter.setOnItemActionListener(new SwipeRemoveAdapter.OnItemActionListener() {
+
+            @Override
+            public void onOpen(SwipeRemoveBean bean) {
+                Toast.makeText(MainActivity.this, "llContent OnClick点击了！", Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public boolean onLongClick(SwipeRemoveBean bean) {
+                Toast.makeText(MainActivity.this, "llContent OnLongClick点击了！", Toast.LENGTH_SHORT).show();
+                return true;
+            }
+
+            @Override
+            public void onTop(SwipeRemoveBean bean) {
+                Toast.makeText(MainActivity.this, "置顶了！", Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public void onMarkUnread(SwipeRemoveBean bean) {
+                Toast.makeText(MainActivity.this, "标记未读了！", Toast.LENGTH_SHORT).show();
+            }
+
+            @Override
+            public void onDelete(SwipeRemoveBean bean) {
+            }
+        });
+    }
+
+    @Override
+    protected void onSaveInstanceState(Bundle outState) {
+        super.onSaveInstanceState(outState);
+        mSwipeStateStore.onSaveInstanceState(outState, KEY_SWIPE_STATE);
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        Log.i(TAG, "row views inflated while scrolling: " + mRowViewPrewarmer.getScrollInflateCount());
+        mRowViewPrewarmer.cancel();
+        mInflateExecutor.shutdown();
+        mPagedList.detach();
+        mDataExecutor.shutdown();
     }
 }
@@ -0,0 +1,229 @@
+package com.shijingfeng.app.adapter;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
+
+import androidx.annotation.LayoutRes;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+/**
+ * function: 行View预热（可选）：在列表显示之前，于后台线程加载指定数量的行布局（与 AsyncLayoutInflater 相同的做法），
+ *           回到主线程后通过 Adapter 创建 ViewHolder 放入列表的 RecycledViewPool，首屏和第一次快速滑动直接复用
+ *           Adapter 在 onCreateViewHolder() 中通过 {@link #obtainView(ViewGroup)} 取得行View，没有预热好的才在主线程加载
+ *           统计：首帧耗时（开始预热到列表第一次带内容绘制）、主线程加载次数、其中滚动期间的加载次数
+ *           行布局中的View构造方法不能依赖当前线程的 Looper（例如创建 Handler、启动动画）
+ */
+public final class RowViewPrewarmer {
+
+    private final RecyclerView mRecyclerView;
+    /** 行布局 */
+    @LayoutRes
+    private final int mLayoutRes;
+    /** 行布局对应的 viewType */
+    private final int mViewType;
+    /** 预热数量 */
+    private final int mCount;
+    /** 主线程加载使用 */
+    private final LayoutInflater mInflater;
+    /** 后台线程加载使用（复制后保留 Activity 设置的 Factory，例如 AppCompat 的控件替换）*/
+    private final LayoutInflater mBackgroundInflater;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    /** 后台加载完成、还没有创建 ViewHolder 的行View */
+    private final ArrayDeque<View> mReadyViews = new ArrayDeque<>();
+    /** 列表是否正在滚动 */
+    private boolean mScrolling;
+    /** 是否已经取消（后台线程也会读取）*/
+    private volatile boolean mCanceled;
+    /** 开始预热的时间（SystemClock.uptimeMillis() 时钟）*/
+    private long mStartTime;
+    /** 首帧耗时（毫秒值）-1: 还没有绘制 */
+    private long mTimeToFirstFrame = -1;
+    /** 放入复用池的数量 */
+    private int mPrewarmedCount;
+    /** 在主线程加载的数量 */
+    private int mMainThreadInflateCount;
+    /** 滚动期间在主线程加载的数量 */
+    private int mScrollInflateCount;
+    private OnFirstFrameListener mOnFirstFrameListener;
+
+    private final ViewTreeObserver.OnPreDrawListener mFirstFrameListener = new ViewTreeObserver.OnPreDrawListener() {
+
+        @Override
+        public boolean onPreDraw() {
+            if (mRecyclerView.getChildCount() > 0) {
+                mRecyclerView.getViewTreeObserver().removeOnPreDrawListener(this);
+                mTimeToFirstFrame = SystemClock.uptimeMillis() - mStartTime;
+                if (mOnFirstFrameListener != null) {
+                    mOnFirstFrameListener.onFirstFrame(RowViewPrewarmer.this);
+                }
+            }
+            return true;
+        }
+    };
+
+    /**
+     * @param recyclerView 列表（已经设置 LayoutManager，行View的 LayoutParams 由它生成）
+     * @param layoutRes    行布局
+     * @param viewType     行布局对应的 viewType
+     * @param count        预热数量（一般为一屏的行数再加几行）
+     */
+    public RowViewPrewarmer(@NonNull RecyclerView recyclerView, @LayoutRes int layoutRes, int viewType, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative.");
+        }
+        mRecyclerView = recyclerView;
+        mLayoutRes = layoutRes;
+        mViewType = viewType;
+        mCount = count;
+        mInflater = LayoutInflater.from(recyclerView.getContext());
+        mBackgroundInflater = mInflater.cloneInContext(recyclerView.getContext());
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+
+            @Override
+            public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+                mScrolling = newState != RecyclerView.SCROLL_STATE_IDLE;
+            }
+        });
+    }
+
+    /**
+     * 开始预热（主线程调用，只能调用一次）
+     * 全部放入复用池（或加载失败）后由这里把 Adapter 设置给列表：使用 swapAdapter()，不能使用 setAdapter()，
+     * 复用池还没有关联任何 Adapter 时，setAdapter() 会清空复用池，预热的 ViewHolder 全部丢弃
+     * @param adapter            用来创建 ViewHolder 的 Adapter（调用之前不要设置给列表）
+     * @param backgroundExecutor 加载布局的后台线程
+     * @param onReady            Adapter 设置给列表后在主线程执行
+     */
+    public void start(@NonNull RecyclerView.Adapter<?> adapter, @NonNull Executor backgroundExecutor, @Nullable Runnable onReady) {
+        final RecyclerView.RecycledViewPool pool = mRecyclerView.getRecycledViewPool();
+
+        mStartTime = SystemClock.uptimeMillis();
+        mRecyclerView.getViewTreeObserver().addOnPreDrawListener(mFirstFrameListener);
+        //默认每种 viewType 只保留5个，预热的多出部分会被丢弃
+        pool.setMaxRecycledViews(mViewType, Math.max(mCount, 5));
+        backgroundExecutor.execute(() -> {
+            for (int i = 0; i < mCount && !mCanceled; ++i) {
+                final View view;
+
+                try {
+                    view = mBackgroundInflater.inflate(mLayoutRes, mRecyclerView, false);
+                } catch (RuntimeException e) {
+                    //某些View只能在主线程创建，剩下的交给主线程按需加载
+                    break;
+                }
+                mMainHandler.post(() -> onViewInflated(adapter, pool, view));
+            }
+            mMainHandler.post(() -> {
+                if (mCanceled) {
+                    return;
+                }
+                //与之前的 Adapter（null）兼容，复用池不会被清空
+                mRecyclerView.swapAdapter(adapter, false);
+                if (onReady != null) {
+                    onReady.run();
+                }
+            });
+        });
+    }
+
+    /**
+     * 取消还没有完成的预热（还没有设置 Adapter 时不会再设置）
+     */
+    public void cancel() {
+        mCanceled = true;
+        mReadyViews.clear();
+        mRecyclerView.getViewTreeObserver().removeOnPreDrawListener(mFirstFrameListener);
+    }
+
+    /**
+     * 获取一个行View（Adapter 在 onCreateViewHolder() 中调用）：优先使用预热好的，没有则在主线程加载
+     * @param parent 列表
+     */
+    @NonNull
+    public View obtainView(@NonNull ViewGroup parent) {
+        final View view = mReadyViews.poll();
+
+        if (view != null) {
+            return view;
+        }
+        ++mMainThreadInflateCount;
+        if (mScrolling) {
+            ++mScrollInflateCount;
+        }
+        return mInflater.inflate(mLayoutRes, parent, false);
+    }
+
+    /**
+     * 设置首帧回调（列表第一次带内容绘制前）
+     */
+    public void setOnFirstFrameListener(@Nullable OnFirstFrameListener listener) {
+        mOnFirstFrameListener = listener;
+    }
+
+    /**
+     * 首帧耗时（毫秒值，从开始预热算起）
+     * @return -1: 还没有绘制
+     */
+    public long getTimeToFirstFrame() {
+        return mTimeToFirstFrame;
+    }
+
+    /**
+     * 放入复用池的数量
+     */
+    public int getPrewarmedCount() {
+        return mPrewarmedCount;
+    }
+
+    /**
+     * 在主线程加载的数量（预热的用完或还没有完成）
+     */
+    public int getMainThreadInflateCount() {
+        return mMainThreadInflateCount;
+    }
+
+    /**
+     * 滚动期间在主线程加载的数量（会造成滑动卡顿，理想情况为0）
+     */
+    public int getScrollInflateCount() {
+        return mScrollInflateCount;
+    }
+
+    /**
+     * 后台加载好一个行View（主线程）：通过 Adapter 创建 ViewHolder（设置 viewType）后放入复用池
+     */
+    private void onViewInflated(@NonNull RecyclerView.Adapter<?> adapter, @NonNull RecyclerView.RecycledViewPool pool, @NonNull View view) {
+        if (mCanceled) {
+            return;
+        }
+        mReadyViews.add(view);
+
+        final RecyclerView.ViewHolder holder = adapter.createViewHolder(mRecyclerView, mViewType);
+
+        if (holder.itemView != view) {
+            //Adapter 没有通过 obtainView() 取得行View（自己加载了），预热的这个丢弃
+            mReadyViews.remove(view);
+        }
+        pool.putRecycledView(holder);
+        ++mPrewarmedCount;
+    }
+
+    /**
+     * 首帧回调
+     */
+    public interface OnFirstFrameListener {
+
+        void onFirstFrame(@NonNull RowViewPrewarmer prewarmer);
+    }
+
+}
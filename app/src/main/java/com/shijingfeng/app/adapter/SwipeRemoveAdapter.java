@@ -8,62 +8,260 @@ import android.widget.Button;
 import android.widget.ImageView;
 import android.widget.LinearLayout;
 import android.widget.TextView;
-import android.widget.Toast;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.RecyclerView;
 
-import com.bumptech.glide.Glide;
 import com.shijingfeng.app.R;
 import com.shijingfeng.app.bean.SwipeRemoveBean;
+import com.shijingfeng.app.data.PagedSwipeList;
+import com.shijingfeng.app.image.ThumbnailLoader;
+import com.shijingfeng.app.image.ThumbnailPreloader;
+import com.shijingfeng.swipe_remove.SwipeRemoveLayout;
+import com.shijingfeng.swipe_remove.SwipeStateStore;
 
-import java.util.List;
-
-public class SwipeRemoveAdapter extends RecyclerView.Adapter<SwipeRemoveAdapter.SwipeRemoveViewHolder> {
+/**
+ * function: 分页数据的侧滑列表（没有加载的位置绑定为占位行，按位置的增删改由 {@link PagedSwipeList} 通知，不计算差异）
+ */
+public class SwipeRemoveAdapter extends RecyclerView.Adapter<SwipeRemoveAdapter.SwipeRemoveViewHolder>
+        implements ThumbnailPreloader.UrlProvider, PagedSwipeList.Callback {
 
     private Context mContext;
-    private List<SwipeRemoveBean> mDataList;
+    /** 侧滑菜单打开状态（按稳定ID保存，复用时或所在的页被丢弃后重新加载时都不会跟错数据）*/
+    private SwipeStateStore mSwipeStateStore;
+    /** 分页数据 */
+    private PagedSwipeList mPagedList;
+    /** 行内点击事件回调 */
+    private OnItemActionListener mOnItemActionListener;
+    /** 缩略图加载（按控件尺寸解码，与预加载共用）*/
+    private ThumbnailLoader mThumbnailLoader;
+    /** 行View预热（为null时在主线程加载）*/
+    private RowViewPrewarmer mRowViewPrewarmer;
 
-    public SwipeRemoveAdapter(Context context, List<SwipeRemoveBean> dataList) {
+    public SwipeRemoveAdapter(Context context, SwipeStateStore swipeStateStore, ThumbnailLoader thumbnailLoader) {
         this.mContext = context;
-        this.mDataList = dataList;
+        this.mSwipeStateStore = swipeStateStore;
+        this.mThumbnailLoader = thumbnailLoader;
+    }
+
+    /**
+     * 设置分页数据（替换之前的数据）
+     */
+    public void submitList(@Nullable PagedSwipeList pagedList) {
+        if (pagedList == mPagedList) {
+            return;
+        }
+
+        final int oldCount = getItemCount();
+
+        if (mPagedList != null) {
+            mPagedList.setCallback(null);
+        }
+        mPagedList = pagedList;
+        if (pagedList != null) {
+            pagedList.setCallback(this);
+        }
+        notifyItemRangeRemoved(0, oldCount);
+        notifyItemRangeInserted(0, getItemCount());
     }
 
     @NonNull
     @Override
     public SwipeRemoveViewHolder onCreateViewHolder(@NonNull ViewGroup container, int position) {
-        View view = LayoutInflater.from(mContext).inflate(R.layout.adapter_item_swipe_remove, container, false);
-        return new SwipeRemoveViewHolder(view);
+        View view = mRowViewPrewarmer != null ? mRowViewPrewarmer.obtainView(container)
+                : LayoutInflater.from(mContext).inflate(R.layout.adapter_item_swipe_remove, container, false);
+        final SwipeRemoveViewHolder holder = new SwipeRemoveViewHolder(view, this);
+
+        //整行滑出后直接删除（不需要再收起，空位由 RecyclerView 的删除动画补上）
+        holder.swipeRemoveLayout.setOnFullSwipeListener(layout -> {
+            final int adapterPosition = holder.getAdapterPosition();
+
+            final SwipeRemoveBean bean = adapterPosition == RecyclerView.NO_POSITION ? null : mPagedList.peek(adapterPosition);
+
+            if (bean != null) {
+                removeItem(bean.id);
+            }
+        });
+        return holder;
     }
 
     @Override
     public void onBindViewHolder(@NonNull SwipeRemoveViewHolder holder, int position) {
-        final SwipeRemoveBean bean = mDataList.get(position);
+        //点击事件在创建 ViewHolder 时只设置一次，点击时再按位置取数据，绑定时不创建任何监听对象
+        final SwipeRemoveBean bean = mPagedList.get(position);
 
-        Glide.with(mContext).load(bean.imageUrl).into(holder.ivImg);
+        if (bean == null) {
+            //占位行：所在的页还没有加载（不保存侧滑状态，点击时取不到数据会被忽略）
+            holder.swipeRemoveLayout.bindState(null, RecyclerView.NO_ID);
+            loadImage(holder, null);
+            holder.tvName.setText(null);
+            return;
+        }
+        holder.swipeRemoveLayout.bindState(mSwipeStateStore, bean.id);
+        loadImage(holder, bean.imageUrl);
         holder.tvName.setText(bean.name);
+    }
 
-        holder.llContent.setOnClickListener(view -> Toast.makeText(mContext, "llContent OnClick点击了！", Toast.LENGTH_SHORT).show());
-        holder.llContent.setOnLongClickListener(view -> {
-            Toast.makeText(mContext, "llContent OnLongClick点击了！", Toast.LENGTH_SHORT).show();
-            return true;
-        });
+    /**
+     * 加载图片
+     * @param url 占位行为null（清除之前的图片）
+     */
+    void loadImage(@NonNull SwipeRemoveViewHolder holder, @Nullable String url) {
+        mThumbnailLoader.load(holder.ivImg, url);
+    }
+
+    /**
+     * 删除数据（侧滑状态跟着删除，位置由分页数据通知）
+     */
+    private void removeItem(long id) {
+        mSwipeStateStore.remove(id);
+        mPagedList.remove(id);
+    }
+
+    /**
+     * 行内的点击（由 ViewHolder 转发，点击时才取当前绑定的数据）
+     * @param holder 被点击的行
+     * @param view   被点击的View
+     */
+    private void onItemClick(@NonNull SwipeRemoveViewHolder holder, @NonNull View view) {
+        final int adapterPosition = holder.getAdapterPosition();
+
+        if (adapterPosition == RecyclerView.NO_POSITION) {
+            //正在删除或数据刚刚变化，还没有重新布局
+            return;
+        }
+
+        final SwipeRemoveBean bean = mPagedList.peek(adapterPosition);
+
+        if (bean == null) {
+            //占位行
+            return;
+        }
+        switch (view.getId()) {
+            case R.id.btn_delete:
+                holder.swipeRemoveLayout.close();
+                removeItem(bean.id);
+                if (mOnItemActionListener != null) {
+                    mOnItemActionListener.onDelete(bean);
+                }
+                break;
+            case R.id.btn_top:
+                if (mOnItemActionListener != null) {
+                    mOnItemActionListener.onTop(bean);
+                }
+                break;
+            case R.id.btn_unread:
+                if (mOnItemActionListener != null) {
+                    mOnItemActionListener.onMarkUnread(bean);
+                }
+                break;
+            default:
+                if (mOnItemActionListener != null) {
+                    mOnItemActionListener.onOpen(bean);
+                }
+                break;
+        }
+    }
+
+    /**
+     * 行内容的长按（由 ViewHolder 转发）
+     * @return 是否消费了长按事件
+     */
+    private boolean onItemLongClick(@NonNull SwipeRemoveViewHolder holder) {
+        final int adapterPosition = holder.getAdapterPosition();
+
+        if (adapterPosition == RecyclerView.NO_POSITION || mOnItemActionListener == null) {
+            return false;
+        }
+
+        final SwipeRemoveBean bean = mPagedList.peek(adapterPosition);
 
-        holder.btnTop.setOnClickListener(view -> Toast.makeText(mContext, "置顶了！", Toast.LENGTH_SHORT).show());
-        holder.btnUnread.setOnClickListener(view -> Toast.makeText(mContext, "标记未读了！", Toast.LENGTH_SHORT).show());
-        holder.btnDelete.setOnClickListener(view -> Toast.makeText(mContext, "删除了！", Toast.LENGTH_SHORT).show());
+        return bean != null && mOnItemActionListener.onLongClick(bean);
+    }
+
+    /**
+     * 设置行View预热（创建 ViewHolder 时优先使用后台线程加载好的行View）
+     * @param prewarmer 必须使用 R.layout.adapter_item_swipe_remove
+     */
+    public void setRowViewPrewarmer(RowViewPrewarmer prewarmer) {
+        mRowViewPrewarmer = prewarmer;
+    }
+
+    /**
+     * 设置行内点击事件回调
+     */
+    public void setOnItemActionListener(OnItemActionListener listener) {
+        mOnItemActionListener = listener;
     }
 
     @Override
     public int getItemCount() {
-        if (mDataList == null) {
-            return 0;
-        }
-        return mDataList.size();
+        return mPagedList == null ? 0 : mPagedList.size();
+    }
+
+    @Override
+    public String getImageUrl(int position) {
+        //预加载不触发分页加载，没有加载的行不预加载
+        final SwipeRemoveBean bean = mPagedList.peek(position);
+
+        return bean == null ? null : bean.imageUrl;
+    }
+
+    @Override
+    public void onInserted(int position, int count) {
+        notifyItemRangeInserted(position, count);
+    }
+
+    @Override
+    public void onRemoved(int position, int count) {
+        notifyItemRangeRemoved(position, count);
     }
 
-    static class SwipeRemoveViewHolder extends RecyclerView.ViewHolder {
+    @Override
+    public void onChanged(int position, int count) {
+        notifyItemRangeChanged(position, count);
+    }
+
+    /**
+     * 行内点击事件回调（点击时的数据，不是绑定时的数据）
+     */
+    public interface OnItemActionListener {
+
+        /**
+         * 点击行内容
+         */
+        void onOpen(SwipeRemoveBean bean);
 
+        /**
+         * 长按行内容
+         * @return 是否消费了长按事件
+         */
+        boolean onLongClick(SwipeRemoveBean bean);
+
+        /**
+         * 点击置顶
+         */
+        void onTop(SwipeRemoveBean bean);
+
+        /**
+         * 点击标记未读
+         */
+        void onMarkUnread(SwipeRemoveBean bean);
+
+        /**
+         * 点击删除（适配器已经开始删除，这里只是通知）
+         */
+        void onDelete(SwipeRemoveBean bean);
+    }
+
+    /**
+     * 每个 ViewHolder 本身就是行内所有按钮的监听，创建时设置一次，之后复用时不再重新设置
+     */
+    static class SwipeRemoveViewHolder extends RecyclerView.ViewHolder implements View.OnClickListener, View.OnLongClickListener {
+
+        private final SwipeRemoveAdapter adapter;
+        private SwipeRemoveLayout swipeRemoveLayout;
         private LinearLayout llContent;
         private ImageView ivImg;
         private TextView tvName;
@@ -71,14 +269,32 @@ public class SwipeRemoveAdapter extends RecyclerView.Adapter<SwipeRemoveAdapter.
         private Button btnUnread;
         private Button btnDelete;
 
-        private SwipeRemoveViewHolder(@NonNull View itemView) {
+        private SwipeRemoveViewHolder(@NonNull View itemView, @NonNull SwipeRemoveAdapter adapter) {
             super(itemView);
+            this.adapter = adapter;
+            swipeRemoveLayout = (SwipeRemoveLayout) itemView;
             llContent = itemView.findViewById(R.id.ll_content);
             ivImg = itemView.findViewById(R.id.iv_img);
             tvName = itemView.findViewById(R.id.tv_name);
             btnTop = itemView.findViewById(R.id.btn_top);
             btnUnread = itemView.findViewById(R.id.btn_unread);
             btnDelete = itemView.findViewById(R.id.btn_delete);
+
+            llContent.setOnClickListener(this);
+            llContent.setOnLongClickListener(this);
+            btnTop.setOnClickListener(this);
+            btnUnread.setOnClickListener(this);
+            btnDelete.setOnClickListener(this);
+        }
+
+        @Override
+        public void onClick(View view) {
+            adapter.onItemClick(this, view);
+        }
+
+        @Override
+        public boolean onLongClick(View view) {
+            return adapter.onItemLongClick(this);
         }
 
     }
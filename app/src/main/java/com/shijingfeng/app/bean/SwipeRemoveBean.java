@@ -2,11 +2,15 @@ package com.shijingfeng.app.bean;
 
 public class SwipeRemoveBean {
 
+    /** 稳定ID（用于保存侧滑菜单打开状态）*/
+    public long id;
+
     public String imageUrl;
 
     public String name;
 
-    public SwipeRemoveBean(String imageUrl, String name) {
+    public SwipeRemoveBean(long id, String imageUrl, String name) {
+        this.id = id;
         this.imageUrl = imageUrl;
         this.name = name;
     }
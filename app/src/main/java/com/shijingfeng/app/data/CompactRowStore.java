@@ -0,0 +1,245 @@
+package com.shijingfeng.app.data;
+
+import androidx.annotation.NonNull;
+
+import com.shijingfeng.app.bean.SwipeRemoveBean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * function: 按列存储的本地数据（不为每一行创建对象）
+ *           稳定ID一列 long[]；图片地址字典编码，每行只存一个 int 编号，相同的地址只保存一份；
+ *           名称连续存放在一个共享的 char[] 中，每行只存起始偏移（第 i 行的名称为 [offset[i], offset[i + 1])）
+ *           按位置读取时通过可复用的 {@link Row} 访问，只有分页加载的那一页才创建 SwipeRemoveBean
+ *           稳定ID必须递增添加（删除时二分查找）；与 {@link SwipeRowStore} 一样，所有方法在同一个串行线程中调用
+ */
+public final class CompactRowStore implements SwipeRowStore {
+
+    /** 默认容量（行数）*/
+    private static final int DEFAULT_CAPACITY = 16;
+    /** 每行名称的默认预留长度 */
+    private static final int DEFAULT_NAME_LENGTH = 8;
+
+    /** 图片地址 -> 编号（只在添加时使用）*/
+    private final Map<String, Integer> mImageUrlIds = new HashMap<>();
+    /** 编号 -> 图片地址 */
+    private final List<String> mImageUrls = new ArrayList<>();
+    /** 稳定ID（递增）*/
+    private long[] mIds;
+    /** 图片地址编号 -1: 没有图片 */
+    private int[] mImageUrlIndexes;
+    /** 名称在 mNameChars 中的起始偏移（比行数多一个，最后一个是结束偏移）*/
+    private int[] mNameOffsets;
+    /** 所有名称的字符 */
+    private char[] mNameChars;
+    /** 行数 */
+    private int mSize;
+
+    public CompactRowStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity 预计的行数
+     */
+    public CompactRowStore(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive.");
+        }
+        mIds = new long[capacity];
+        mImageUrlIndexes = new int[capacity];
+        mNameOffsets = new int[capacity + 1];
+        mNameChars = new char[capacity * DEFAULT_NAME_LENGTH];
+    }
+
+    /**
+     * 在末尾添加一行
+     * @param id       稳定ID（必须大于已添加的所有ID）
+     * @param imageUrl 图片地址（可以为null）
+     * @param name     名称
+     */
+    public void add(long id, String imageUrl, @NonNull CharSequence name) {
+        if (mSize > 0 && id <= mIds[mSize - 1]) {
+            throw new IllegalArgumentException("id must be greater than the last added id.");
+        }
+        if (mSize == mIds.length) {
+            final int capacity = mSize * 2;
+
+            mIds = Arrays.copyOf(mIds, capacity);
+            mImageUrlIndexes = Arrays.copyOf(mImageUrlIndexes, capacity);
+            mNameOffsets = Arrays.copyOf(mNameOffsets, capacity + 1);
+        }
+
+        final int nameStart = mNameOffsets[mSize];
+        final int nameLength = name.length();
+
+        if (nameStart + nameLength > mNameChars.length) {
+            mNameChars = Arrays.copyOf(mNameChars, Math.max(mNameChars.length * 2, nameStart + nameLength));
+        }
+        for (int i = 0; i < nameLength; ++i) {
+            mNameChars[nameStart + i] = name.charAt(i);
+        }
+        mIds[mSize] = id;
+        mImageUrlIndexes[mSize] = internImageUrl(imageUrl);
+        mNameOffsets[mSize + 1] = nameStart + nameLength;
+        ++mSize;
+    }
+
+    /**
+     * 不同图片地址的数量
+     */
+    public int getImageUrlCount() {
+        return mImageUrls.size();
+    }
+
+    /**
+     * 把访问器移动到指定位置
+     * @param row      可复用的访问器（为null时创建）
+     * @param position 位置
+     * @return row
+     */
+    @NonNull
+    public Row moveTo(Row row, int position) {
+        if (position < 0 || position >= mSize) {
+            throw new IndexOutOfBoundsException("position: " + position + ", size: " + mSize);
+        }
+        if (row == null || row.mStore != this) {
+            row = new Row(this);
+        }
+        row.mPosition = position;
+        return row;
+    }
+
+    @Override
+    public int getCount() {
+        return mSize;
+    }
+
+    @NonNull
+    @Override
+    public List<SwipeRemoveBean> load(int start, int count) {
+        final int end = Math.min(mSize, start + count);
+        final List<SwipeRemoveBean> list = new ArrayList<>(Math.max(0, end - start));
+        Row row = null;
+
+        for (int position = start; position < end; ++position) {
+            row = moveTo(row, position);
+            //图片地址是字典中的同一个对象，只有名称需要创建字符串
+            list.add(new SwipeRemoveBean(row.getId(), row.getImageUrl(), row.getName()));
+        }
+        return list;
+    }
+
+    /**
+     * 删除一行，后面的行整体前移（每次删除 O(n)，在后台线程执行；名称的字符也一起移动，不留空洞）
+     */
+    @Override
+    public int delete(long id) {
+        final int position = Arrays.binarySearch(mIds, 0, mSize, id);
+
+        if (position < 0) {
+            return -1;
+        }
+
+        final int nameStart = mNameOffsets[position];
+        final int nameEnd = mNameOffsets[position + 1];
+        final int nameLength = nameEnd - nameStart;
+        final int moved = mSize - position - 1;
+
+        System.arraycopy(mIds, position + 1, mIds, position, moved);
+        System.arraycopy(mImageUrlIndexes, position + 1, mImageUrlIndexes, position, moved);
+        System.arraycopy(mNameChars, nameEnd, mNameChars, nameStart, mNameOffsets[mSize] - nameEnd);
+        //后面每一行（包括结束偏移）前移一格并减去被删除名称的长度
+        for (int i = position + 1; i <= mSize; ++i) {
+            mNameOffsets[i - 1] = mNameOffsets[i] - nameLength;
+        }
+        --mSize;
+        return position;
+    }
+
+    private int internImageUrl(String imageUrl) {
+        if (imageUrl == null) {
+            return -1;
+        }
+
+        final Integer index = mImageUrlIds.get(imageUrl);
+
+        if (index != null) {
+            return index;
+        }
+
+        final int newIndex = mImageUrls.size();
+
+        mImageUrls.add(imageUrl);
+        mImageUrlIds.put(imageUrl, newIndex);
+        return newIndex;
+    }
+
+    /**
+     * 某一行的访问器（享元，移动位置即可复用，不持有任何行数据）
+     * 只在访问存储的线程中使用，存储删除数据后需要重新移动
+     */
+    public static final class Row {
+
+        private final CompactRowStore mStore;
+        private int mPosition;
+
+        private Row(CompactRowStore store) {
+            mStore = store;
+        }
+
+        public int getPosition() {
+            return mPosition;
+        }
+
+        public long getId() {
+            return mStore.mIds[mPosition];
+        }
+
+        /**
+         * 图片地址（字典中的共享对象，不创建新字符串）
+         */
+        public String getImageUrl() {
+            final int index = mStore.mImageUrlIndexes[mPosition];
+
+            return index < 0 ? null : mStore.mImageUrls.get(index);
+        }
+
+        public int getNameLength() {
+            return mStore.mNameOffsets[mPosition + 1] - mStore.mNameOffsets[mPosition];
+        }
+
+        public char getNameChar(int index) {
+            if (index < 0 || index >= getNameLength()) {
+                throw new IndexOutOfBoundsException("index: " + index);
+            }
+            return mStore.mNameChars[mStore.mNameOffsets[mPosition] + index];
+        }
+
+        /**
+         * 复制名称（不创建字符串）
+         * @param dst      目标数组（长度不小于 dstStart + {@link #getNameLength()}）
+         * @param dstStart 目标起始位置
+         */
+        public void getNameChars(@NonNull char[] dst, int dstStart) {
+            final int start = mStore.mNameOffsets[mPosition];
+
+            System.arraycopy(mStore.mNameChars, start, dst, dstStart, mStore.mNameOffsets[mPosition + 1] - start);
+        }
+
+        /**
+         * 名称（创建新字符串）
+         */
+        @NonNull
+        public String getName() {
+            final int start = mStore.mNameOffsets[mPosition];
+
+            return new String(mStore.mNameChars, start, mStore.mNameOffsets[mPosition + 1] - start);
+        }
+    }
+
+}
@@ -0,0 +1,415 @@
+package com.shijingfeng.app.data;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.shijingfeng.app.bean.SwipeRemoveBean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * function: 分页加载的列表（参考 Paging 库的 PagedList，带占位）
+ *           总数一开始就确定，没有加载的位置返回null（占位）；访问接近已加载窗口的边缘时在后台线程加载下一页，
+ *           已加载的数据不超过 maxSize 条，超出时丢弃离当前访问位置最远的一端（重新变成占位）
+ *           删除按稳定ID进行：已加载的行立即移除，没有加载的行由存储确定位置后再移除，位置始终与存储一致
+ *           除构造方法外，所有方法都在主线程调用；后台 Executor 必须是串行的（读取和删除按提交顺序执行）
+ */
+public final class PagedSwipeList {
+
+    /** 第一次加载（同时读取总数）*/
+    private static final int LOAD_INITIAL = 0;
+    /** 跳转到离窗口较远的位置，重新加载 */
+    private static final int LOAD_REFRESH = 1;
+    /** 在窗口前面加载一页 */
+    private static final int LOAD_PREPEND = 2;
+    /** 在窗口后面加载一页 */
+    private static final int LOAD_APPEND = 3;
+
+    private final SwipeRowStore mStore;
+    /** 串行的后台线程 */
+    private final Executor mBackgroundExecutor;
+    /** 主线程 */
+    private final Executor mMainExecutor;
+    /** 每页数量 */
+    private final int mPageSize;
+    /** 访问位置离窗口边缘不超过这个距离时加载下一页 */
+    private final int mPrefetchDistance;
+    /** 最多保留的数据条数 */
+    private final int mMaxSize;
+    /** 已加载的连续数据（窗口）*/
+    private final ArrayList<SwipeRemoveBean> mLoaded = new ArrayList<>();
+    /** 窗口起始位置 */
+    private int mLeading;
+    /** 总数（包括占位）*/
+    private int mSize;
+    /** 第一次加载是否已经完成 */
+    private boolean mInitialized;
+    /** 是否有正在后台执行的加载（同一时间只加载一页）*/
+    private boolean mLoading;
+    /** 每次删除加1，提交加载后发生过删除则加载结果作废（位置已经变化）*/
+    private int mGeneration;
+    /** 最近访问的位置 */
+    private int mLastAccessed;
+    /** 已经在主线程移除、存储还没有执行删除的位置（按移除顺序，-1 表示已经失效）*/
+    private int[] mPendingRemovals = new int[4];
+    private int mPendingRemovalCount;
+    /** 是否已经停止使用 */
+    private boolean mDetached;
+    /** 加载次数 */
+    private int mLoadCount;
+    private Callback mCallback;
+
+    /**
+     * 创建后立即在后台线程开始第一次加载
+     * @param store              本地存储
+     * @param pageSize           每页数量
+     * @param prefetchDistance   访问位置离窗口边缘不超过这个距离时加载下一页
+     * @param maxSize            最多保留的数据条数（不小于 pageSize + 2 * prefetchDistance）
+     * @param backgroundExecutor 串行的后台线程
+     * @param mainExecutor       主线程
+     */
+    public PagedSwipeList(@NonNull SwipeRowStore store, int pageSize, int prefetchDistance, int maxSize,
+                          @NonNull Executor backgroundExecutor, @NonNull Executor mainExecutor) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive.");
+        }
+        if (prefetchDistance <= 0) {
+            throw new IllegalArgumentException("prefetchDistance must be positive.");
+        }
+        if (maxSize < pageSize + 2 * prefetchDistance) {
+            //否则刚加载的页会把当前访问位置附近的数据挤出窗口，来回加载
+            throw new IllegalArgumentException("maxSize must be at least pageSize + 2 * prefetchDistance.");
+        }
+        mStore = store;
+        mPageSize = pageSize;
+        mPrefetchDistance = prefetchDistance;
+        mMaxSize = maxSize;
+        mBackgroundExecutor = backgroundExecutor;
+        mMainExecutor = mainExecutor;
+        mLoading = true;
+        mBackgroundExecutor.execute(() -> {
+            final int count = mStore.getCount();
+            final List<SwipeRemoveBean> items = mStore.load(0, Math.min(mPageSize, count));
+
+            mMainExecutor.execute(() -> {
+                if (mDetached) {
+                    return;
+                }
+                mSize = count;
+                mInitialized = true;
+                onLoaded(LOAD_INITIAL, mGeneration, 0, items);
+            });
+        });
+    }
+
+    /**
+     * 设置数据变化回调（在主线程回调）
+     */
+    public void setCallback(@Nullable Callback callback) {
+        mCallback = callback;
+    }
+
+    /**
+     * 停止使用（不再加载、删除，也不再回调，之后可以关闭后台线程）
+     */
+    public void detach() {
+        mDetached = true;
+        mCallback = null;
+    }
+
+    /**
+     * 总数（包括占位，第一次加载完成前为0）
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * 获取数据，并按需要加载附近的页（绑定时调用）
+     * @return 还没有加载时返回null（占位）
+     */
+    @Nullable
+    public SwipeRemoveBean get(int position) {
+        if (position < 0 || position >= mSize) {
+            throw new IndexOutOfBoundsException("position: " + position + ", size: " + mSize);
+        }
+        mLastAccessed = position;
+        loadAround(position);
+        return peek(position);
+    }
+
+    /**
+     * 获取数据，不触发加载（点击、预加载图片时调用）
+     * @return 还没有加载时返回null（占位）
+     */
+    @Nullable
+    public SwipeRemoveBean peek(int position) {
+        final int index = position - mLeading;
+
+        return index >= 0 && index < mLoaded.size() ? mLoaded.get(index) : null;
+    }
+
+    /**
+     * 删除数据（同时从存储中删除）
+     * @param id 稳定ID
+     */
+    public void remove(long id) {
+        if (mDetached) {
+            return;
+        }
+
+        final int index = indexOfLoaded(id);
+
+        if (index < 0) {
+            //不在窗口中（例如收起动画期间所在的页已经被丢弃），由存储确定位置后再移除
+            mBackgroundExecutor.execute(() -> {
+                final int position = mStore.delete(id);
+
+                mMainExecutor.execute(() -> onDeleted(id, position));
+            });
+            return;
+        }
+
+        final int position = mLeading + index;
+
+        mLoaded.remove(index);
+        --mSize;
+        ++mGeneration;
+        addPendingRemoval(position);
+        mBackgroundExecutor.execute(() -> {
+            mStore.delete(id);
+            mMainExecutor.execute(this::removePendingRemoval);
+        });
+        if (mCallback != null) {
+            mCallback.onRemoved(position, 1);
+        }
+    }
+
+    /**
+     * 已加载窗口的起始位置
+     */
+    int getLoadedStart() {
+        return mLeading;
+    }
+
+    /**
+     * 已加载的数据条数
+     */
+    int getLoadedCount() {
+        return mLoaded.size();
+    }
+
+    /**
+     * 加载次数（包括作废的加载）
+     */
+    int getLoadCount() {
+        return mLoadCount;
+    }
+
+    /**
+     * 访问位置接近窗口边缘时加载下一页，离窗口太远时重新加载（同一时间只加载一页）
+     */
+    private void loadAround(int position) {
+        if (mDetached || !mInitialized || mLoading || mSize == 0) {
+            return;
+        }
+
+        final int end = mLeading + mLoaded.size();
+
+        if (mLoaded.isEmpty() || position < mLeading - mPageSize || position >= end + mPageSize) {
+            //例如拖动滚动条或恢复滚动位置，直接加载目标位置所在的一页
+            final int start = Math.max(0, Math.min(position - mPageSize / 2, mSize - mPageSize));
+
+            scheduleLoad(LOAD_REFRESH, start, Math.min(mPageSize, mSize - start));
+        } else if (position < mLeading + mPrefetchDistance && mLeading > 0) {
+            final int start = Math.max(0, mLeading - mPageSize);
+
+            scheduleLoad(LOAD_PREPEND, start, mLeading - start);
+        } else if (position >= end - mPrefetchDistance && end < mSize) {
+            scheduleLoad(LOAD_APPEND, end, Math.min(mPageSize, mSize - end));
+        }
+    }
+
+    private void scheduleLoad(int type, int start, int count) {
+        final int generation = mGeneration;
+
+        mLoading = true;
+        ++mLoadCount;
+        mBackgroundExecutor.execute(() -> {
+            final List<SwipeRemoveBean> items = mStore.load(start, count);
+
+            mMainExecutor.execute(() -> onLoaded(type, generation, start, items));
+        });
+    }
+
+    /**
+     * 加载完成（主线程）
+     */
+    private void onLoaded(int type, int generation, int start, @NonNull List<SwipeRemoveBean> items) {
+        mLoading = false;
+        if (mDetached) {
+            return;
+        }
+        if (generation != mGeneration) {
+            //提交加载后删除了数据，位置已经变化，按最新的位置重新加载
+            loadAround(mLastAccessed);
+            return;
+        }
+
+        final int count = items.size();
+
+        switch (type) {
+            case LOAD_INITIAL:
+                mLoaded.addAll(items);
+                if (mCallback != null && mSize > 0) {
+                    mCallback.onInserted(0, mSize);
+                }
+                return;
+            case LOAD_REFRESH:
+                final int oldStart = mLeading;
+                final int oldCount = mLoaded.size();
+
+                mLoaded.clear();
+                mLoaded.addAll(items);
+                mLeading = start;
+                notifyChanged(oldStart, oldCount);
+                notifyChanged(start, count);
+                break;
+            case LOAD_PREPEND:
+                mLoaded.addAll(0, items);
+                mLeading = start;
+                notifyChanged(start, count);
+                trim(false);
+                break;
+            default:
+                mLoaded.addAll(items);
+                notifyChanged(start, count);
+                trim(true);
+                break;
+        }
+        //快速滚动时可能还需要继续加载
+        loadAround(mLastAccessed);
+    }
+
+    /**
+     * 丢弃超出 {@link #mMaxSize} 的数据（重新变成占位）
+     * @param fromFront true: 丢弃窗口前面的数据（刚在后面加载了一页）
+     */
+    private void trim(boolean fromFront) {
+        final int excess = mLoaded.size() - mMaxSize;
+
+        if (excess <= 0) {
+            return;
+        }
+        if (fromFront) {
+            final int start = mLeading;
+
+            mLoaded.subList(0, excess).clear();
+            mLeading += excess;
+            notifyChanged(start, excess);
+        } else {
+            final int keep = mLoaded.size() - excess;
+
+            mLoaded.subList(keep, mLoaded.size()).clear();
+            notifyChanged(mLeading + keep, excess);
+        }
+    }
+
+    /**
+     * 存储删除了不在窗口中的数据（主线程）
+     * @param position 存储中删除前的位置，-1 表示已经不存在
+     */
+    private void onDeleted(long id, int position) {
+        if (mDetached || position < 0) {
+            return;
+        }
+        //存储执行这次删除时，还没有执行之后在主线程立即移除的那些删除：换算成主线程的位置，
+        //同时这次删除在存储中排在它们前面，它们记录的位置也要随之换算
+        for (int i = 0; i < mPendingRemovalCount; ++i) {
+            final int removed = mPendingRemovals[i];
+
+            if (removed < 0) {
+                continue;
+            }
+            if (removed == position) {
+                //同一行在等待期间被加载并且已经移除，存储中的那次删除不会再有效果
+                mPendingRemovals[i] = -1;
+                return;
+            }
+            if (removed < position) {
+                --position;
+            } else {
+                mPendingRemovals[i] = removed - 1;
+            }
+        }
+
+        final int index = position - mLeading;
+
+        if (index < 0) {
+            --mLeading;
+        } else if (index < mLoaded.size() && mLoaded.get(index).id == id) {
+            //提交删除后这一行又被加载进了窗口
+            mLoaded.remove(index);
+        }
+        --mSize;
+        ++mGeneration;
+        if (mCallback != null) {
+            mCallback.onRemoved(position, 1);
+        }
+    }
+
+    private void addPendingRemoval(int position) {
+        if (mPendingRemovalCount == mPendingRemovals.length) {
+            mPendingRemovals = Arrays.copyOf(mPendingRemovals, mPendingRemovalCount * 2);
+        }
+        mPendingRemovals[mPendingRemovalCount++] = position;
+    }
+
+    /**
+     * 存储已经执行了最早的一个立即移除（按提交顺序确认）
+     */
+    private void removePendingRemoval() {
+        --mPendingRemovalCount;
+        System.arraycopy(mPendingRemovals, 1, mPendingRemovals, 0, mPendingRemovalCount);
+    }
+
+    private int indexOfLoaded(long id) {
+        for (int i = 0, size = mLoaded.size(); i < size; ++i) {
+            if (mLoaded.get(i).id == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void notifyChanged(int position, int count) {
+        if (mCallback != null && count > 0) {
+            mCallback.onChanged(position, count);
+        }
+    }
+
+    /**
+     * 数据变化回调（与 RecyclerView.Adapter 的 notifyItemRange*() 一一对应）
+     */
+    public interface Callback {
+
+        /**
+         * 第一次加载完成，插入了全部位置（包括占位）
+         */
+        void onInserted(int position, int count);
+
+        /**
+         * 删除了数据
+         */
+        void onRemoved(int position, int count);
+
+        /**
+         * 占位变成了数据（加载），或者数据变回了占位（丢弃）
+         */
+        void onChanged(int position, int count);
+    }
+
+}
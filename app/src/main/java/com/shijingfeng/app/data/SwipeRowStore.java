@@ -0,0 +1,35 @@
+package com.shijingfeng.app.data;
+
+import androidx.annotation.NonNull;
+
+import com.shijingfeng.app.bean.SwipeRemoveBean;
+
+import java.util.List;
+
+/**
+ * function: 列表数据的本地存储（按位置分页读取，按稳定ID删除）
+ *           所有方法都由 {@link PagedSwipeList} 在同一个串行的后台线程中调用，实现不需要考虑并发
+ */
+public interface SwipeRowStore {
+
+    /**
+     * 数据总数
+     */
+    int getCount();
+
+    /**
+     * 读取一段连续的数据
+     * @param start 起始位置（包含）
+     * @param count 数量（数据在读取前被删除时，超出末尾的部分不返回）
+     */
+    @NonNull
+    List<SwipeRemoveBean> load(int start, int count);
+
+    /**
+     * 删除数据
+     * @param id 稳定ID
+     * @return 删除前所在的位置，不存在时返回 -1
+     */
+    int delete(long id);
+
+}
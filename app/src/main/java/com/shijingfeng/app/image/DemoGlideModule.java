@@ -0,0 +1,32 @@
+package com.shijingfeng.app.image;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.bumptech.glide.GlideBuilder;
+import com.bumptech.glide.annotation.GlideModule;
+import com.bumptech.glide.load.engine.cache.LruResourceCache;
+import com.bumptech.glide.module.AppGlideModule;
+import com.shijingfeng.app.R;
+
+/**
+ * function: Glide 全局配置：内存缓存按缩略图数量限定大小（LRU），列表中的图片都按缩略图尺寸解码
+ */
+@GlideModule
+public final class DemoGlideModule extends AppGlideModule {
+
+    @Override
+    public void applyOptions(@NonNull Context context, @NonNull GlideBuilder builder) {
+        final int size = context.getResources().getDimensionPixelSize(R.dimen.thumbnail_size);
+
+        builder.setMemoryCache(new LruResourceCache(ThumbnailLoader.getMemoryCacheBytes(size)));
+    }
+
+    @Override
+    public boolean isManifestParsingEnabled() {
+        //不使用旧版 manifest 中声明的 GlideModule，省去启动时的解析
+        return false;
+    }
+
+}
@@ -0,0 +1,122 @@
+package com.shijingfeng.app.image;
+
+import android.content.Context;
+import android.widget.ImageView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.bumptech.glide.Glide;
+import com.bumptech.glide.RequestManager;
+import com.bumptech.glide.load.engine.DiskCacheStrategy;
+import com.bumptech.glide.request.RequestOptions;
+
+/**
+ * function: 列表缩略图加载（按控件的实际像素尺寸解码，预加载和显示使用同一个尺寸，命中同一份内存缓存）
+ */
+public class ThumbnailLoader {
+
+    /** 内存缓存最多保存的缩略图数量 */
+    private static final int MEMORY_CACHE_THUMBNAILS = 48;
+    /** ARGB_8888 每个像素的字节数 */
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final Context mContext;
+    /** 缩略图边长（像素）*/
+    private final int mSize;
+    /** 所有请求共用的配置（只创建一次）*/
+    private final RequestOptions mRequestOptions;
+    /** 第一次加载时才获取，创建本对象时不初始化Glide */
+    private RequestManager mRequestManager;
+    /** 请求是否已暂停 */
+    private boolean mPaused;
+
+    /**
+     * @param context 与 Glide 生命周期绑定的 Context（Activity）
+     * @param size    缩略图边长（像素）
+     */
+    public ThumbnailLoader(@NonNull Context context, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("size must be positive.");
+        }
+        mContext = context;
+        mSize = size;
+        mRequestOptions = new RequestOptions()
+                .override(size, size)
+                .centerCrop()
+                //磁盘缓存保存缩放后的缩略图，下次不需要再解码原图
+                .diskCacheStrategy(DiskCacheStrategy.RESOURCE);
+    }
+
+    /**
+     * 内存缓存大小（字节）：最多 {@value MEMORY_CACHE_THUMBNAILS} 张指定边长的缩略图
+     * @param size 缩略图边长（像素）
+     */
+    public static long getMemoryCacheBytes(int size) {
+        return (long) size * size * BYTES_PER_PIXEL * MEMORY_CACHE_THUMBNAILS;
+    }
+
+    /**
+     * 加载到控件
+     */
+    public void load(@NonNull ImageView view, @Nullable String url) {
+        getRequestManager().load(url).apply(mRequestOptions).into(view);
+    }
+
+    /**
+     * 预加载到内存缓存（与 {@link #load(ImageView, String)} 的尺寸相同，显示时直接命中）
+     */
+    public void preload(@NonNull String url) {
+        getRequestManager().load(url).apply(mRequestOptions).preload(mSize, mSize);
+    }
+
+    /**
+     * 暂停所有请求（快速滑动时）
+     */
+    public void pause() {
+        if (!mPaused) {
+            mPaused = true;
+            pauseRequests();
+        }
+    }
+
+    /**
+     * 恢复所有请求
+     */
+    public void resume() {
+        if (mPaused) {
+            mPaused = false;
+            resumeRequests();
+        }
+    }
+
+    public boolean isPaused() {
+        return mPaused;
+    }
+
+    public int getSize() {
+        return mSize;
+    }
+
+    void pauseRequests() {
+        getRequestManager().pauseRequests();
+    }
+
+    void resumeRequests() {
+        getRequestManager().resumeRequests();
+    }
+
+    @NonNull
+    RequestOptions getRequestOptions() {
+        return mRequestOptions;
+    }
+
+    @NonNull
+    private RequestManager getRequestManager() {
+        if (mRequestManager == null) {
+            mRequestManager = Glide.with(mContext);
+        }
+        return mRequestManager;
+    }
+
+}
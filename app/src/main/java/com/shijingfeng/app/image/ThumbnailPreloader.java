@@ -0,0 +1,146 @@
+package com.shijingfeng.app.image;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+/**
+ * function: 列表缩略图预加载（监听 RecyclerView 滚动）
+ *           沿滚动方向预加载可见区域之后的 N 行（与显示相同的尺寸），已请求过的行不重复请求
+ *           （还没有地址的行，例如分页加载的占位行，不算请求过，下一次滚动时再请求）；
+ *           快速惯性滑动时暂停所有请求，减速或停止后恢复
+ *           LinearLayoutManager 的预取（GapWorker）会提前绑定下一行，绑定时的加载请求同样使用缩略图尺寸
+ */
+public class ThumbnailPreloader extends RecyclerView.OnScrollListener {
+
+    private final ThumbnailLoader mLoader;
+    private final UrlProvider mUrlProvider;
+    /** 预加载行数 */
+    private final int mPreloadCount;
+    /** 惯性滑动时一帧内滚动超过这个距离（像素）则暂停请求 */
+    private final int mPauseDistance;
+    /** 当前滚动状态 */
+    private int mScrollState = RecyclerView.SCROLL_STATE_IDLE;
+    /** 最近一次滚动是否朝列表末尾 */
+    private boolean mScrollingForward = true;
+    /** 上一次预加载的起始位置（包含）*/
+    private int mPreloadedStart;
+    /** 上一次预加载的结束位置（不包含）*/
+    private int mPreloadedEnd;
+    /** 上一次预加载范围内每个位置是否已经请求（下标为 position - mPreloadedStart）*/
+    private boolean[] mRequested;
+    /** 计算新范围时使用（与 mRequested 交换，不重复创建）*/
+    private boolean[] mScratchRequested;
+
+    /**
+     * @param loader       缩略图加载
+     * @param urlProvider  按位置提供图片地址
+     * @param preloadCount 预加载行数
+     */
+    public ThumbnailPreloader(@NonNull ThumbnailLoader loader, @NonNull UrlProvider urlProvider, int preloadCount) {
+        if (preloadCount <= 0) {
+            throw new IllegalArgumentException("preloadCount must be positive.");
+        }
+        mLoader = loader;
+        mUrlProvider = urlProvider;
+        mPreloadCount = preloadCount;
+        mRequested = new boolean[preloadCount];
+        mScratchRequested = new boolean[preloadCount];
+        //一帧滚过一张缩略图以上（60Hz 时约为每秒 60 张），来不及看清，解码了也是浪费
+        mPauseDistance = loader.getSize();
+    }
+
+    @Override
+    public void onScrollStateChanged(@NonNull RecyclerView recyclerView, int newState) {
+        mScrollState = newState;
+        if (newState != RecyclerView.SCROLL_STATE_SETTLING && mLoader.isPaused()) {
+            //停止或被手指按住，恢复请求
+            mLoader.resume();
+            preload(recyclerView);
+        }
+    }
+
+    @Override
+    public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+        final RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+        final int delta = layoutManager != null && layoutManager.canScrollHorizontally() ? dx : dy;
+
+        if (delta != 0) {
+            mScrollingForward = delta > 0;
+        }
+        if (mScrollState == RecyclerView.SCROLL_STATE_SETTLING && Math.abs(delta) > mPauseDistance) {
+            mLoader.pause();
+            return;
+        }
+        //惯性滑动减速后恢复
+        mLoader.resume();
+        preload(recyclerView);
+    }
+
+    /**
+     * 沿滚动方向预加载可见区域之外的 {@link #mPreloadCount} 行
+     */
+    private void preload(@NonNull RecyclerView recyclerView) {
+        final RecyclerView.LayoutManager layoutManager = recyclerView.getLayoutManager();
+
+        if (!(layoutManager instanceof LinearLayoutManager)) {
+            return;
+        }
+
+        final LinearLayoutManager linearLayoutManager = (LinearLayoutManager) layoutManager;
+        final int first = linearLayoutManager.findFirstVisibleItemPosition();
+        final int last = linearLayoutManager.findLastVisibleItemPosition();
+
+        if (first == RecyclerView.NO_POSITION) {
+            return;
+        }
+
+        final int itemCount = mUrlProvider.getItemCount();
+        final int start = mScrollingForward ? last + 1 : Math.max(0, first - mPreloadCount);
+        final int end = mScrollingForward ? Math.min(itemCount, last + 1 + mPreloadCount) : first;
+
+        final boolean[] requested = mScratchRequested;
+
+        for (int position = start; position < end; ++position) {
+            if (isRequested(position)) {
+                //上一次已经请求过
+                requested[position - start] = true;
+                continue;
+            }
+
+            final String url = mUrlProvider.getImageUrl(position);
+
+            if (url != null) {
+                mLoader.preload(url);
+            }
+            requested[position - start] = url != null;
+        }
+        mScratchRequested = mRequested;
+        mRequested = requested;
+        mPreloadedStart = start;
+        mPreloadedEnd = end;
+    }
+
+    /**
+     * 上一次预加载时是否已经请求了这个位置的图片
+     */
+    private boolean isRequested(int position) {
+        return position >= mPreloadedStart && position < mPreloadedEnd && mRequested[position - mPreloadedStart];
+    }
+
+    /**
+     * 按位置提供图片地址（一般由 Adapter 实现）
+     */
+    public interface UrlProvider {
+
+        /**
+         * @return 没有图片时返回null
+         */
+        @Nullable
+        String getImageUrl(int position);
+
+        int getItemCount();
+    }
+
+}
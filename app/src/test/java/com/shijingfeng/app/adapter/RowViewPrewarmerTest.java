@@ -0,0 +1,173 @@
+package com.shijingfeng.app.adapter;
+
+import android.app.Activity;
+import android.os.Looper;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.shijingfeng.app.R;
+import com.shijingfeng.app.data.GeneratedRowStore;
+import com.shijingfeng.app.data.PagedSwipeList;
+import com.shijingfeng.app.image.ThumbnailLoader;
+import com.shijingfeng.swipe_remove.SwipeStateStore;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * function: 行View预热测试（后台线程用手动执行的队列代替）
+ *           列表高450，每行高110（缩略图80 + 上下边距30），一屏最多显示5行
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class RowViewPrewarmerTest {
+
+    private static final int ITEM_COUNT = 100;
+    private static final int LIST_HEIGHT = 450;
+    private static final int PREWARM_COUNT = 8;
+    /** 同步执行（分页加载立即完成）*/
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+    private final ArrayDeque<Runnable> mInflateQueue = new ArrayDeque<>();
+    private Activity mActivity;
+    private RecyclerView mRecyclerView;
+    private SwipeRemoveAdapter mAdapter;
+    private RowViewPrewarmer mPrewarmer;
+    private boolean mReady;
+    /** Adapter 设置给列表后（第一次布局之前）复用池中的数量 */
+    private int mPoolCountAtReady = -1;
+
+    @Before
+    public void setUp() {
+        mActivity = Robolectric.buildActivity(Activity.class).setup().get();
+        mRecyclerView = new RecyclerView(mActivity);
+        mRecyclerView.setLayoutManager(new LinearLayoutManager(mActivity));
+        mActivity.setContentView(mRecyclerView, new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, LIST_HEIGHT));
+        mAdapter = new SwipeRemoveAdapter(mActivity, new SwipeStateStore(), new ThumbnailLoader(mActivity, 80)) {
+
+            @Override
+            void loadImage(@NonNull SwipeRemoveViewHolder holder, @Nullable String url) {
+                //不加载图片
+            }
+        };
+        mAdapter.submitList(new PagedSwipeList(new GeneratedRowStore(new String[]{""}, ITEM_COUNT), 20, 10, ITEM_COUNT,
+                DIRECT_EXECUTOR, DIRECT_EXECUTOR));
+        mPrewarmer = new RowViewPrewarmer(mRecyclerView, R.layout.adapter_item_swipe_remove, 0, PREWARM_COUNT);
+        mAdapter.setRowViewPrewarmer(mPrewarmer);
+    }
+
+    @Test
+    public void start_keepsPrewarmedHoldersAfterAttach() {
+        final RecyclerView.RecycledViewPool pool = mRecyclerView.getRecycledViewPool();
+
+        mPrewarmer.start(mAdapter, mInflateQueue::add, () -> {
+            mReady = true;
+            mPoolCountAtReady = pool.getRecycledViewCount(0);
+        });
+        //布局在后台加载完成前，复用池还是空的，Adapter 也还没有设置
+        assertEquals(0, pool.getRecycledViewCount(0));
+        assertNull(mRecyclerView.getAdapter());
+
+        runInflateQueue();
+        idle();
+
+        assertTrue(mReady);
+        assertSame(mAdapter, mRecyclerView.getAdapter());
+        assertEquals(PREWARM_COUNT, mPrewarmer.getPrewarmedCount());
+        //设置 Adapter 没有清空复用池
+        assertEquals(PREWARM_COUNT, mPoolCountAtReady);
+        //首屏用掉的之外，其余的仍在复用池中
+        assertTrue(mRecyclerView.getChildCount() > 0);
+        assertEquals(PREWARM_COUNT - mRecyclerView.getChildCount(), pool.getRecycledViewCount(0));
+        assertEquals(0, mPrewarmer.getMainThreadInflateCount());
+
+        //预热的 ViewHolder 可以正常绑定（点击监听在创建时已经设置）
+        final RecyclerView.ViewHolder holder = pool.getRecycledView(0);
+
+        assertNotNull(holder);
+        assertTrue(holder.itemView.findViewById(R.id.btn_delete).hasOnClickListeners());
+    }
+
+    @Test
+    public void firstScreen_usesPrewarmedHolders() {
+        mPrewarmer.start(mAdapter, mInflateQueue::add, null);
+        runInflateQueue();
+        idle();
+
+        assertTrue(mRecyclerView.getChildCount() > 0);
+        //首屏没有在主线程加载布局，用的都是复用池中预热的
+        assertEquals(0, mPrewarmer.getMainThreadInflateCount());
+        assertEquals(PREWARM_COUNT - mRecyclerView.getChildCount(), mRecyclerView.getRecycledViewPool().getRecycledViewCount(0));
+        assertTrue(mPrewarmer.getTimeToFirstFrame() >= 0);
+    }
+
+    @Test
+    public void fling_countsHoldersInflatedWhileScrolling() {
+        mPrewarmer.start(mAdapter, mInflateQueue::add, null);
+        runInflateQueue();
+        idle();
+
+        //预热的数量不足以覆盖快速滑动需要的行（可见行 + 缓存行 + 预取行）
+        mRecyclerView.smoothScrollBy(0, 3000);
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofSeconds(2));
+
+        assertTrue(mPrewarmer.getScrollInflateCount() > 0);
+        assertEquals(mPrewarmer.getMainThreadInflateCount(), mPrewarmer.getScrollInflateCount());
+    }
+
+    @Test
+    public void cancel_skipsReadyCallback() {
+        mPrewarmer.start(mAdapter, mInflateQueue::add, () -> mReady = true);
+        mPrewarmer.cancel();
+        runInflateQueue();
+        idle();
+
+        assertFalse(mReady);
+        assertNull(mRecyclerView.getAdapter());
+        assertEquals(0, mPrewarmer.getPrewarmedCount());
+    }
+
+    @Test
+    public void withoutPrewarmer_inflatesOnMainThread() {
+        mAdapter.setRowViewPrewarmer(null);
+        mRecyclerView.setAdapter(mAdapter);
+        idle();
+
+        assertTrue(mRecyclerView.getChildCount() > 0);
+        assertEquals(0, mPrewarmer.getMainThreadInflateCount());
+        assertEquals(-1, mPrewarmer.getTimeToFirstFrame());
+    }
+
+    private void runInflateQueue() {
+        while (!mInflateQueue.isEmpty()) {
+            mInflateQueue.poll().run();
+        }
+    }
+
+    private static void idle() {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100));
+    }
+
+}
@@ -0,0 +1,228 @@
+package com.shijingfeng.app.adapter;
+
+import android.app.Activity;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.shijingfeng.app.R;
+import com.shijingfeng.app.bean.SwipeRemoveBean;
+import com.shijingfeng.app.data.GeneratedRowStore;
+import com.shijingfeng.app.data.PagedSwipeList;
+import com.shijingfeng.app.image.ThumbnailLoader;
+import com.shijingfeng.swipe_remove.SwipeRemoveLayout;
+import com.shijingfeng.swipe_remove.SwipeStateStore;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.Executor;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * function: 列表点击分发测试（点击时按位置取数据）以及绑定时的内存分配
+ *           分页数据在当前线程同步加载，窗口能容纳全部数据
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class SwipeRemoveAdapterTest {
+
+    private static final int ITEM_COUNT = 100;
+    /** 统计内存分配的绑定次数 */
+    private static final int BIND_COUNT = 10000;
+    private static final int PAGE_SIZE = 20;
+    private static final int PREFETCH_DISTANCE = 10;
+    /** 同步执行（加载、删除立即完成）*/
+    private static final Executor DIRECT_EXECUTOR = Runnable::run;
+
+    private Activity mActivity;
+    private SwipeStateStore mStateStore;
+    private SwipeRemoveAdapter mAdapter;
+    private List<SwipeRemoveBean> mItems;
+    private final List<String> mActions = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        mActivity = Robolectric.buildActivity(Activity.class).setup().get();
+        mStateStore = new SwipeStateStore();
+        final GeneratedRowStore store = new GeneratedRowStore(new String[]{""}, ITEM_COUNT);
+
+        mItems = store.load(0, ITEM_COUNT);
+        mAdapter = new SwipeRemoveAdapter(mActivity, mStateStore, new ThumbnailLoader(mActivity, 80)) {
+
+            @Override
+            void loadImage(@NonNull SwipeRemoveViewHolder holder, @Nullable String url) {
+                //不加载图片，只统计适配器自身的分配
+            }
+        };
+        mAdapter.setOnItemActionListener(new RecordingListener());
+        mAdapter.submitList(new PagedSwipeList(store, PAGE_SIZE, PREFETCH_DISTANCE, ITEM_COUNT, DIRECT_EXECUTOR, DIRECT_EXECUTOR));
+    }
+
+    @Test
+    public void click_dispatchesItemAtClickTime() {
+        final RecyclerView recyclerView = new RecyclerView(mActivity);
+
+        recyclerView.setLayoutManager(new LinearLayoutManager(mActivity));
+        recyclerView.setAdapter(mAdapter);
+        mActivity.setContentView(recyclerView);
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100));
+
+        itemView(recyclerView, 1).findViewById(R.id.ll_content).performClick();
+        itemView(recyclerView, 2).findViewById(R.id.btn_top).performClick();
+        itemView(recyclerView, 0).findViewById(R.id.btn_unread).performClick();
+        itemView(recyclerView, 0).findViewById(R.id.ll_content).performLongClick();
+
+        assertEquals("open 1", mActions.get(0));
+        assertEquals("top 2", mActions.get(1));
+        assertEquals("unread 0", mActions.get(2));
+        assertEquals("long 0", mActions.get(3));
+    }
+
+    @Test
+    public void delete_removesRowAndSwipeState() {
+        final RecyclerView recyclerView = new RecyclerView(mActivity);
+
+        mStateStore.put(1, SwipeStateStore.STATE_OPEN);
+        recyclerView.setLayoutManager(new LinearLayoutManager(mActivity));
+        recyclerView.setAdapter(mAdapter);
+        mActivity.setContentView(recyclerView);
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100));
+
+        itemView(recyclerView, 1).findViewById(R.id.btn_delete).performClick();
+
+        assertEquals("delete 1", mActions.get(0));
+        assertEquals(ITEM_COUNT - 1, mAdapter.getItemCount());
+        assertFalse(mStateStore.isOpen(1));
+    }
+
+    @Test
+    public void click_withoutPositionIsIgnored() {
+        final SwipeRemoveAdapter.SwipeRemoveViewHolder holder = createHolder();
+
+        mAdapter.onBindViewHolder(holder, 3);
+        //没有添加到 RecyclerView（相当于正在删除的行），取不到位置
+        holder.itemView.findViewById(R.id.btn_delete).performClick();
+
+        assertTrue(mActions.isEmpty());
+    }
+
+    @Test
+    public void bind_keepsListenersAndAllocatesNothing() {
+        final SwipeRemoveAdapter.SwipeRemoveViewHolder holder = createHolder();
+        final SwipeRemoveLayout layout = (SwipeRemoveLayout) holder.itemView;
+        final TextView tvName = holder.itemView.findViewById(R.id.tv_name);
+        final View btnDelete = holder.itemView.findViewById(R.id.btn_delete);
+        final View.OnClickListener listener = shadowOf(btnDelete).getOnClickListener();
+
+        //预热（类加载、JIT）
+        for (int i = 0; i < BIND_COUNT; ++i) {
+            mAdapter.onBindViewHolder(holder, i % ITEM_COUNT);
+            bindViewsOnly(layout, tvName, mItems.get(i % ITEM_COUNT));
+        }
+
+        long start = allocatedBytes();
+
+        for (int i = 0; i < BIND_COUNT; ++i) {
+            mAdapter.onBindViewHolder(holder, i % ITEM_COUNT);
+        }
+
+        final long adapterBytes = allocatedBytes() - start;
+
+        start = allocatedBytes();
+        for (int i = 0; i < BIND_COUNT; ++i) {
+            bindViewsOnly(layout, tvName, mItems.get(i % ITEM_COUNT));
+        }
+
+        final long viewBytes = allocatedBytes() - start;
+
+        //监听在创建时设置，绑定不会替换
+        assertSame(listener, shadowOf(btnDelete).getOnClickListener());
+        //扣除 View 自身（状态恢复、设置文字）的分配后，平均每次绑定不到1个字节（每绑定一次分配一个对象至少16个字节）
+        assertTrue("adapter: " + adapterBytes + ", views: " + viewBytes, adapterBytes - viewBytes < BIND_COUNT);
+    }
+
+    /**
+     * 与 onBindViewHolder() 相同的 View 操作（不含适配器自身的逻辑），作为内存分配的基准
+     */
+    private void bindViewsOnly(SwipeRemoveLayout layout, TextView tvName, SwipeRemoveBean bean) {
+        layout.bindState(mStateStore, bean.id);
+        tvName.setText(bean.name);
+    }
+
+    private SwipeRemoveAdapter.SwipeRemoveViewHolder createHolder() {
+        final ViewGroup parent = new FrameLayout(mActivity);
+
+        return mAdapter.onCreateViewHolder(parent, 0);
+    }
+
+    private static View itemView(RecyclerView recyclerView, int position) {
+        final RecyclerView.ViewHolder holder = recyclerView.findViewHolderForAdapterPosition(position);
+
+        assertTrue("position " + position + " is not laid out", holder != null);
+        return holder.itemView;
+    }
+
+    /**
+     * 当前线程已分配的内存（字节）
+     */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * 按顺序记录收到的点击
+     */
+    private final class RecordingListener implements SwipeRemoveAdapter.OnItemActionListener {
+
+        @Override
+        public void onOpen(SwipeRemoveBean bean) {
+            mActions.add("open " + bean.id);
+        }
+
+        @Override
+        public boolean onLongClick(SwipeRemoveBean bean) {
+            mActions.add("long " + bean.id);
+            return true;
+        }
+
+        @Override
+        public void onTop(SwipeRemoveBean bean) {
+            mActions.add("top " + bean.id);
+        }
+
+        @Override
+        public void onMarkUnread(SwipeRemoveBean bean) {
+            mActions.add("unread " + bean.id);
+        }
+
+        @Override
+        public void onDelete(SwipeRemoveBean bean) {
+            mActions.add("delete " + bean.id);
+        }
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.shijingfeng.app.data;
+
+import com.shijingfeng.app.bean.SwipeRemoveBean;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * function: 按列存储测试（字典编码、名称偏移、删除后整体前移）
+ */
+public class CompactRowStoreTest {
+
+    private static final String[] IMAGE_URLS = {"http://a/0.jpg", "http://a/1.jpg", "http://a/2.jpg"};
+    private static final int ROW_COUNT = 100;
+
+    private CompactRowStore mStore;
+
+    @Before
+    public void setUp() {
+        //容量故意很小，添加过程中会扩容
+        mStore = new CompactRowStore(1);
+        for (int i = 0; i < ROW_COUNT; ++i) {
+            //每一行的地址都是新的字符串对象（相当于从数据库读出）
+            mStore.add(i * 10, new String(IMAGE_URLS[i % IMAGE_URLS.length].toCharArray()), "内容" + i);
+        }
+    }
+
+    @Test
+    public void add_encodesEachImageUrlOnce() {
+        assertEquals(IMAGE_URLS.length, mStore.getImageUrlCount());
+
+        final CompactRowStore.Row first = mStore.moveTo(null, 0);
+        final String url = first.getImageUrl();
+        final CompactRowStore.Row row = mStore.moveTo(first, 3);
+
+        //复用同一个访问器，相同的地址是同一个对象
+        assertSame(first, row);
+        assertSame(url, row.getImageUrl());
+        assertEquals(30, row.getId());
+        assertEquals("内容3", row.getName());
+        assertEquals('容', row.getNameChar(1));
+    }
+
+    @Test
+    public void load_createsBeansForPageOnly() {
+        final List<SwipeRemoveBean> page = mStore.load(98, 5);
+
+        assertEquals(2, page.size());
+        assertEquals(980, page.get(0).id);
+        assertEquals("内容99", page.get(1).name);
+        assertEquals(IMAGE_URLS[0], page.get(1).imageUrl);
+    }
+
+    @Test
+    public void delete_shiftsFollowingRowsAndNames() {
+        assertEquals(10, mStore.delete(100));
+        assertEquals(-1, mStore.delete(100));
+        assertEquals(-1, mStore.delete(5));
+        assertEquals(ROW_COUNT - 1, mStore.getCount());
+
+        final CompactRowStore.Row row = mStore.moveTo(null, 10);
+
+        assertEquals(110, row.getId());
+        assertEquals("内容11", row.getName());
+        assertEquals("内容9", mStore.moveTo(row, 9).getName());
+
+        //删除最后一行和第一行
+        assertEquals(ROW_COUNT - 2, mStore.delete((ROW_COUNT - 1) * 10));
+        assertEquals(0, mStore.delete(0));
+        assertEquals("内容1", mStore.moveTo(row, 0).getName());
+        assertEquals("内容98", mStore.moveTo(row, mStore.getCount() - 1).getName());
+
+        final char[] chars = new char[8];
+
+        mStore.moveTo(row, 1).getNameChars(chars, 2);
+        assertEquals("内容2", new String(chars, 2, row.getNameLength()));
+    }
+
+    @Test
+    public void add_keepsNullImageUrl() {
+        mStore.add(ROW_COUNT * 10, null, "");
+
+        final CompactRowStore.Row row = mStore.moveTo(null, ROW_COUNT);
+
+        assertNull(row.getImageUrl());
+        assertEquals("", row.getName());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void add_rejectsDecreasingId() {
+        mStore.add(5, null, "");
+    }
+
+}
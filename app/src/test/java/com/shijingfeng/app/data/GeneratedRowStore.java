@@ -0,0 +1,91 @@
+package com.shijingfeng.app.data;
+
+import androidx.annotation.NonNull;
+
+import com.shijingfeng.app.bean.SwipeRemoveBean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * function: 测试用的本地存储（按需生成，不需要先填充）：第 i 条数据的稳定ID为 i，图片地址循环取自给定数组，读取时才生成对象
+ *           只记录已删除的ID（有序数组），不保存任何行对象
+ */
+public final class GeneratedRowStore implements SwipeRowStore {
+
+    /** 图片地址（按ID循环使用）*/
+    private final String[] mImageUrls;
+    /** 生成的数据总数（包括已删除的）*/
+    private final int mTotalCount;
+    /** 已删除的ID（有序）*/
+    private long[] mDeletedIds = new long[16];
+    /** 已删除的数量 */
+    private int mDeletedCount;
+
+    /**
+     * @param imageUrls  图片地址（按ID循环使用）
+     * @param totalCount 数据总数
+     */
+    public GeneratedRowStore(@NonNull String[] imageUrls, int totalCount) {
+        if (imageUrls.length == 0) {
+            throw new IllegalArgumentException("imageUrls must not be empty.");
+        }
+        if (totalCount < 0) {
+            throw new IllegalArgumentException("totalCount must not be negative.");
+        }
+        mImageUrls = imageUrls;
+        mTotalCount = totalCount;
+    }
+
+    @Override
+    public int getCount() {
+        return mTotalCount - mDeletedCount;
+    }
+
+    @NonNull
+    @Override
+    public List<SwipeRemoveBean> load(int start, int count) {
+        final List<SwipeRemoveBean> list = new ArrayList<>(count);
+        //第 start 条数据的ID：跳过 ID 不大于它的已删除数据
+        long id = start;
+        int deletedIndex = 0;
+
+        while (deletedIndex < mDeletedCount && mDeletedIds[deletedIndex] <= id) {
+            ++id;
+            ++deletedIndex;
+        }
+        while (list.size() < count && id < mTotalCount) {
+            if (deletedIndex < mDeletedCount && mDeletedIds[deletedIndex] == id) {
+                ++deletedIndex;
+            } else {
+                list.add(new SwipeRemoveBean(id, mImageUrls[(int) (id % mImageUrls.length)], "内容" + id));
+            }
+            ++id;
+        }
+        return list;
+    }
+
+    @Override
+    public int delete(long id) {
+        if (id < 0 || id >= mTotalCount) {
+            return -1;
+        }
+
+        int index = Arrays.binarySearch(mDeletedIds, 0, mDeletedCount, id);
+
+        if (index >= 0) {
+            return -1;
+        }
+        index = ~index;
+        if (mDeletedCount == mDeletedIds.length) {
+            mDeletedIds = Arrays.copyOf(mDeletedIds, mDeletedCount * 2);
+        }
+        System.arraycopy(mDeletedIds, index, mDeletedIds, index + 1, mDeletedCount - index);
+        mDeletedIds[index] = id;
+        ++mDeletedCount;
+        //比它小的ID中有 index 个已经删除
+        return (int) id - index;
+    }
+
+}
@@ -0,0 +1,230 @@
+package com.shijingfeng.app.data;
+
+import com.shijingfeng.app.bean.SwipeRemoveBean;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * function: 分页列表测试（后台线程和主线程都用手动执行的队列代替，可以控制执行顺序）
+ */
+public class PagedSwipeListTest {
+
+    private static final String[] IMAGE_URLS = {"a", "b", "c"};
+    private static final int ROW_COUNT = 1000;
+    private static final int PAGE_SIZE = 20;
+    private static final int PREFETCH_DISTANCE = 10;
+    private static final int MAX_SIZE = 60;
+
+    private final ArrayDeque<Runnable> mBackgroundQueue = new ArrayDeque<>();
+    private final ArrayDeque<Runnable> mMainQueue = new ArrayDeque<>();
+    /** 收到的回调（"insert"/"remove"/"change" 位置 数量）*/
+    private final List<String> mEvents = new ArrayList<>();
+    /** 期望的ID顺序（与存储同步删除）*/
+    private final List<Long> mExpectedIds = new ArrayList<>();
+    private PagedSwipeList mList;
+
+    @Before
+    public void setUp() {
+        for (long id = 0; id < ROW_COUNT; ++id) {
+            mExpectedIds.add(id);
+        }
+        mList = new PagedSwipeList(new GeneratedRowStore(IMAGE_URLS, ROW_COUNT), PAGE_SIZE, PREFETCH_DISTANCE, MAX_SIZE,
+                mBackgroundQueue::add, mMainQueue::add);
+        mList.setCallback(new PagedSwipeList.Callback() {
+
+            @Override
+            public void onInserted(int position, int count) {
+                mEvents.add("insert " + position + " " + count);
+            }
+
+            @Override
+            public void onRemoved(int position, int count) {
+                mEvents.add("remove " + position + " " + count);
+            }
+
+            @Override
+            public void onChanged(int position, int count) {
+                mEvents.add("change " + position + " " + count);
+            }
+        });
+        runAll();
+    }
+
+    @Test
+    public void initialLoad_insertsAllPositionsWithPlaceholders() {
+        assertEquals(ROW_COUNT, mList.size());
+        assertEquals("insert 0 " + ROW_COUNT, mEvents.get(0));
+        assertEquals("内容0", mList.peek(0).name);
+        assertEquals("b", mList.peek(1).imageUrl);
+        assertNull(mList.peek(PAGE_SIZE));
+    }
+
+    @Test
+    public void scroll_keepsBoundedWindowAroundAccess() {
+        for (int position = 0; position < ROW_COUNT; ++position) {
+            mList.get(position);
+            runAll();
+
+            final SwipeRemoveBean bean = mList.peek(position);
+
+            assertNotNull("position " + position, bean);
+            assertEquals(position, bean.id);
+            assertTrue(mList.getLoadedCount() <= MAX_SIZE);
+        }
+        //只保留末尾附近的数据，前面的页已经丢弃
+        assertNull(mList.peek(0));
+        assertEquals(ROW_COUNT - MAX_SIZE, mList.getLoadedStart());
+        //顺序滚动时每页只加载一次
+        assertEquals(ROW_COUNT / PAGE_SIZE - 1, mList.getLoadCount());
+
+        //反方向滚动，前面的页重新加载
+        for (int position = ROW_COUNT - 1; position >= 0; --position) {
+            mList.get(position);
+            runAll();
+            assertEquals(position, mList.peek(position).id);
+        }
+        assertNull(mList.peek(ROW_COUNT - 1));
+    }
+
+    @Test
+    public void jump_loadsPageAroundTarget() {
+        assertNull(mList.get(700));
+        runAll();
+
+        assertEquals(700, mList.peek(700).id);
+        assertNull(mList.peek(0));
+        assertTrue(mEvents.contains("change 0 " + PAGE_SIZE));
+    }
+
+    @Test
+    public void removeLoaded_shiftsImmediately() {
+        mList.remove(5);
+
+        //存储还没有执行删除，列表已经移除
+        assertEquals(ROW_COUNT - 1, mList.size());
+        assertEquals(6, mList.peek(5).id);
+        assertEquals("remove 5 1", mEvents.get(mEvents.size() - 1));
+
+        runAll();
+        mExpectedIds.remove(5);
+        assertMatchesStore();
+    }
+
+    @Test
+    public void removeUnloaded_usesStorePosition() {
+        mList.remove(800);
+        assertEquals(ROW_COUNT, mList.size());
+
+        runAll();
+        assertEquals(ROW_COUNT - 1, mList.size());
+        assertEquals("remove 800 1", mEvents.get(mEvents.size() - 1));
+        mExpectedIds.remove(800);
+        assertMatchesStore();
+    }
+
+    @Test
+    public void removeBeforeWindow_shiftsWindow() {
+        mList.get(500);
+        runAll();
+
+        final int loadedStart = mList.getLoadedStart();
+
+        //第 3 行所在的页已经丢弃
+        mList.remove(3);
+        runAll();
+
+        assertEquals(loadedStart - 1, mList.getLoadedStart());
+        assertEquals(500, mList.peek(499).id);
+        mExpectedIds.remove(3);
+        assertMatchesStore();
+    }
+
+    @Test
+    public void loadSubmittedBeforeRemove_isDiscarded() {
+        //接近窗口末尾，后台开始加载下一页
+        mList.get(PAGE_SIZE - 1);
+        assertEquals(1, mBackgroundQueue.size());
+
+        //加载完成前删除了窗口中的一行，加载结果的位置已经错了一位
+        mList.remove(3);
+        runAll();
+
+        assertEquals(PAGE_SIZE + 1, mList.peek(PAGE_SIZE).id);
+        mExpectedIds.remove(3);
+        assertMatchesStore();
+    }
+
+    @Test
+    public void storeDelete_racingWithLoadedRemove_staysConsistent() {
+        //存储已经删除了不在窗口中的第 900 行，结果还没有回到主线程
+        mList.remove(900);
+        runBackground();
+        //这时又立即移除了窗口中的第 2 行（存储还没有执行）
+        mList.remove(2);
+        runAll();
+
+        assertEquals(ROW_COUNT - 2, mList.size());
+        assertEquals("remove 2 1", mEvents.get(mEvents.size() - 2));
+        assertEquals("remove 899 1", mEvents.get(mEvents.size() - 1));
+        mExpectedIds.remove(900);
+        mExpectedIds.remove(2);
+        assertMatchesStore();
+    }
+
+    @Test
+    public void detach_stopsLoadsAndCallbacks() {
+        mList.get(PAGE_SIZE - 1);
+        mList.detach();
+        mEvents.clear();
+        runAll();
+        mList.remove(1);
+
+        assertTrue(mEvents.isEmpty());
+        assertTrue(mBackgroundQueue.isEmpty());
+        assertEquals(ROW_COUNT, mList.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void maxSize_mustCoverPrefetchOnBothSides() {
+        new PagedSwipeList(new GeneratedRowStore(IMAGE_URLS, ROW_COUNT), PAGE_SIZE, PREFETCH_DISTANCE,
+                PAGE_SIZE + PREFETCH_DISTANCE, mBackgroundQueue::add, mMainQueue::add);
+    }
+
+    /**
+     * 从头到尾访问一遍，每个位置的ID都与期望一致
+     */
+    private void assertMatchesStore() {
+        assertEquals(mExpectedIds.size(), mList.size());
+        for (int position = 0; position < mList.size(); ++position) {
+            mList.get(position);
+            runAll();
+            assertEquals("position " + position, (long) mExpectedIds.get(position), mList.peek(position).id);
+        }
+    }
+
+    private void runBackground() {
+        while (!mBackgroundQueue.isEmpty()) {
+            mBackgroundQueue.poll().run();
+        }
+    }
+
+    private void runAll() {
+        while (!mBackgroundQueue.isEmpty() || !mMainQueue.isEmpty()) {
+            runBackground();
+            while (!mMainQueue.isEmpty()) {
+                mMainQueue.poll().run();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.shijingfeng.app.data;
+
+import com.shijingfeng.app.bean.SwipeRemoveBean;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * function: 100万行数据常驻堆内存的对比：ArrayList<SwipeRemoveBean> 与按列存储的 {@link CompactRowStore}
+ *           每一行的图片地址都是新的字符串对象（相当于从数据库或网络数据解析出来），名称与演示数据相同
+ *           结果受JVM和GC影响，不在默认的单元测试中运行（运行方式和最大堆内存见 app/build.gradle）
+ */
+public class RowStoreHeapBenchmark {
+
+    private static final int ROW_COUNT = 1000000;
+    /** 按列存储最多占用对象列表的几分之一 */
+    private static final int MIN_SAVING_FACTOR = 4;
+    private static final String[] IMAGE_URLS = {
+            "http://ku.90sjimg.com/element_origin_min_pic/00/54/78/0856d993f3b7b33.jpg",
+            "http://ku.90sjimg.com/element_origin_min_pic/00/85/92/8956ea2f6af1c47.jpg",
+            "http://ku.90sjimg.com/element_origin_min_pic/00/84/75/8356e7eceb77590.jpg",
+            "http://ku.90sjimg.com/element_origin_min_pic/00/48/23/8756d7e93a0fbc3.jpg",
+            "http://bpic.588ku.com/element_origin_min_pic/00/74/78/2556e0081cbb679.jpg",
+            "http://ku.90sjimg.com/element_origin_min_pic/00/08/70/11569f5a9d89aba.jpg",
+            "http://ku.90sjimg.com/element_origin_min_pic/00/62/92/9456dbd074c7000.jpg",
+            "http://ku.90sjimg.com/element_origin_min_pic/00/35/03/8656d40ce21aea4.jpg",
+            "http://ku.90sjimg.com/element_origin_min_pic/00/55/29/7956d9b5367e1b0.jpg",
+            "http://ku.90sjimg.com/element_origin_min_pic/00/20/82/6656cd770f3adab.jpg"
+    };
+
+    /** 测量期间保持数据可达 */
+    private static Object sRetained;
+
+    @Test
+    public void compactStore_vsBeanList() {
+        final long beanListBytes = retainedBytes(() -> {
+            final List<SwipeRemoveBean> list = new ArrayList<>(ROW_COUNT);
+
+            for (int i = 0; i < ROW_COUNT; ++i) {
+                list.add(new SwipeRemoveBean(i, copyOf(IMAGE_URLS[i % IMAGE_URLS.length]), "内容" + i));
+            }
+            return list;
+        });
+        final long compactStoreBytes = retainedBytes(() -> {
+            final CompactRowStore store = new CompactRowStore(ROW_COUNT);
+
+            for (int i = 0; i < ROW_COUNT; ++i) {
+                store.add(i, copyOf(IMAGE_URLS[i % IMAGE_URLS.length]), "内容" + i);
+            }
+            return store;
+        });
+
+        report("array_list_beans", beanListBytes);
+        report("compact_row_store", compactStoreBytes);
+        assertTrue("beans: " + beanListBytes + ", compact: " + compactStoreBytes,
+                compactStoreBytes * MIN_SAVING_FACTOR < beanListBytes);
+    }
+
+    /**
+     * 独立的字符串副本（new String(String) 会共用原字符串的字符数组，不能代表解析出来的数据）
+     */
+    private static String copyOf(String value) {
+        return new String(value.toCharArray());
+    }
+
+    private static void report(String name, long bytes) {
+        System.out.println(String.format(Locale.US, "[benchmark] row_store_heap.%s: %d rows, %.1f MB, %.1f B/row",
+                name, ROW_COUNT, bytes / (1024.0 * 1024.0), (double) bytes / ROW_COUNT));
+    }
+
+    /**
+     * 创建的数据在完全GC后仍占用的堆内存（字节）
+     */
+    private static long retainedBytes(Supplier<Object> factory) {
+        final long before = usedHeapAfterGc();
+
+        sRetained = factory.get();
+
+        final long after = usedHeapAfterGc();
+
+        sRetained = null;
+        return after - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        //多次GC，等待软引用、终结器等释放的内存稳定下来
+        for (int i = 0; i < 4; ++i) {
+            System.gc();
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+}
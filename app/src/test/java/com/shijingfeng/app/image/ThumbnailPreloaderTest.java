@@ -0,0 +1,202 @@
+package com.shijingfeng.app.image;
+
+import android.app.Activity;
+import android.net.Uri;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.RecyclerView;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * function: 缩略图预加载测试（本地文件地址，不访问网络；加载器只记录请求，不经过Glide）
+ *           列表高450，每行高100，初始可见 0 ~ 4 行
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class ThumbnailPreloaderTest {
+
+    private static final int THUMBNAIL_SIZE = 80;
+    private static final int LIST_HEIGHT = 450;
+    private static final int ROW_HEIGHT = 100;
+    private static final int ITEM_COUNT = 50;
+    private static final int PRELOAD_COUNT = 3;
+
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+
+    private final List<String> mUrls = new ArrayList<>();
+    /** 加载器收到的请求（预加载的地址，或 "pause"/"resume"）*/
+    private final List<String> mRequests = new ArrayList<>();
+    /** 已加载的行数（之后的行相当于分页加载的占位行，没有地址）*/
+    private int mLoadedCount = ITEM_COUNT;
+    private RecordingLoader mLoader;
+    private ThumbnailPreloader mPreloader;
+    private RecyclerView mRecyclerView;
+
+    @Before
+    public void setUp() throws IOException {
+        final Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+
+        for (int i = 0; i < ITEM_COUNT; ++i) {
+            mUrls.add(Uri.fromFile(mFolder.newFile(i + ".png")).toString());
+        }
+        mLoader = new RecordingLoader(activity);
+        mPreloader = new ThumbnailPreloader(mLoader, new UrlAdapter(), PRELOAD_COUNT);
+        mRecyclerView = new RecyclerView(activity);
+        mRecyclerView.setLayoutManager(new LinearLayoutManager(activity));
+        mRecyclerView.setAdapter(new UrlAdapter());
+        mRecyclerView.addOnScrollListener(mPreloader);
+        activity.setContentView(mRecyclerView, new ViewGroup.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, LIST_HEIGHT));
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100));
+    }
+
+    @Test
+    public void requestOptions_decodeAtExactSize() {
+        assertEquals(THUMBNAIL_SIZE, mLoader.getRequestOptions().getOverrideWidth());
+        assertEquals(THUMBNAIL_SIZE, mLoader.getRequestOptions().getOverrideHeight());
+        assertEquals((long) THUMBNAIL_SIZE * THUMBNAIL_SIZE * 4 * 48, ThumbnailLoader.getMemoryCacheBytes(THUMBNAIL_SIZE));
+    }
+
+    @Test
+    public void scrollDown_preloadsNextRowsOnce() {
+        //布局完成后预加载 5 ~ 7
+        assertEquals(urls(5, 6, 7), mRequests);
+
+        //可见 3 ~ 7，只请求新的 8 ~ 10
+        mRecyclerView.scrollBy(0, 350);
+        assertEquals(urls(5, 6, 7, 8, 9, 10), mRequests);
+    }
+
+    @Test
+    public void scrollUp_preloadsRowsAbove() {
+        mRecyclerView.scrollBy(0, 1000);
+        mRequests.clear();
+
+        //可见 9 ~ 13，向上滚动，预加载 6 ~ 8
+        mRecyclerView.scrollBy(0, -100);
+        assertEquals(urls(6, 7, 8), mRequests);
+    }
+
+    @Test
+    public void fastFling_pausesUntilSettled() {
+        mRequests.clear();
+        mPreloader.onScrollStateChanged(mRecyclerView, RecyclerView.SCROLL_STATE_SETTLING);
+        mPreloader.onScrolled(mRecyclerView, 0, THUMBNAIL_SIZE * 3);
+
+        assertTrue(mLoader.isPaused());
+        assertEquals(Arrays.asList("pause"), mRequests);
+
+        mRecyclerView.scrollBy(0, 600);
+        mPreloader.onScrollStateChanged(mRecyclerView, RecyclerView.SCROLL_STATE_IDLE);
+
+        //停止后恢复，并预加载停止位置之后的行（可见 6 ~ 10）
+        assertFalse(mLoader.isPaused());
+        assertEquals("resume", mRequests.get(1));
+        assertEquals(mUrls.get(11), mRequests.get(2));
+    }
+
+    @Test
+    public void placeholderRows_preloadedAfterPageArrives() {
+        mRequests.clear();
+        //9 及之后的行还是占位行
+        mLoadedCount = 9;
+
+        //可见 2 ~ 6，预加载范围 7 ~ 9：7 已经请求过，9 还没有地址
+        mRecyclerView.scrollBy(0, 200);
+        assertEquals(urls(8), mRequests);
+
+        //页加载完成后，预加载范围不变（可见 2 ~ 6），之前的占位行 9 也会请求
+        mLoadedCount = ITEM_COUNT;
+        mRecyclerView.scrollBy(0, 50);
+        assertEquals(urls(8, 9), mRequests);
+    }
+
+    private List<String> urls(int... positions) {
+        final List<String> urls = new ArrayList<>();
+
+        for (int position : positions) {
+            urls.add(mUrls.get(position));
+        }
+        return urls;
+    }
+
+    /**
+     * 只记录请求的加载器
+     */
+    private final class RecordingLoader extends ThumbnailLoader {
+
+        private RecordingLoader(Activity activity) {
+            super(activity, THUMBNAIL_SIZE);
+        }
+
+        @Override
+        public void preload(@NonNull String url) {
+            mRequests.add(url);
+        }
+
+        @Override
+        void pauseRequests() {
+            mRequests.add("pause");
+        }
+
+        @Override
+        void resumeRequests() {
+            mRequests.add("resume");
+        }
+    }
+
+    /**
+     * 固定行高的列表，每行对应一个本地文件地址
+     */
+    private final class UrlAdapter extends RecyclerView.Adapter<RecyclerView.ViewHolder> implements ThumbnailPreloader.UrlProvider {
+
+        @NonNull
+        @Override
+        public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            final View view = new View(parent.getContext());
+
+            view.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ROW_HEIGHT));
+            return new RecyclerView.ViewHolder(view) {};
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        }
+
+        @Override
+        public int getItemCount() {
+            return ITEM_COUNT;
+        }
+
+        @Override
+        public String getImageUrl(int position) {
+            return position < mLoadedCount ? mUrls.get(position) : null;
+        }
+    }
+
+}
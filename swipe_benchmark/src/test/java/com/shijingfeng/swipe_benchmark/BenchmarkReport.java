@@ -0,0 +1,115 @@
+package com.shijingfeng.swipe_benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * function: 基准测试报告（每个测试类输出一个JSON文件，字段固定，便于不同版本之间对比）
+ *           输出目录由系统属性 benchmark.outputDir 指定（见 build.gradle）
+ */
+public final class BenchmarkReport {
+
+    /** 报告格式版本（字段变化时加1）*/
+    public static final int SCHEMA_VERSION = 1;
+
+    /** 测试集名称（文件名）*/
+    private final String mSuite;
+    private final List<BenchmarkResult> mResults = new ArrayList<>();
+
+    public BenchmarkReport(String suite) {
+        mSuite = suite;
+    }
+
+    public void add(BenchmarkResult result) {
+        mResults.add(result);
+        System.out.println(String.format(Locale.US, "[benchmark] %s.%s: median %.1f ns/%s, %d B/invocation",
+                mSuite, result.getName(), result.getMedianNanosPerOp(), result.getUnit(), result.getAllocatedBytesPerInvocation()));
+    }
+
+    /**
+     * 写入 {outputDir}/{suite}.json
+     * @return 输出文件
+     */
+    public File write() throws IOException {
+        final File dir = new File(System.getProperty("benchmark.outputDir", "build/benchmark-results"));
+
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create " + dir);
+        }
+
+        final File file = new File(dir, mSuite + ".json");
+
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(toJson());
+        }
+        return file;
+    }
+
+    /**
+     * 转换为JSON（不依赖 org.json，Robolectric 与纯JVM都可使用）
+     */
+    public String toJson() {
+        final StringBuilder builder = new StringBuilder(256 + mResults.size() * 256);
+
+        builder.append("{\n");
+        builder.append("  \"schema\": ").append(SCHEMA_VERSION).append(",\n");
+        builder.append("  \"suite\": ").append(quote(mSuite)).append(",\n");
+        builder.append("  \"timestamp\": ").append(System.currentTimeMillis()).append(",\n");
+        builder.append("  \"javaVersion\": ").append(quote(System.getProperty("java.version"))).append(",\n");
+        builder.append("  \"osArch\": ").append(quote(System.getProperty("os.arch"))).append(",\n");
+        builder.append("  \"results\": [");
+        for (int i = 0; i < mResults.size(); ++i) {
+            final BenchmarkResult result = mResults.get(i);
+
+            builder.append(i == 0 ? "\n" : ",\n");
+            builder.append("    {");
+            builder.append("\"name\": ").append(quote(result.getName()));
+            builder.append(", \"unit\": ").append(quote(result.getUnit()));
+            builder.append(", \"opsPerInvocation\": ").append(result.getOpsPerInvocation());
+            builder.append(", \"invocationsPerIteration\": ").append(result.getInvocationsPerIteration());
+            builder.append(", \"iterations\": ").append(result.getIterations());
+            builder.append(", \"minNsPerOp\": ").append(format(result.getMinNanosPerOp()));
+            builder.append(", \"medianNsPerOp\": ").append(format(result.getMedianNanosPerOp()));
+            builder.append(", \"p90NsPerOp\": ").append(format(result.getP90NanosPerOp()));
+            builder.append(", \"meanNsPerOp\": ").append(format(result.getMeanNanosPerOp()));
+            builder.append(", \"allocBytesPerInvocation\": ").append(result.getAllocatedBytesPerInvocation());
+            builder.append(", \"allocBytesPerOp\": ").append(format(result.getAllocatedBytesPerOp()));
+            builder.append('}');
+        }
+        builder.append("\n  ]\n}\n");
+        return builder.toString();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.US, "%.2f", value);
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+
+        final StringBuilder builder = new StringBuilder(value.length() + 2).append('"');
+
+        for (int i = 0; i < value.length(); ++i) {
+            final char c = value.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format(Locale.US, "\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+}
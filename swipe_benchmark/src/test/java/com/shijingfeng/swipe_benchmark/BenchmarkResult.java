@@ -0,0 +1,101 @@
+package com.shijingfeng.swipe_benchmark;
+
+import java.util.Arrays;
+
+/**
+ * function: 单个基准测试的结果（每轮测量的单次操作耗时 + 内存分配）
+ */
+public final class BenchmarkResult {
+
+    /** 名称 */
+    private final String mName;
+    /** 操作单位（例如 row、event）*/
+    private final String mUnit;
+    /** 每次调用包含的操作数量（例如一次手势包含的事件数量）*/
+    private final int mOpsPerInvocation;
+    /** 每轮测量的调用次数 */
+    private final int mInvocationsPerIteration;
+    /** 每轮测量的单次操作耗时（纳秒），已排序 */
+    private final double[] mNanosPerOp;
+    /** 平均每次调用分配的内存（字节）*/
+    private final long mAllocatedBytesPerInvocation;
+
+    BenchmarkResult(String name, String unit, int opsPerInvocation, int invocationsPerIteration, double[] nanosPerOp, long allocatedBytesPerInvocation) {
+        mName = name;
+        mUnit = unit;
+        mOpsPerInvocation = opsPerInvocation;
+        mInvocationsPerIteration = invocationsPerIteration;
+        mNanosPerOp = nanosPerOp.clone();
+        mAllocatedBytesPerInvocation = allocatedBytesPerInvocation;
+        Arrays.sort(mNanosPerOp);
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    public String getUnit() {
+        return mUnit;
+    }
+
+    public int getOpsPerInvocation() {
+        return mOpsPerInvocation;
+    }
+
+    public int getInvocationsPerIteration() {
+        return mInvocationsPerIteration;
+    }
+
+    /**
+     * 测量轮数
+     */
+    public int getIterations() {
+        return mNanosPerOp.length;
+    }
+
+    public double getMinNanosPerOp() {
+        return mNanosPerOp[0];
+    }
+
+    public double getMedianNanosPerOp() {
+        return percentile(0.5);
+    }
+
+    public double getP90NanosPerOp() {
+        return percentile(0.9);
+    }
+
+    public double getMeanNanosPerOp() {
+        double sum = 0;
+
+        for (double nanos : mNanosPerOp) {
+            sum += nanos;
+        }
+        return sum / mNanosPerOp.length;
+    }
+
+    /**
+     * 平均每次调用分配的内存（字节），例如每个手势
+     */
+    public long getAllocatedBytesPerInvocation() {
+        return mAllocatedBytesPerInvocation;
+    }
+
+    /**
+     * 平均每次操作分配的内存（字节），例如每个事件
+     */
+    public double getAllocatedBytesPerOp() {
+        return (double) mAllocatedBytesPerInvocation / mOpsPerInvocation;
+    }
+
+    /**
+     * 最近秩百分位
+     * @param fraction 0 ~ 1
+     */
+    private double percentile(double fraction) {
+        final int index = (int) Math.ceil(fraction * mNanosPerOp.length) - 1;
+
+        return mNanosPerOp[Math.max(0, Math.min(mNanosPerOp.length - 1, index))];
+    }
+
+}
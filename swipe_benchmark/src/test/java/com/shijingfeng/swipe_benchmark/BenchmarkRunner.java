@@ -0,0 +1,101 @@
+package com.shijingfeng.swipe_benchmark;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * function: JMH风格的基准测试执行器（预热若干轮，再测量若干轮，每轮记录耗时和当前线程的内存分配）
+ *           在Robolectric的主线程中同步执行，被测代码不需要真实设备
+ */
+public final class BenchmarkRunner {
+
+    /** 默认预热轮数 */
+    private static final int DEFAULT_WARM_UP_ITERATIONS = 5;
+    /** 默认测量轮数 */
+    private static final int DEFAULT_MEASURE_ITERATIONS = 10;
+
+    private final Blackhole mBlackhole = new Blackhole();
+    /** 预热轮数 */
+    private int mWarmUpIterations = DEFAULT_WARM_UP_ITERATIONS;
+    /** 测量轮数 */
+    private int mMeasureIterations = DEFAULT_MEASURE_ITERATIONS;
+
+    /**
+     * 设置预热轮数（可通过系统属性 benchmark.warmUpIterations 覆盖）
+     */
+    public BenchmarkRunner setWarmUpIterations(int warmUpIterations) {
+        mWarmUpIterations = Integer.getInteger("benchmark.warmUpIterations", warmUpIterations);
+        return this;
+    }
+
+    /**
+     * 设置测量轮数（可通过系统属性 benchmark.measureIterations 覆盖）
+     */
+    public BenchmarkRunner setMeasureIterations(int measureIterations) {
+        mMeasureIterations = Integer.getInteger("benchmark.measureIterations", measureIterations);
+        return this;
+    }
+
+    /**
+     * 执行基准测试
+     * @param name                    名称
+     * @param unit                    操作单位
+     * @param opsPerInvocation        每次调用包含的操作数量
+     * @param invocationsPerIteration 每轮调用次数
+     * @param operation               被测操作
+     */
+    public BenchmarkResult run(String name, String unit, int opsPerInvocation, int invocationsPerIteration, Operation operation) {
+        if (opsPerInvocation < 1 || invocationsPerIteration < 1 || mMeasureIterations < 1) {
+            throw new IllegalArgumentException("Benchmark counts must be positive.");
+        }
+        for (int i = 0; i < mWarmUpIterations; ++i) {
+            runIteration(invocationsPerIteration, operation);
+        }
+
+        final double[] nanosPerOp = new double[mMeasureIterations];
+        final long totalOps = (long) invocationsPerIteration * opsPerInvocation;
+        long allocatedBytes = 0;
+
+        for (int i = 0; i < mMeasureIterations; ++i) {
+            final long startBytes = allocatedBytes();
+            final long elapsed = runIteration(invocationsPerIteration, operation);
+
+            allocatedBytes += allocatedBytes() - startBytes;
+            nanosPerOp[i] = (double) elapsed / totalOps;
+        }
+        return new BenchmarkResult(name, unit, opsPerInvocation, invocationsPerIteration, nanosPerOp,
+                allocatedBytes / ((long) mMeasureIterations * invocationsPerIteration));
+    }
+
+    /**
+     * 执行一轮
+     * @return 耗时（纳秒）
+     */
+    private long runIteration(int invocations, Operation operation) {
+        final long start = System.nanoTime();
+
+        for (int i = 0; i < invocations; ++i) {
+            operation.run(mBlackhole);
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * 当前线程已分配的内存（字节）
+     */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    /**
+     * 被测操作
+     */
+    public interface Operation {
+
+        /**
+         * @param blackhole 结果消费器
+         */
+        void run(Blackhole blackhole);
+    }
+
+}
@@ -0,0 +1,27 @@
+package com.shijingfeng.swipe_benchmark;
+
+/**
+ * function: 结果消费器（防止JIT把没有使用结果的基准代码优化掉）
+ */
+public final class Blackhole {
+
+    /** volatile 写入，JIT不能删除 */
+    private volatile long mSink;
+
+    public void consume(int value) {
+        mSink += value;
+    }
+
+    public void consume(long value) {
+        mSink += value;
+    }
+
+    public void consume(boolean value) {
+        mSink += value ? 1 : 0;
+    }
+
+    public void consume(Object value) {
+        mSink += System.identityHashCode(value);
+    }
+
+}
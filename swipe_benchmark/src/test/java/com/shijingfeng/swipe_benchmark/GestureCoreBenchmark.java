@@ -0,0 +1,82 @@
+package com.shijingfeng.swipe_benchmark;
+
+import com.shijingfeng.swipe_remove.SwipeGestureCore;
+import com.shijingfeng.swipe_remove.SwipeReleasePolicy;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * function: 侧滑手势状态机每个事件的耗时（纯JVM，不经过 MotionEvent 和 View，与 {@link TouchDispatchBenchmark} 对比即适配层的开销）
+ */
+public class GestureCoreBenchmark {
+
+    /** 每轮手势数量 */
+    private static final int GESTURES_PER_ITERATION = 10000;
+    /** 每个手势的移动事件数量 */
+    private static final int MOVE_COUNT = 30;
+    /** 相邻事件的时间间隔（毫秒）*/
+    private static final int FRAME_INTERVAL = 8;
+    private static final int WIDTH = 1080;
+
+    private static final BenchmarkReport sReport = new BenchmarkReport("gesture_core");
+
+    private final BenchmarkRunner mRunner = new BenchmarkRunner();
+    private SwipeGestureCore mCore;
+
+    @Before
+    public void setUp() {
+        final SwipeReleasePolicy policy = new SwipeReleasePolicy();
+
+        policy.setMenuSizes(0, 240);
+        mCore = new SwipeGestureCore(policy);
+        mCore.setTouchSlop(8);
+        mCore.setMaxVelocity(8000);
+    }
+
+    @AfterClass
+    public static void writeReport() throws IOException {
+        sReport.write();
+    }
+
+    @Test
+    public void swipe() {
+        //从右向左滑动，展开菜单
+        run("swipe", 900, 100, -12, 0);
+    }
+
+    @Test
+    public void scroll() {
+        //列表滚动时经过的行（确定方向后不再计算）
+        run("scroll", 500, 100, 0, -15);
+    }
+
+    @Test
+    public void diagonal() {
+        //以纵向为主、带少量横向分量的滑动
+        run("diagonal", 500, 100, -3, -15);
+    }
+
+    private void run(String name, float x, float y, float stepX, float stepY) {
+        final BenchmarkResult result = mRunner.run(name, "event", MOVE_COUNT + 2, GESTURES_PER_ITERATION, blackhole -> {
+            long time = 0;
+
+            mCore.onDown(x, y, time, 0, WIDTH);
+            for (int i = 1; i <= MOVE_COUNT; ++i) {
+                time += FRAME_INTERVAL;
+                blackhole.consume(mCore.onMove(x + stepX * i, y + stepY * i, time));
+            }
+            time += FRAME_INTERVAL;
+            blackhole.consume(mCore.onUp(x + stepX * MOVE_COUNT, y + stepY * MOVE_COUNT, time));
+        });
+
+        sReport.add(result);
+        assertTrue(result.getMedianNanosPerOp() > 0);
+    }
+
+}
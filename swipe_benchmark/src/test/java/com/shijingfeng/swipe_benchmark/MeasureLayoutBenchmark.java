@@ -0,0 +1,113 @@
+package com.shijingfeng.swipe_benchmark;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * function: 每行测量+布局耗时（普通行、侧滑行、只有侧滑布局自身请求布局、延迟加载菜单的侧滑行）
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class MeasureLayoutBenchmark {
+
+    /** 每轮测量的行数 */
+    private static final int ROWS_PER_ITERATION = 2_000;
+    /** 行宽度（像素）*/
+    private static final int WIDTH = 1080;
+    private static final int WIDTH_SPEC = MeasureSpec.makeMeasureSpec(WIDTH, MeasureSpec.EXACTLY);
+    private static final int HEIGHT_SPEC = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+
+    private static final BenchmarkReport sReport = new BenchmarkReport("measure_layout");
+
+    private final BenchmarkRunner mRunner = new BenchmarkRunner();
+    private LayoutInflater mInflater;
+    private ViewGroup mParent;
+
+    @Before
+    public void setUp() {
+        final Context context = ApplicationProvider.getApplicationContext();
+
+        mInflater = LayoutInflater.from(context);
+        //只用于生成 LayoutParams，行不会添加到其中
+        mParent = new FrameLayout(context);
+    }
+
+    @AfterClass
+    public static void writeReport() throws IOException {
+        sReport.write();
+    }
+
+    @Test
+    public void flatRow() {
+        run("flatRow", inflate(R.layout.benchmark_row_content), true);
+    }
+
+    @Test
+    public void swipeRow() {
+        run("swipeRow", inflate(R.layout.benchmark_row_swipe), true);
+    }
+
+    @Test
+    public void swipeRow_cachedRemeasure() {
+        //子View没有变化，只有侧滑布局自身请求重新布局（直接使用测量缓存）
+        run("swipeRow_cachedRemeasure", inflate(R.layout.benchmark_row_swipe), false);
+    }
+
+    @Test
+    public void lazyMenuSwipeRow() {
+        run("lazyMenuSwipeRow", inflate(R.layout.benchmark_row_swipe_lazy), true);
+    }
+
+    private View inflate(int layoutRes) {
+        return mInflater.inflate(layoutRes, mParent, false);
+    }
+
+    /**
+     * @param recursive true: 所有子View都重新测量  false: 只有行本身请求重新布局
+     */
+    private void run(String name, View row, boolean recursive) {
+        final BenchmarkResult result = mRunner.run(name, "row", 1, ROWS_PER_ITERATION, blackhole -> {
+            if (recursive) {
+                forceLayoutRecursive(row);
+            } else {
+                row.forceLayout();
+            }
+            row.measure(WIDTH_SPEC, HEIGHT_SPEC);
+            row.layout(0, 0, row.getMeasuredWidth(), row.getMeasuredHeight());
+            blackhole.consume(row.getMeasuredHeight());
+        });
+
+        sReport.add(result);
+        assertTrue(row.getMeasuredHeight() > 0);
+        assertTrue(result.getMedianNanosPerOp() > 0);
+    }
+
+    private static void forceLayoutRecursive(View view) {
+        view.forceLayout();
+        if (view instanceof ViewGroup) {
+            final ViewGroup group = (ViewGroup) view;
+
+            for (int i = 0, count = group.getChildCount(); i < count; ++i) {
+                forceLayoutRecursive(group.getChildAt(i));
+            }
+        }
+    }
+
+}
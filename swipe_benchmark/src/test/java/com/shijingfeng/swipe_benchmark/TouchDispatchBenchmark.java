@@ -0,0 +1,179 @@
+package com.shijingfeng.swipe_benchmark;
+
+import android.content.Context;
+import android.view.LayoutInflater;
+import android.view.MotionEvent;
+import android.view.View.MeasureSpec;
+import android.widget.FrameLayout;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import com.shijingfeng.swipe_remove.SwipeRemoveLayout;
+
+import org.junit.After;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * function: 触摸分发耗时与每个手势的内存分配（合成的 MotionEvent 序列，事件对象提前创建，不计入分配）
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class TouchDispatchBenchmark {
+
+    /** 每轮手势数量 */
+    private static final int GESTURES_PER_ITERATION = 500;
+    /** 每个手势的 ACTION_MOVE 数量 */
+    private static final int MOVE_COUNT = 30;
+    /** 长手势的 ACTION_MOVE 数量（按下和抬起的开销被摊薄，接近单个 ACTION_MOVE 的开销）*/
+    private static final int LONG_MOVE_COUNT = 300;
+    /** 来回移动的手势每个 ACTION_MOVE 的横向位移 */
+    private static final int SWING_STEP = 4;
+    /** 来回移动的范围（离按下位置 SWING_MIN ~ SWING_MAX 像素，偏移量始终在菜单宽度240以内，不会越界修正）*/
+    private static final int SWING_MIN = 40;
+    private static final int SWING_MAX = 200;
+    /** 相邻事件的时间间隔（毫秒）*/
+    private static final int FRAME_INTERVAL = 8;
+    private static final int WIDTH = 1080;
+
+    private static final BenchmarkReport sReport = new BenchmarkReport("touch_dispatch");
+
+    private final BenchmarkRunner mRunner = new BenchmarkRunner();
+    private SwipeRemoveLayout mRow;
+    private MotionEvent[] mGesture;
+
+    @Before
+    public void setUp() {
+        final Context context = ApplicationProvider.getApplicationContext();
+        //侧滑布局滑动时需要请求父布局不拦截
+        final FrameLayout parent = new FrameLayout(context);
+
+        mRow = (SwipeRemoveLayout) LayoutInflater.from(context).inflate(R.layout.benchmark_row_swipe, parent, false);
+        parent.addView(mRow);
+        parent.measure(MeasureSpec.makeMeasureSpec(WIDTH, MeasureSpec.EXACTLY), MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+        parent.layout(0, 0, parent.getMeasuredWidth(), parent.getMeasuredHeight());
+    }
+
+    @After
+    public void tearDown() {
+        if (mGesture != null) {
+            for (MotionEvent event : mGesture) {
+                event.recycle();
+            }
+            mGesture = null;
+        }
+    }
+
+    @AfterClass
+    public static void writeReport() throws IOException {
+        sReport.write();
+    }
+
+    @Test
+    public void horizontalSwipe() {
+        //从右向左滑动，展开菜单
+        run("horizontalSwipe", gesture(900, 100, -12, 0));
+    }
+
+    @Test
+    public void verticalScroll() {
+        //列表上下滚动时经过的行
+        run("verticalScroll", gesture(500, 100, 0, -15));
+    }
+
+    @Test
+    public void diagonalScroll() {
+        //以纵向为主、带少量横向分量的滑动
+        run("diagonalScroll", gesture(500, 100, -3, -15));
+    }
+
+    @Test
+    public void tap() {
+        run("tap", gesture(500, 100, 0, 0));
+    }
+
+    @Test
+    public void horizontalSwipe_perMove() {
+        //向左拖出菜单后在菜单范围内来回移动，每个 ACTION_MOVE 都会更新偏移量
+        run("horizontalSwipe_perMove", swingGesture(900, 100, LONG_MOVE_COUNT));
+    }
+
+    @Test
+    public void verticalScroll_perMove() {
+        //确定为纵向滑动之后的每个 ACTION_MOVE
+        run("verticalScroll_perMove", gesture(500, 100, 0, -3, LONG_MOVE_COUNT));
+    }
+
+    private void run(String name, MotionEvent[] gesture) {
+        mGesture = gesture;
+
+        final BenchmarkResult result = mRunner.run(name, "event", gesture.length, GESTURES_PER_ITERATION, blackhole -> {
+            for (MotionEvent event : gesture) {
+                blackhole.consume(mRow.dispatchTouchEvent(event));
+            }
+            //恢复关闭状态（不播放动画），下一个手势从相同状态开始
+            mRow.bindState(null, 0);
+        });
+
+        sReport.add(result);
+        assertTrue(result.getMedianNanosPerOp() > 0);
+    }
+
+    /**
+     * 创建手势：ACTION_DOWN + {@value MOVE_COUNT} 个 ACTION_MOVE + ACTION_UP（没有位移时只有按下和抬起）
+     * @param stepX 每个 ACTION_MOVE 的横向位移
+     * @param stepY 每个 ACTION_MOVE 的纵向位移
+     */
+    private static MotionEvent[] gesture(float x, float y, float stepX, float stepY) {
+        return gesture(x, y, stepX, stepY, stepX == 0 && stepY == 0 ? 0 : MOVE_COUNT);
+    }
+
+    /**
+     * 创建手势：ACTION_DOWN + moveCount 个 ACTION_MOVE + ACTION_UP
+     */
+    private static MotionEvent[] gesture(float x, float y, float stepX, float stepY, int moveCount) {
+        final MotionEvent[] events = new MotionEvent[moveCount + 2];
+        long time = 0;
+
+        events[0] = MotionEvent.obtain(0, time, MotionEvent.ACTION_DOWN, x, y, 0);
+        for (int i = 1; i <= moveCount; ++i) {
+            time += FRAME_INTERVAL;
+            events[i] = MotionEvent.obtain(0, time, MotionEvent.ACTION_MOVE, x + stepX * i, y + stepY * i, 0);
+        }
+        time += FRAME_INTERVAL;
+        events[moveCount + 1] = MotionEvent.obtain(0, time, MotionEvent.ACTION_UP, x + stepX * moveCount, y + stepY * moveCount, 0);
+        return events;
+    }
+
+    /**
+     * 创建横向来回移动的手势：先向左移动到 {@value SWING_MAX}，之后在 {@value SWING_MIN} ~ {@value SWING_MAX} 之间往返
+     */
+    private static MotionEvent[] swingGesture(float x, float y, int moveCount) {
+        final MotionEvent[] events = new MotionEvent[moveCount + 2];
+        long time = 0;
+        int distance = 0;
+        int step = SWING_STEP;
+
+        events[0] = MotionEvent.obtain(0, time, MotionEvent.ACTION_DOWN, x, y, 0);
+        for (int i = 1; i <= moveCount; ++i) {
+            if (distance + step > SWING_MAX || (step < 0 && distance + step < SWING_MIN)) {
+                step = - step;
+            }
+            distance += step;
+            time += FRAME_INTERVAL;
+            events[i] = MotionEvent.obtain(0, time, MotionEvent.ACTION_MOVE, x - distance, y, 0);
+        }
+        time += FRAME_INTERVAL;
+        events[moveCount + 1] = MotionEvent.obtain(0, time, MotionEvent.ACTION_UP, x - distance, y, 0);
+        return events;
+    }
+
+}
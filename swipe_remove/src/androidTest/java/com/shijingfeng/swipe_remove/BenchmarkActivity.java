@@ -0,0 +1,25 @@
+package com.shijingfeng.swipe_remove;
+
+import android.app.Activity;
+import android.os.Bundle;
+import android.widget.LinearLayout;
+
+/**
+ * function: 性能测试宿主Activity（只提供一个纵向的空容器）
+ */
+public class BenchmarkActivity extends Activity {
+
+    private LinearLayout mContainer;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        mContainer = new LinearLayout(this);
+        mContainer.setOrientation(LinearLayout.VERTICAL);
+        setContentView(mContainer);
+    }
+
+    public LinearLayout getContainer() {
+        return mContainer;
+    }
+}
@@ -0,0 +1,194 @@
+package com.shijingfeng.swipe_remove;
+
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.Choreographer;
+import android.view.FrameMetrics;
+import android.view.MotionEvent;
+import android.view.ViewGroup;
+import android.view.Window;
+import android.widget.Button;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.rule.ActivityTestRule;
+import androidx.test.runner.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * function: 偏移实现方式帧耗时对比（scroll 与 translation，使用 FrameMetrics 统计每帧绘制耗时）
+ */
+@RunWith(AndroidJUnit4.class)
+public class OffsetStrategyBenchmark {
+
+    private static final String TAG = "OffsetStrategyBenchmark";
+    /** 列表行数 */
+    private static final int ROW_COUNT = 8;
+    /** 菜单按钮宽度（像素）*/
+    private static final int MENU_ITEM_WIDTH = 200;
+    /** 每个偏移方式测量的帧数 */
+    private static final int FRAME_COUNT = 240;
+    /** 每帧手指移动距离（像素）*/
+    private static final int STEP = 15;
+
+    @Rule
+    public ActivityTestRule<BenchmarkActivity> mActivityRule = new ActivityTestRule<>(BenchmarkActivity.class);
+
+    @Test
+    public void compareOffsetStrategies() throws Throwable {
+        assumeTrue(Build.VERSION.SDK_INT >= Build.VERSION_CODES.N);
+
+        final FrameStats scroll = run(SwipeRemoveLayout.OFFSET_STRATEGY_SCROLL);
+        final FrameStats translation = run(SwipeRemoveLayout.OFFSET_STRATEGY_TRANSLATION);
+
+        final Bundle results = new Bundle();
+        scroll.report("scroll", results);
+        translation.report("translation", results);
+        InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+
+        assertTrue(scroll.mFrames > 0 && translation.mFrames > 0);
+    }
+
+    /**
+     * 按指定偏移方式拖动第一行，统计帧耗时
+     */
+    private FrameStats run(int offsetStrategy) throws Throwable {
+        final BenchmarkActivity activity = mActivityRule.getActivity();
+        final SwipeRemoveLayout[] target = new SwipeRemoveLayout[1];
+
+        mActivityRule.runOnUiThread(() -> {
+            final LinearLayout container = activity.getContainer();
+
+            container.removeAllViews();
+            for (int i = 0; i < ROW_COUNT; ++i) {
+                final SwipeRemoveLayout row = createRow(activity, offsetStrategy, i);
+
+                container.addView(row, new LinearLayout.LayoutParams(LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.WRAP_CONTENT));
+                if (i == 0) {
+                    target[0] = row;
+                }
+            }
+        });
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+        final FrameStats stats = new FrameStats();
+        final Window window = activity.getWindow();
+        final Window.OnFrameMetricsAvailableListener listener = (w, frameMetrics, dropCount) -> stats.add(frameMetrics);
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        window.addOnFrameMetricsAvailableListener(listener, new Handler(Looper.getMainLooper()));
+        mActivityRule.runOnUiThread(() -> drag(target[0], latch));
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        window.removeOnFrameMetricsAvailableListener(listener);
+
+        return stats;
+    }
+
+    /**
+     * 每一帧分发一个 ACTION_MOVE，在 0 与菜单宽度之间来回拖动
+     */
+    private static void drag(SwipeRemoveLayout row, CountDownLatch latch) {
+        final long downTime = SystemClock.uptimeMillis();
+        final float y = row.getHeight() / 2F;
+        final float startX = row.getWidth() - 1;
+        final int maxDistance = MENU_ITEM_WIDTH * 3;
+
+        row.dispatchTouchEvent(obtain(downTime, MotionEvent.ACTION_DOWN, startX, y));
+
+        Choreographer.getInstance().postFrameCallback(new Choreographer.FrameCallback() {
+
+            private int mFrame;
+
+            @Override
+            public void doFrame(long frameTimeNanos) {
+                ++mFrame;
+
+                final int phase = (mFrame * STEP) % (maxDistance * 2);
+                final int distance = phase < maxDistance ? phase : maxDistance * 2 - phase;
+                final float x = startX - distance;
+
+                if (mFrame < FRAME_COUNT) {
+                    row.dispatchTouchEvent(obtain(downTime, MotionEvent.ACTION_MOVE, x, y));
+                    Choreographer.getInstance().postFrameCallback(this);
+                } else {
+                    row.dispatchTouchEvent(obtain(downTime, MotionEvent.ACTION_UP, x, y));
+                    latch.countDown();
+                }
+            }
+        });
+    }
+
+    private static MotionEvent obtain(long downTime, int action, float x, float y) {
+        return MotionEvent.obtain(downTime, SystemClock.uptimeMillis(), action, x, y, 0);
+    }
+
+    /**
+     * 创建一行：内容View + 3个菜单按钮
+     */
+    private static SwipeRemoveLayout createRow(BenchmarkActivity activity, int offsetStrategy, int index) {
+        final SwipeRemoveLayout row = new SwipeRemoveLayout(activity);
+        final TextView content = new TextView(activity);
+
+        row.setOffsetStrategy(offsetStrategy);
+        content.setText("内容" + index);
+        content.setPadding(40, 60, 40, 60);
+        row.addView(content, new ViewGroup.MarginLayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+
+        for (int i = 0; i < 3; ++i) {
+            final Button button = new Button(activity);
+
+            button.setText("菜单" + i);
+            row.addView(button, new ViewGroup.MarginLayoutParams(MENU_ITEM_WIDTH, ViewGroup.LayoutParams.MATCH_PARENT));
+        }
+        return row;
+    }
+
+    /**
+     * 帧耗时统计
+     */
+    private static class FrameStats {
+
+        private int mFrames;
+        private long mDrawNanos;
+        private long mSyncNanos;
+        private long mGpuNanos;
+        private long mTotalNanos;
+
+        private void add(FrameMetrics frameMetrics) {
+            ++mFrames;
+            mDrawNanos += frameMetrics.getMetric(FrameMetrics.DRAW_DURATION);
+            mSyncNanos += frameMetrics.getMetric(FrameMetrics.SYNC_DURATION);
+            mGpuNanos += frameMetrics.getMetric(FrameMetrics.COMMAND_ISSUE_DURATION);
+            mTotalNanos += frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION);
+        }
+
+        private void report(String name, Bundle results) {
+            final long frames = Math.max(mFrames, 1);
+            final String line = name
+                    + " frames=" + mFrames
+                    + " drawAvgNs=" + mDrawNanos / frames
+                    + " syncAvgNs=" + mSyncNanos / frames
+                    + " issueAvgNs=" + mGpuNanos / frames
+                    + " totalAvgNs=" + mTotalNanos / frames;
+
+            Log.i(TAG, line);
+            results.putString(name, line);
+        }
+    }
+
+}
@@ -0,0 +1,254 @@
+package com.shijingfeng.swipe_remove;
+
+import android.os.Build;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.Choreographer;
+import android.view.FrameMetrics;
+import android.view.ViewGroup;
+import android.view.Window;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.LinearLayoutManager;
+import androidx.recyclerview.widget.ListAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.rule.ActivityTestRule;
+import androidx.test.runner.AndroidJUnit4;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * function: 批量删除帧耗时对比（10000行中每帧删除一行，共100行：删除流水线 与 notifyDataSetChanged()）
+ */
+@RunWith(AndroidJUnit4.class)
+public class RemovalPipelineBenchmark {
+
+    private static final String TAG = "RemovalPipelineBenchmark";
+    /** 列表行数 */
+    private static final int ITEM_COUNT = 10_000;
+    /** 删除行数 */
+    private static final int REMOVE_COUNT = 100;
+    /** 60Hz 一帧的时长（纳秒），超过即为卡顿帧 */
+    private static final long FRAME_BUDGET_NANOS = 16_666_667L;
+
+    private static final DiffUtil.ItemCallback<Long> DIFF_CALLBACK = new DiffUtil.ItemCallback<Long>() {
+
+        @Override
+        public boolean areItemsTheSame(@NonNull Long oldItem, @NonNull Long newItem) {
+            return oldItem.equals(newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Long oldItem, @NonNull Long newItem) {
+            return true;
+        }
+    };
+
+    @Rule
+    public ActivityTestRule<BenchmarkActivity> mActivityRule = new ActivityTestRule<>(BenchmarkActivity.class);
+
+    @Test
+    public void comparePipelineAndNotifyDataSetChanged() throws Throwable {
+        assumeTrue(Build.VERSION.SDK_INT >= Build.VERSION_CODES.N);
+
+        final PipelineAdapter pipelineAdapter = new PipelineAdapter();
+        final FrameStats pipeline = run(pipelineAdapter, key -> pipelineAdapter.mPipeline.remove(key));
+
+        final NotifyAdapter notifyAdapter = new NotifyAdapter();
+        final FrameStats notify = run(notifyAdapter, key -> {
+            notifyAdapter.mDataList.remove(Long.valueOf(key));
+            notifyAdapter.notifyDataSetChanged();
+        });
+
+        final Bundle results = new Bundle();
+        pipeline.report("pipeline diffPasses=" + pipelineAdapter.mPipeline.getDiffPassCount(), results);
+        notify.report("notifyDataSetChanged", results);
+        InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+
+        assertEquals(ITEM_COUNT - REMOVE_COUNT, pipelineAdapter.getItemCount());
+        assertEquals(ITEM_COUNT - REMOVE_COUNT, notifyAdapter.getItemCount());
+        assertTrue(pipeline.mFrames > 0 && notify.mFrames > 0);
+    }
+
+    /**
+     * 显示列表，然后每帧删除一行（从第一行开始，始终删除可见的行）
+     */
+    private FrameStats run(RecyclerView.Adapter<?> adapter, Remover remover) throws Throwable {
+        final BenchmarkActivity activity = mActivityRule.getActivity();
+
+        mActivityRule.runOnUiThread(() -> {
+            final LinearLayout container = activity.getContainer();
+            final RecyclerView recyclerView = new RecyclerView(activity);
+
+            recyclerView.setLayoutManager(new LinearLayoutManager(activity));
+            recyclerView.setAdapter(adapter);
+            container.removeAllViews();
+            container.addView(recyclerView, new LinearLayout.LayoutParams(LinearLayout.LayoutParams.MATCH_PARENT, LinearLayout.LayoutParams.MATCH_PARENT));
+        });
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+
+        final FrameStats stats = new FrameStats();
+        final Window window = activity.getWindow();
+        final Window.OnFrameMetricsAvailableListener listener = (w, frameMetrics, dropCount) -> stats.add(frameMetrics);
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        window.addOnFrameMetricsAvailableListener(listener, new Handler(Looper.getMainLooper()));
+        mActivityRule.runOnUiThread(() -> Choreographer.getInstance().postFrameCallback(new Choreographer.FrameCallback() {
+
+            private int mRemoved;
+
+            @Override
+            public void doFrame(long frameTimeNanos) {
+                remover.remove(mRemoved++);
+                if (mRemoved < REMOVE_COUNT) {
+                    Choreographer.getInstance().postFrameCallback(this);
+                } else {
+                    latch.countDown();
+                }
+            }
+        }));
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+        //等待最后一次差异计算和删除动画完成
+        Thread.sleep(1000);
+        InstrumentationRegistry.getInstrumentation().waitForIdleSync();
+        window.removeOnFrameMetricsAvailableListener(listener);
+
+        return stats;
+    }
+
+    private static TextView createRow(ViewGroup parent) {
+        final TextView row = new TextView(parent.getContext());
+
+        row.setPadding(40, 60, 40, 60);
+        row.setLayoutParams(new RecyclerView.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        return row;
+    }
+
+    private static List<Long> createDataList() {
+        final List<Long> dataList = new ArrayList<>(ITEM_COUNT);
+
+        for (long i = 0; i < ITEM_COUNT; ++i) {
+            dataList.add(i);
+        }
+        return dataList;
+    }
+
+    private interface Remover {
+
+        void remove(long key);
+    }
+
+    private static class RowHolder extends RecyclerView.ViewHolder {
+
+        private RowHolder(TextView itemView) {
+            super(itemView);
+        }
+    }
+
+    /**
+     * 使用删除流水线的 ListAdapter
+     */
+    private static class PipelineAdapter extends ListAdapter<Long, RowHolder> {
+
+        private final SwipeRemovePipeline<Long> mPipeline;
+
+        private PipelineAdapter() {
+            super(DIFF_CALLBACK);
+            mPipeline = new SwipeRemovePipeline<>(this, item -> item);
+            submitList(createDataList());
+        }
+
+        @NonNull
+        @Override
+        public RowHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            return new RowHolder(createRow(parent));
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RowHolder holder, int position) {
+            ((TextView) holder.itemView).setText("内容" + getItem(position));
+        }
+
+        @Override
+        public void onCurrentListChanged(@NonNull List<Long> previousList, @NonNull List<Long> currentList) {
+            super.onCurrentListChanged(previousList, currentList);
+            mPipeline.onCurrentListChanged();
+        }
+    }
+
+    /**
+     * 每次删除都调用 notifyDataSetChanged() 的 Adapter
+     */
+    private static class NotifyAdapter extends RecyclerView.Adapter<RowHolder> {
+
+        private final List<Long> mDataList = createDataList();
+
+        @NonNull
+        @Override
+        public RowHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+            return new RowHolder(createRow(parent));
+        }
+
+        @Override
+        public void onBindViewHolder(@NonNull RowHolder holder, int position) {
+            ((TextView) holder.itemView).setText("内容" + mDataList.get(position));
+        }
+
+        @Override
+        public int getItemCount() {
+            return mDataList.size();
+        }
+    }
+
+    /**
+     * 帧耗时统计
+     */
+    private static class FrameStats {
+
+        private int mFrames;
+        private int mJankFrames;
+        private long mTotalNanos;
+        private long mMaxNanos;
+
+        private void add(FrameMetrics frameMetrics) {
+            final long total = frameMetrics.getMetric(FrameMetrics.TOTAL_DURATION);
+
+            ++mFrames;
+            mTotalNanos += total;
+            mMaxNanos = Math.max(mMaxNanos, total);
+            if (total > FRAME_BUDGET_NANOS) {
+                ++mJankFrames;
+            }
+        }
+
+        private void report(String name, Bundle results) {
+            final long frames = Math.max(mFrames, 1);
+            final String line = name
+                    + " frames=" + mFrames
+                    + " jankFrames=" + mJankFrames
+                    + " totalAvgNs=" + mTotalNanos / frames
+                    + " totalMaxNs=" + mMaxNanos;
+
+            Log.i(TAG, line);
+            results.putString(name, line);
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+package com.shijingfeng.swipe_remove;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.test.platform.app.InstrumentationRegistry;
+import androidx.test.runner.AndroidJUnit4;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * function: 行结构性能对比（SwipeRemoveItemHelper 使用的扁平行 与 SwipeRemoveLayout 包裹的行，每行测量+布局耗时）
+ */
+@RunWith(AndroidJUnit4.class)
+public class RowStructureBenchmark {
+
+    private static final String TAG = "RowStructureBenchmark";
+    /** 预热次数 */
+    private static final int WARM_UP = 500;
+    /** 测量次数 */
+    private static final int ITERATIONS = 5000;
+    /** 行宽度（像素）*/
+    private static final int WIDTH = 1080;
+
+    @Test
+    public void compareFlatAndWrappedRows() throws Throwable {
+        final Context context = InstrumentationRegistry.getInstrumentation().getTargetContext();
+        final long[] result = new long[2];
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync(() -> {
+            result[0] = measureLayoutNanos(createContent(context));
+            result[1] = measureLayoutNanos(createWrappedRow(context));
+        });
+
+        final Bundle results = new Bundle();
+        final String line = "flatNsPerRow=" + result[0] + " wrappedNsPerRow=" + result[1];
+
+        Log.i(TAG, line);
+        results.putString(TAG, line);
+        InstrumentationRegistry.getInstrumentation().sendStatus(0, results);
+
+        assertTrue(result[0] > 0 && result[1] > 0);
+    }
+
+    /**
+     * 每次强制重新测量和布局，返回平均耗时（纳秒）
+     */
+    private static long measureLayoutNanos(View row) {
+        final int widthSpec = MeasureSpec.makeMeasureSpec(WIDTH, MeasureSpec.EXACTLY);
+        final int heightSpec = MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED);
+
+        for (int i = 0; i < WARM_UP; ++i) {
+            measureAndLayout(row, widthSpec, heightSpec);
+        }
+
+        final long start = SystemClock.elapsedRealtimeNanos();
+
+        for (int i = 0; i < ITERATIONS; ++i) {
+            measureAndLayout(row, widthSpec, heightSpec);
+        }
+        return (SystemClock.elapsedRealtimeNanos() - start) / ITERATIONS;
+    }
+
+    private static void measureAndLayout(View row, int widthSpec, int heightSpec) {
+        forceLayoutRecursive(row);
+        row.measure(widthSpec, heightSpec);
+        row.layout(0, 0, row.getMeasuredWidth(), row.getMeasuredHeight());
+    }
+
+    private static void forceLayoutRecursive(View view) {
+        view.forceLayout();
+        if (view instanceof ViewGroup) {
+            final ViewGroup group = (ViewGroup) view;
+
+            for (int i = 0, count = group.getChildCount(); i < count; ++i) {
+                forceLayoutRecursive(group.getChildAt(i));
+            }
+        }
+    }
+
+    /**
+     * 与 adapter_item_swipe_remove.xml 的内容部分相同的扁平行
+     */
+    private static LinearLayout createContent(Context context) {
+        final LinearLayout content = new LinearLayout(context);
+        final ImageView image = new ImageView(context);
+        final TextView name = new TextView(context);
+
+        content.setOrientation(LinearLayout.HORIZONTAL);
+        content.setPadding(40, 40, 40, 40);
+        name.setText("内容");
+        content.addView(image, new LinearLayout.LayoutParams(210, 210));
+        content.addView(name, new LinearLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        return content;
+    }
+
+    /**
+     * 与 adapter_item_swipe_remove.xml 相同的包裹行：内容 + 3个菜单按钮
+     */
+    private static SwipeRemoveLayout createWrappedRow(Context context) {
+        final SwipeRemoveLayout row = new SwipeRemoveLayout(context);
+
+        row.addView(createContent(context), new ViewGroup.MarginLayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        for (int i = 0; i < 3; ++i) {
+            final Button button = new Button(context);
+
+            button.setText("菜单" + i);
+            row.addView(button, new ViewGroup.MarginLayoutParams(160, ViewGroup.LayoutParams.MATCH_PARENT));
+        }
+        return row;
+    }
+
+}
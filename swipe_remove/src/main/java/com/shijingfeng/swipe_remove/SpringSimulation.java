@@ -0,0 +1,141 @@
+package com.shijingfeng.swipe_remove;
+
+/**
+ * function: 阻尼弹簧模型（纯Java实现，不依赖Android，质量固定为1，使用解析解计算任意时刻的位置和速度）
+ */
+final class SpringSimulation {
+
+    /** 默认刚度 */
+    static final float DEFAULT_STIFFNESS = 1500F;
+    /** 默认阻尼比（小于1会有轻微回弹）*/
+    static final float DEFAULT_DAMPING_RATIO = 0.85F;
+    /** 静止判定：距离目标的最大像素值 */
+    private static final double REST_POSITION_THRESHOLD = 0.5;
+    /** 静止判定：最大速度（像素点数量/秒） */
+    private static final double REST_VELOCITY_THRESHOLD = 20;
+
+    /** 刚度 */
+    private double mStiffness = DEFAULT_STIFFNESS;
+    /** 阻尼比 */
+    private double mDampingRatio = DEFAULT_DAMPING_RATIO;
+    /** 目标位置 */
+    private double mTarget;
+    /** 初始位移（相对目标位置）*/
+    private double mStartDisplacement;
+    /** 初始速度（像素点数量/秒）*/
+    private double mStartVelocity;
+    /** 最近一次计算的位置 */
+    private double mPosition;
+    /** 最近一次计算的速度 */
+    private double mVelocity;
+
+    /**
+     * 设置刚度
+     * @param stiffness 刚度 必须大于0
+     */
+    void setStiffness(float stiffness) {
+        if (stiffness <= 0) {
+            throw new IllegalArgumentException("Spring stiffness must be positive.");
+        }
+        mStiffness = stiffness;
+    }
+
+    float getStiffness() {
+        return (float) mStiffness;
+    }
+
+    /**
+     * 设置阻尼比 (0, 1) 欠阻尼，1 临界阻尼，大于1 过阻尼
+     * @param dampingRatio 阻尼比 必须大于0
+     */
+    void setDampingRatio(float dampingRatio) {
+        if (dampingRatio <= 0) {
+            throw new IllegalArgumentException("Spring damping ratio must be positive.");
+        }
+        mDampingRatio = dampingRatio;
+    }
+
+    float getDampingRatio() {
+        return (float) mDampingRatio;
+    }
+
+    /**
+     * 开始一次模拟
+     * @param position 起始位置
+     * @param velocity 起始速度（像素点数量/秒）
+     * @param target   目标位置
+     */
+    void start(double position, double velocity, double target) {
+        mTarget = target;
+        mStartDisplacement = position - target;
+        mStartVelocity = velocity;
+        mPosition = position;
+        mVelocity = velocity;
+    }
+
+    /**
+     * 计算 time 时刻的位置和速度，结果通过 {@link #getPosition()} {@link #getVelocity()} 获取
+     * @param time 距离开始的时间（秒）
+     */
+    void update(double time) {
+        final double omega = Math.sqrt(mStiffness);
+        final double x0 = mStartDisplacement;
+        final double v0 = mStartVelocity;
+        final double displacement;
+        final double velocity;
+
+        if (mDampingRatio > 1) {
+            //过阻尼
+            final double root = omega * Math.sqrt(mDampingRatio * mDampingRatio - 1);
+            final double gammaPlus = -mDampingRatio * omega + root;
+            final double gammaMinus = -mDampingRatio * omega - root;
+            final double coeffB = (gammaMinus * x0 - v0) / (gammaMinus - gammaPlus);
+            final double coeffA = x0 - coeffB;
+            final double expMinus = Math.exp(gammaMinus * time);
+            final double expPlus = Math.exp(gammaPlus * time);
+
+            displacement = coeffA * expMinus + coeffB * expPlus;
+            velocity = coeffA * gammaMinus * expMinus + coeffB * gammaPlus * expPlus;
+        } else if (mDampingRatio == 1) {
+            //临界阻尼
+            final double coeffB = v0 + omega * x0;
+            final double exp = Math.exp(-omega * time);
+
+            displacement = (x0 + coeffB * time) * exp;
+            velocity = coeffB * exp - omega * displacement;
+        } else {
+            //欠阻尼
+            final double dampedFreq = omega * Math.sqrt(1 - mDampingRatio * mDampingRatio);
+            final double sinCoeff = (mDampingRatio * omega * x0 + v0) / dampedFreq;
+            final double exp = Math.exp(-mDampingRatio * omega * time);
+            final double cos = Math.cos(dampedFreq * time);
+            final double sin = Math.sin(dampedFreq * time);
+
+            displacement = exp * (x0 * cos + sinCoeff * sin);
+            velocity = -mDampingRatio * omega * displacement + exp * dampedFreq * (sinCoeff * cos - x0 * sin);
+        }
+
+        mPosition = mTarget + displacement;
+        mVelocity = velocity;
+    }
+
+    double getPosition() {
+        return mPosition;
+    }
+
+    double getVelocity() {
+        return mVelocity;
+    }
+
+    double getTarget() {
+        return mTarget;
+    }
+
+    /**
+     * 最近一次计算的结果是否已经静止
+     */
+    boolean isAtRest() {
+        return Math.abs(mPosition - mTarget) < REST_POSITION_THRESHOLD && Math.abs(mVelocity) < REST_VELOCITY_THRESHOLD;
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.shijingfeng.swipe_remove;
+
+import android.view.View;
+import android.view.ViewGroup.MarginLayoutParams;
+import android.view.ViewPropertyAnimator;
+
+/**
+ * function: 侧滑方向轴（主轴: 侧滑方向  交叉轴: 与侧滑方向垂直，交给外层列表滚动）
+ *           SwipeRemoveLayout 的测量、布局、触摸和偏移都通过它换算坐标，横向和纵向共用同一套逻辑
+ *           无状态，全局共享 {@link #HORIZONTAL} 和 {@link #VERTICAL}
+ */
+abstract class SwipeAxis {
+
+    /** 横向侧滑（向左/向右，菜单在内容的左右两侧）*/
+    static final SwipeAxis HORIZONTAL = new Horizontal();
+    /** 纵向侧滑（向上/向下，菜单在内容的上下两侧）*/
+    static final SwipeAxis VERTICAL = new Vertical();
+
+    private SwipeAxis() {
+    }
+
+    /**
+     * 坐标在主轴上的分量
+     */
+    abstract float main(float x, float y);
+
+    /**
+     * 坐标在交叉轴上的分量
+     */
+    abstract float cross(float x, float y);
+
+    /**
+     * View在主轴上的尺寸
+     */
+    abstract int getSize(View view);
+
+    /**
+     * 子View测量后在主轴上的尺寸
+     */
+    abstract int getMeasuredMainSize(View child);
+
+    /**
+     * 子View测量后在交叉轴上的尺寸
+     */
+    abstract int getMeasuredCrossSize(View child);
+
+    /**
+     * 布局参数在交叉轴上的尺寸（MATCH_PARENT、WRAP_CONTENT 或具体数值）
+     */
+    abstract int getCrossLayoutSize(MarginLayoutParams lp);
+
+    /**
+     * 交叉轴方向的 MeasureSpec
+     */
+    abstract int getCrossMeasureSpec(int widthMeasureSpec, int heightMeasureSpec);
+
+    /**
+     * 主轴方向起始端的内边距
+     */
+    abstract int getMainPaddingStart(View view);
+
+    /**
+     * 主轴方向两端的内边距之和
+     */
+    abstract int getMainPadding(View view);
+
+    /**
+     * 交叉轴方向起始端的内边距
+     */
+    abstract int getCrossPaddingStart(View view);
+
+    /**
+     * 交叉轴方向两端的内边距之和
+     */
+    abstract int getCrossPadding(View view);
+
+    /**
+     * 按主轴和交叉轴的位置布局子View（尺寸使用测量结果）
+     * @param mainStart  主轴方向的起始位置
+     * @param crossStart 交叉轴方向的起始位置
+     */
+    abstract void layoutChild(View child, int mainStart, int crossStart);
+
+    /**
+     * 整体滚动到主轴上的位置
+     */
+    abstract void scrollTo(View view, int offset);
+
+    /**
+     * 设置主轴方向的平移（交叉轴方向不变）
+     */
+    abstract void setTranslation(View view, float translation);
+
+    /**
+     * 主轴方向的平移动画
+     */
+    abstract ViewPropertyAnimator animateTranslation(ViewPropertyAnimator animator, float translation);
+
+    private static final class Horizontal extends SwipeAxis {
+
+        @Override
+        float main(float x, float y) {
+            return x;
+        }
+
+        @Override
+        float cross(float x, float y) {
+            return y;
+        }
+
+        @Override
+        int getSize(View view) {
+            return view.getWidth();
+        }
+
+        @Override
+        int getMeasuredMainSize(View child) {
+            return child.getMeasuredWidth();
+        }
+
+        @Override
+        int getMeasuredCrossSize(View child) {
+            return child.getMeasuredHeight();
+        }
+
+        @Override
+        int getCrossLayoutSize(MarginLayoutParams lp) {
+            return lp.height;
+        }
+
+        @Override
+        int getCrossMeasureSpec(int widthMeasureSpec, int heightMeasureSpec) {
+            return heightMeasureSpec;
+        }
+
+        @Override
+        int getMainPaddingStart(View view) {
+            return view.getPaddingLeft();
+        }
+
+        @Override
+        int getMainPadding(View view) {
+            return view.getPaddingLeft() + view.getPaddingRight();
+        }
+
+        @Override
+        int getCrossPaddingStart(View view) {
+            return view.getPaddingTop();
+        }
+
+        @Override
+        int getCrossPadding(View view) {
+            return view.getPaddingTop() + view.getPaddingBottom();
+        }
+
+        @Override
+        void layoutChild(View child, int mainStart, int crossStart) {
+            child.layout(mainStart, crossStart, mainStart + child.getMeasuredWidth(), crossStart + child.getMeasuredHeight());
+        }
+
+        @Override
+        void scrollTo(View view, int offset) {
+            view.scrollTo(offset, 0);
+        }
+
+        @Override
+        void setTranslation(View view, float translation) {
+            view.setTranslationX(translation);
+        }
+
+        @Override
+        ViewPropertyAnimator animateTranslation(ViewPropertyAnimator animator, float translation) {
+            return animator.translationX(translation);
+        }
+    }
+
+    private static final class Vertical extends SwipeAxis {
+
+        @Override
+        float main(float x, float y) {
+            return y;
+        }
+
+        @Override
+        float cross(float x, float y) {
+            return x;
+        }
+
+        @Override
+        int getSize(View view) {
+            return view.getHeight();
+        }
+
+        @Override
+        int getMeasuredMainSize(View child) {
+            return child.getMeasuredHeight();
+        }
+
+        @Override
+        int getMeasuredCrossSize(View child) {
+            return child.getMeasuredWidth();
+        }
+
+        @Override
+        int getCrossLayoutSize(MarginLayoutParams lp) {
+            return lp.width;
+        }
+
+        @Override
+        int getCrossMeasureSpec(int widthMeasureSpec, int heightMeasureSpec) {
+            return widthMeasureSpec;
+        }
+
+        @Override
+        int getMainPaddingStart(View view) {
+            return view.getPaddingTop();
+        }
+
+        @Override
+        int getMainPadding(View view) {
+            return view.getPaddingTop() + view.getPaddingBottom();
+        }
+
+        @Override
+        int getCrossPaddingStart(View view) {
+            return view.getPaddingLeft();
+        }
+
+        @Override
+        int getCrossPadding(View view) {
+            return view.getPaddingLeft() + view.getPaddingRight();
+        }
+
+        @Override
+        void layoutChild(View child, int mainStart, int crossStart) {
+            child.layout(crossStart, mainStart, crossStart + child.getMeasuredWidth(), mainStart + child.getMeasuredHeight());
+        }
+
+        @Override
+        void scrollTo(View view, int offset) {
+            view.scrollTo(0, offset);
+        }
+
+        @Override
+        void setTranslation(View view, float translation) {
+            view.setTranslationY(translation);
+        }
+
+        @Override
+        ViewPropertyAnimator animateTranslation(ViewPropertyAnimator animator, float translation) {
+            return animator.translationY(translation);
+        }
+    }
+
+}
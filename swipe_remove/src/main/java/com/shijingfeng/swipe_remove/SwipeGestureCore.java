@@ -0,0 +1,298 @@
+package com.shijingfeng.swipe_remove;
+
+/**
+ * function: 侧滑手势状态机（不依赖Android，输入只有坐标和时间）
+ *           负责最小滑动距离、方向判断（20度夹角）、拖动偏移量累加和越界修正、速度估算，松手时交给 {@link SwipeReleasePolicy} 决策
+ *           坐标已按侧滑方向换算：main 为主轴（侧滑方向）分量，cross 为交叉轴分量
+ *           {@link SwipeRemoveLayout} 只负责把 MotionEvent 转换成坐标，并执行返回的结果
+ *           每个事件只做几次浮点运算，不产生任何对象，可以在JVM上大量重放
+ */
+public final class SwipeGestureCore {
+
+    /** 手势状态：没有触摸 */
+    public static final int STATE_IDLE = 0;
+    /** 手势状态：已按下，移动距离没有超过最小滑动距离，方向未确定 */
+    public static final int STATE_UNDECIDED = 1;
+    /** 手势状态：沿侧滑方向拖动（侧滑）*/
+    public static final int STATE_DRAG = 2;
+    /** 手势状态：垂直于侧滑方向滑动（交给外层列表，直到抬起都不再处理）*/
+    public static final int STATE_SCROLL = 3;
+
+    /** 松手结果：没有拖动过（点击或列表滚动），不需要决策 */
+    public static final int RELEASE_NONE = -1;
+
+    /** tan20（与侧滑方向夹角小于20度才算侧滑）*/
+    private static final float TAN_20 = 0.36397023F;
+    /** 速度采样点数量（环形缓冲）*/
+    private static final int HISTORY_SIZE = 20;
+    /** 只用最近这段时间内的采样点估算速度（毫秒值）*/
+    private static final long HORIZON = 100;
+    /** 两个采样点间隔超过这段时间（毫秒值）认为手指停下过，丢弃之前的采样点 */
+    private static final long ASSUME_STOPPED_TIME = 40;
+
+    /** 松手决策 */
+    private final SwipeReleasePolicy mPolicy;
+    /** 采样点主轴坐标（环形缓冲）*/
+    private final float[] mSamplePositions = new float[HISTORY_SIZE];
+    /** 采样点时间（毫秒值，与 mSamplePositions 一一对应）*/
+    private final long[] mSampleTimes = new long[HISTORY_SIZE];
+    /** 最新采样点的下标 */
+    private int mSampleIndex;
+    /** 有效采样点数量 */
+    private int mSampleCount;
+    /** 开始侧滑的回调（可以为null）*/
+    private Callback mCallback;
+    /** 最小滑动距离 */
+    private float mTouchSlop;
+    /** 最大速度（像素点数量/秒）*/
+    private float mMaxVelocity = Float.MAX_VALUE;
+    /** 当前状态 */
+    private int mState = STATE_IDLE;
+    /** 按下时主轴坐标 */
+    private float mDownMain;
+    /** 按下时交叉轴坐标 */
+    private float mDownCross;
+    /** 上一次计算偏移量时的主轴坐标（方向确定之前停留在按下的位置）*/
+    private float mLastMain;
+    /** 行的主轴尺寸（整行滑动时的拖动上限）*/
+    private int mRowSize;
+    /** 拖动中的偏移量（保留小数，不丢失亚像素移动）*/
+    private float mPendingOffset;
+    /** 松手时偏移量的变化速度（像素点数量/秒）*/
+    private float mOffsetVelocity;
+    /** 松手时主轴方向移动距离是否超过了最小滑动距离 */
+    private boolean mSwiped;
+
+    /**
+     * @param policy 松手决策（同时提供越界修正的菜单尺寸）
+     */
+    public SwipeGestureCore(SwipeReleasePolicy policy) {
+        mPolicy = policy;
+    }
+
+    /**
+     * 按下
+     * @param main    主轴坐标
+     * @param cross   交叉轴坐标
+     * @param time    事件时间（毫秒值）
+     * @param offset  当前偏移量
+     * @param rowSize 行的主轴尺寸
+     */
+    public void onDown(float main, float cross, long time, int offset, int rowSize) {
+        mState = STATE_UNDECIDED;
+        mDownMain = main;
+        mDownCross = cross;
+        mLastMain = main;
+        mRowSize = rowSize;
+        mPendingOffset = offset;
+        mOffsetVelocity = 0;
+        mSwiped = false;
+        mSampleCount = 0;
+        addSample(main, time);
+    }
+
+    /**
+     * 批量事件中的历史采样点（只用于速度估算，偏移量由随后的 {@link #onMove(float, float, long)} 一次计算）
+     * @param main 主轴坐标
+     * @param time 采样时间（毫秒值）
+     */
+    public void onHistoricalSample(float main, long time) {
+        if (mState == STATE_UNDECIDED || mState == STATE_DRAG) {
+            addSample(main, time);
+        }
+    }
+
+    /**
+     * 移动
+     * @param main  主轴坐标
+     * @param cross 交叉轴坐标
+     * @param time  事件时间（毫秒值）
+     * @return true: 偏移量变化了，需要在下一帧应用 {@link #getPendingOffset()}
+     */
+    public boolean onMove(float main, float cross, long time) {
+        if (mState == STATE_UNDECIDED) {
+            addSample(main, time);
+
+            final float distanceMain = Math.abs(main - mDownMain);
+            final float distanceCross = Math.abs(cross - mDownCross);
+
+            if (distanceMain <= mTouchSlop && distanceCross <= mTouchSlop) {
+                //还没有超过最小滑动距离，方向未确定
+                return false;
+            }
+            //tan = 交叉轴距离/主轴距离，不做除法：cross < main * tan20 即与侧滑方向夹角小于20度
+            if (distanceCross >= distanceMain * TAN_20) {
+                mState = STATE_SCROLL;
+                return false;
+            }
+            mState = STATE_DRAG;
+            if (mCallback != null) {
+                //菜单可能在这里才加载，越界修正需要使用加载后的菜单尺寸；归位动画可能在按下后仍在移动，从当前位置开始拖动
+                mPendingOffset = mCallback.onDragStarted();
+            }
+        } else if (mState == STATE_DRAG) {
+            addSample(main, time);
+        } else {
+            return false;
+        }
+
+        //方向确定之前 mLastMain 停留在按下的位置，确定后一次补上这段距离
+        final float offset = mPolicy.clamp(mPendingOffset + mLastMain - main, mRowSize);
+
+        mLastMain = main;
+        if (offset == mPendingOffset) {
+            return false;
+        }
+        mPendingOffset = offset;
+        return true;
+    }
+
+    /**
+     * 抬起或取消
+     * @param main  主轴坐标
+     * @param cross 交叉轴坐标
+     * @param time  事件时间（毫秒值）
+     * @return 拖动过时返回 {@link SwipeReleasePolicy} 的决策，否则返回 {@link #RELEASE_NONE}
+     */
+    public int onUp(float main, float cross, long time) {
+        final int state = mState;
+
+        mState = STATE_IDLE;
+        if (state != STATE_DRAG) {
+            return RELEASE_NONE;
+        }
+        addSample(main, time);
+        mSwiped = Math.abs(main - mDownMain) > mTouchSlop;
+        //手指向左（上）滑动时偏移量增大，所以偏移量速度与手指速度方向相反
+        mOffsetVelocity = - computeVelocity();
+        return mPolicy.decide((int) mPendingOffset, mOffsetVelocity, mRowSize, true);
+    }
+
+    /**
+     * 放弃当前手势（离屏等）
+     */
+    public void cancel() {
+        mState = STATE_IDLE;
+        mSampleCount = 0;
+    }
+
+    /**
+     * 记录速度采样点
+     */
+    private void addSample(float main, long time) {
+        if (mSampleCount > 0 && time - mSampleTimes[mSampleIndex] > ASSUME_STOPPED_TIME) {
+            //手指停下过，之前的移动不再影响速度
+            mSampleCount = 0;
+        }
+        mSampleIndex = (mSampleIndex + 1) % HISTORY_SIZE;
+        mSamplePositions[mSampleIndex] = main;
+        mSampleTimes[mSampleIndex] = time;
+        if (mSampleCount < HISTORY_SIZE) {
+            ++mSampleCount;
+        }
+    }
+
+    /**
+     * 按最近 {@value HORIZON} 毫秒内的采样点做最小二乘直线拟合，斜率即手指主轴方向的速度
+     * @return 像素点数量/秒，限制在最大速度之内
+     */
+    private float computeVelocity() {
+        final long lastTime = mSampleTimes[mSampleIndex];
+        int count = 0;
+        double sumT = 0;
+        double sumP = 0;
+        double sumTT = 0;
+        double sumTP = 0;
+
+        for (int i = 0, index = mSampleIndex; i < mSampleCount; ++i) {
+            final long age = lastTime - mSampleTimes[index];
+
+            if (age > HORIZON) {
+                break;
+            }
+            //以最后一个采样点为原点，避免大数相乘丢失精度
+            final double t = - age;
+            final double p = mSamplePositions[index] - mSamplePositions[mSampleIndex];
+
+            sumT += t;
+            sumP += p;
+            sumTT += t * t;
+            sumTP += t * p;
+            ++count;
+            index = index == 0 ? HISTORY_SIZE - 1 : index - 1;
+        }
+        if (count < 2) {
+            return 0;
+        }
+
+        final double denominator = count * sumTT - sumT * sumT;
+
+        if (denominator <= 0) {
+            //采样点时间都相同，无法估算
+            return 0;
+        }
+
+        final float velocity = (float) ((count * sumTP - sumT * sumP) / denominator * 1000);
+
+        return Math.max(- mMaxVelocity, Math.min(velocity, mMaxVelocity));
+    }
+
+    /**
+     * 设置开始侧滑的回调
+     */
+    public void setCallback(Callback callback) {
+        mCallback = callback;
+    }
+
+    /**
+     * 设置最小滑动距离（超过后才判断方向）
+     */
+    public void setTouchSlop(float touchSlop) {
+        mTouchSlop = touchSlop;
+    }
+
+    /**
+     * 设置最大速度（像素点数量/秒）
+     */
+    public void setMaxVelocity(float maxVelocity) {
+        mMaxVelocity = maxVelocity;
+    }
+
+    public int getState() {
+        return mState;
+    }
+
+    /**
+     * 拖动中的偏移量（保留小数）
+     */
+    public float getPendingOffset() {
+        return mPendingOffset;
+    }
+
+    /**
+     * 松手时偏移量的变化速度（像素点数量/秒，{@link #onUp(float, float, long)} 之后有效）
+     */
+    public float getOffsetVelocity() {
+        return mOffsetVelocity;
+    }
+
+    /**
+     * 松手时主轴方向移动距离是否超过了最小滑动距离（{@link #onUp(float, float, long)} 之后有效）
+     */
+    public boolean isSwiped() {
+        return mSwiped;
+    }
+
+    /**
+     * 开始侧滑的回调
+     */
+    public interface Callback {
+
+        /**
+         * 方向确定为侧滑（在计算第一次偏移量之前回调）
+         * @return 当前偏移量（拖动从这里开始）
+         */
+        int onDragStarted();
+    }
+
+}
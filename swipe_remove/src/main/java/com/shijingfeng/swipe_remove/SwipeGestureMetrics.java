@@ -0,0 +1,89 @@
+package com.shijingfeng.swipe_remove;
+
+/**
+ * function: 一次侧滑手势的性能数据（从按下到归位结束）
+ *           每个布局只有一个实例反复复用，只在 {@link SwipeRemoveLayout.OnSwipeMetricsListener} 回调期间有效，需要保留请复制字段
+ */
+public final class SwipeGestureMetrics {
+
+    /** 结果：关闭 */
+    public static final int RESULT_CLOSED = 0;
+    /** 结果：展开 */
+    public static final int RESULT_EXPANDED = 1;
+    /** 结果：整行滑出（归位阶段为整行滑出动画）*/
+    public static final int RESULT_FULL_SWIPE = 2;
+
+    /** 从按下到第一次偏移的耗时（纳秒），-1: 拖动过程中没有偏移（例如点击关闭已打开的菜单）*/
+    long mFirstOffsetLatencyNanos;
+    /** 拖动过程中的帧数 */
+    int mDragFrameCount;
+    /** 拖动过程中的掉帧数 */
+    int mDragDroppedFrameCount;
+    /** 归位过程中的帧数 */
+    int mSettleFrameCount;
+    /** 归位过程中的掉帧数 */
+    int mSettleDroppedFrameCount;
+    /** 归位耗时（纳秒）*/
+    long mSettleDurationNanos;
+    /** 屏幕刷新间隔（纳秒）*/
+    long mFrameIntervalNanos;
+    /** 结果 {@link #RESULT_CLOSED}、{@link #RESULT_EXPANDED} 或 {@link #RESULT_FULL_SWIPE} */
+    int mResult;
+    /** 归位是否被打断（被新的触摸、重新绑定或离屏取消）*/
+    boolean mSettleInterrupted;
+
+    SwipeGestureMetrics() {
+    }
+
+    /**
+     * 清空，开始记录新的手势
+     */
+    void reset(long frameIntervalNanos) {
+        mFirstOffsetLatencyNanos = -1;
+        mDragFrameCount = 0;
+        mDragDroppedFrameCount = 0;
+        mSettleFrameCount = 0;
+        mSettleDroppedFrameCount = 0;
+        mSettleDurationNanos = 0;
+        mFrameIntervalNanos = frameIntervalNanos;
+        mResult = RESULT_CLOSED;
+        mSettleInterrupted = false;
+    }
+
+    public long getFirstOffsetLatencyNanos() {
+        return mFirstOffsetLatencyNanos;
+    }
+
+    public int getDragFrameCount() {
+        return mDragFrameCount;
+    }
+
+    public int getDragDroppedFrameCount() {
+        return mDragDroppedFrameCount;
+    }
+
+    public int getSettleFrameCount() {
+        return mSettleFrameCount;
+    }
+
+    public int getSettleDroppedFrameCount() {
+        return mSettleDroppedFrameCount;
+    }
+
+    public long getSettleDurationNanos() {
+        return mSettleDurationNanos;
+    }
+
+    public long getFrameIntervalNanos() {
+        return mFrameIntervalNanos;
+    }
+
+    public int getResult() {
+        return mResult;
+    }
+
+    public boolean isSettleInterrupted() {
+        return mSettleInterrupted;
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.shijingfeng.swipe_remove;
+
+import android.view.MotionEvent;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * function: 触摸轨迹录制（用于复现真实用户的侧滑手势，默认不开启）
+ *           用法：layout.setGestureRecorder(recorder)，之后到达 dispatchTouchEvent() 的事件都会写入 {@link SwipeGestureTrace}
+ *           坐标是按下时布局坐标系下的位置（之后用屏幕坐标换算，不受布局自身平移的影响），批量事件的历史采样点展开为单独的 ACTION_MOVE
+ *           只录制单指手势（多指事件忽略），超过最大事件数量后不再开始新的手势
+ */
+public final class SwipeGestureRecorder {
+
+    /** 默认最大事件数量 */
+    private static final int DEFAULT_MAX_EVENTS = 10000;
+
+    private final SwipeGestureTrace mTrace = new SwipeGestureTrace();
+    /** 最大事件数量 */
+    private final int mMaxEvents;
+    /** 第一个事件的时间（毫秒值），轨迹中的时间相对于它 */
+    private long mStartTime;
+    /** 按下时屏幕坐标与布局坐标的横向差值 */
+    private float mOriginX;
+    /** 按下时屏幕坐标与布局坐标的纵向差值 */
+    private float mOriginY;
+    /** 是否正在录制一个手势（按下之后、抬起之前）*/
+    private boolean mRecording;
+
+    public SwipeGestureRecorder() {
+        this(DEFAULT_MAX_EVENTS);
+    }
+
+    /**
+     * @param maxEvents 最大事件数量（正在录制的手势会录制完整，可能略微超出）
+     */
+    public SwipeGestureRecorder(int maxEvents) {
+        if (maxEvents <= 0) {
+            throw new IllegalArgumentException("maxEvents must be positive.");
+        }
+        mMaxEvents = maxEvents;
+    }
+
+    /**
+     * 录制一个事件（由 {@link SwipeRemoveLayout#dispatchTouchEvent(MotionEvent)} 调用）
+     */
+    void record(MotionEvent ev) {
+        final int action = ev.getActionMasked();
+
+        if (action == MotionEvent.ACTION_DOWN) {
+            if (mTrace.size() >= mMaxEvents) {
+                mRecording = false;
+                return;
+            }
+            if (mTrace.size() == 0) {
+                mStartTime = ev.getEventTime();
+            }
+            mOriginX = ev.getRawX() - ev.getX();
+            mOriginY = ev.getRawY() - ev.getY();
+            mRecording = true;
+        } else if (!mRecording) {
+            return;
+        }
+
+        switch (action) {
+            case MotionEvent.ACTION_DOWN:
+                add(SwipeGestureTrace.ACTION_DOWN, ev.getEventTime(), ev.getRawX(), ev.getRawY());
+                break;
+            case MotionEvent.ACTION_MOVE:
+                //历史坐标是本View坐标系，先换算成屏幕坐标系
+                final float dx = ev.getRawX() - ev.getX();
+                final float dy = ev.getRawY() - ev.getY();
+
+                for (int i = 0, historySize = ev.getHistorySize(); i < historySize; ++i) {
+                    add(SwipeGestureTrace.ACTION_MOVE, ev.getHistoricalEventTime(i), ev.getHistoricalX(i) + dx, ev.getHistoricalY(i) + dy);
+                }
+                add(SwipeGestureTrace.ACTION_MOVE, ev.getEventTime(), ev.getRawX(), ev.getRawY());
+                break;
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                add(action == MotionEvent.ACTION_UP ? SwipeGestureTrace.ACTION_UP : SwipeGestureTrace.ACTION_CANCEL,
+                        ev.getEventTime(), ev.getRawX(), ev.getRawY());
+                mRecording = false;
+                break;
+            default:
+                //多指事件
+                break;
+        }
+    }
+
+    private void add(int action, long eventTime, float rawX, float rawY) {
+        mTrace.add(action, eventTime - mStartTime, rawX - mOriginX, rawY - mOriginY);
+    }
+
+    /**
+     * 已录制的轨迹（继续录制时会变化，需要保留请先 {@link #writeTo(OutputStream)}）
+     */
+    public SwipeGestureTrace getTrace() {
+        return mTrace;
+    }
+
+    /**
+     * 写入二进制（不关闭输出流）
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        mTrace.writeTo(out);
+    }
+
+    /**
+     * 清空已录制的轨迹
+     */
+    public void clear() {
+        mTrace.clear();
+        mRecording = false;
+    }
+
+}
@@ -0,0 +1,230 @@
+package com.shijingfeng.swipe_remove;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * function: 触摸轨迹（不依赖Android，由 {@link SwipeGestureRecorder} 录制，可以保存为二进制文件，在测试中重放）
+ *           坐标按 1/{@value COORDINATE_SCALE} 像素定点保存，添加时就已量化，内存中的轨迹与读回的轨迹完全相同
+ *           二进制格式：魔数 "SWTR" + 版本号 + 事件数量，之后每个事件依次为
+ *           varint(时间增量 zigzag << 2 | 动作) + varint(x 增量 zigzag) + varint(y 增量 zigzag)，通常每个事件 3 ~ 5 个字节
+ */
+public final class SwipeGestureTrace {
+
+    /** 动作：按下（与 MotionEvent.ACTION_DOWN 相同）*/
+    public static final int ACTION_DOWN = 0;
+    /** 动作：抬起（与 MotionEvent.ACTION_UP 相同）*/
+    public static final int ACTION_UP = 1;
+    /** 动作：移动（与 MotionEvent.ACTION_MOVE 相同）*/
+    public static final int ACTION_MOVE = 2;
+    /** 动作：取消（与 MotionEvent.ACTION_CANCEL 相同）*/
+    public static final int ACTION_CANCEL = 3;
+
+    /** 坐标定点精度（每像素的份数）*/
+    private static final int COORDINATE_SCALE = 16;
+    /** 文件头魔数 */
+    private static final byte[] MAGIC = {'S', 'W', 'T', 'R'};
+    /** 格式版本号 */
+    private static final int VERSION = 1;
+    /** 初始容量 */
+    private static final int INITIAL_CAPACITY = 64;
+
+    /** 事件数量 */
+    private int mSize;
+    /** 动作 */
+    private byte[] mActions = new byte[INITIAL_CAPACITY];
+    /** 时间（毫秒值，相对于轨迹开始）*/
+    private long[] mTimes = new long[INITIAL_CAPACITY];
+    /** x 坐标（定点）*/
+    private int[] mXs = new int[INITIAL_CAPACITY];
+    /** y 坐标（定点）*/
+    private int[] mYs = new int[INITIAL_CAPACITY];
+
+    /**
+     * 添加一个事件
+     * @param action {@link #ACTION_DOWN}、{@link #ACTION_MOVE}、{@link #ACTION_UP} 或 {@link #ACTION_CANCEL}
+     * @param time   时间（毫秒值，相对于轨迹开始）
+     * @param x      x 坐标（像素）
+     * @param y      y 坐标（像素）
+     */
+    public void add(int action, long time, float x, float y) {
+        if (action < ACTION_DOWN || action > ACTION_CANCEL) {
+            throw new IllegalArgumentException("Unsupported action: " + action);
+        }
+        addFixed(action, time, Math.round(x * COORDINATE_SCALE), Math.round(y * COORDINATE_SCALE));
+    }
+
+    private void addFixed(int action, long time, int x, int y) {
+        if (mSize == mActions.length) {
+            final int capacity = mSize * 2;
+
+            mActions = Arrays.copyOf(mActions, capacity);
+            mTimes = Arrays.copyOf(mTimes, capacity);
+            mXs = Arrays.copyOf(mXs, capacity);
+            mYs = Arrays.copyOf(mYs, capacity);
+        }
+        mActions[mSize] = (byte) action;
+        mTimes[mSize] = time;
+        mXs[mSize] = x;
+        mYs[mSize] = y;
+        ++mSize;
+    }
+
+    /**
+     * 清空
+     */
+    public void clear() {
+        mSize = 0;
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public int getAction(int index) {
+        return mActions[checkIndex(index)];
+    }
+
+    /**
+     * 时间（毫秒值，相对于轨迹开始）
+     */
+    public long getTime(int index) {
+        return mTimes[checkIndex(index)];
+    }
+
+    public float getX(int index) {
+        return (float) mXs[checkIndex(index)] / COORDINATE_SCALE;
+    }
+
+    public float getY(int index) {
+        return (float) mYs[checkIndex(index)] / COORDINATE_SCALE;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + mSize);
+        }
+        return index;
+    }
+
+    /**
+     * 编码为二进制
+     */
+    public byte[] toByteArray() {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream(8 + mSize * 4);
+
+        try {
+            writeTo(out);
+        } catch (IOException e) {
+            //ByteArrayOutputStream 不会抛出 IOException
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 写入二进制（不关闭输出流）
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(MAGIC);
+        out.write(VERSION);
+        writeVarint(out, mSize);
+
+        long lastTime = 0;
+        int lastX = 0;
+        int lastY = 0;
+
+        for (int i = 0; i < mSize; ++i) {
+            //动作只有两位，与时间增量合并为一个 varint，8毫秒左右的间隔只占一个字节
+            writeVarint(out, zigzag(mTimes[i] - lastTime) << 2 | mActions[i]);
+            writeVarint(out, zigzag(mXs[i] - lastX));
+            writeVarint(out, zigzag(mYs[i] - lastY));
+            lastTime = mTimes[i];
+            lastX = mXs[i];
+            lastY = mYs[i];
+        }
+    }
+
+    /**
+     * 读取 {@link #writeTo(OutputStream)} 写入的二进制（不关闭输入流）
+     * @throws IOException 不是轨迹文件、版本不支持或数据不完整
+     */
+    public static SwipeGestureTrace readFrom(InputStream in) throws IOException {
+        for (byte magic : MAGIC) {
+            if ((byte) readByte(in) != magic) {
+                throw new IOException("Not a swipe gesture trace.");
+            }
+        }
+
+        final int version = readByte(in);
+
+        if (version != VERSION) {
+            throw new IOException("Unsupported trace version: " + version);
+        }
+
+        final long size = readVarint(in);
+
+        if (size < 0 || size > Integer.MAX_VALUE) {
+            throw new IOException("Corrupted trace size: " + size);
+        }
+
+        final SwipeGestureTrace trace = new SwipeGestureTrace();
+        long time = 0;
+        int x = 0;
+        int y = 0;
+
+        for (long i = 0; i < size; ++i) {
+            final long head = readVarint(in);
+
+            time += unzigzag(head >>> 2);
+            x += (int) unzigzag(readVarint(in));
+            y += (int) unzigzag(readVarint(in));
+            trace.addFixed((int) (head & 0x3), time, x, y);
+        }
+        return trace;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ - (value & 1);
+    }
+
+    private static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(InputStream in) throws IOException {
+        long value = 0;
+
+        for (int shift = 0; shift < 64; shift += 7) {
+            final int b = readByte(in);
+
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint.");
+    }
+
+    private static int readByte(InputStream in) throws IOException {
+        final int b = in.read();
+
+        if (b < 0) {
+            throw new EOFException("Unexpected end of trace.");
+        }
+        return b;
+    }
+
+}
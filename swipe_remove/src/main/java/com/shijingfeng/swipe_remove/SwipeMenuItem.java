@@ -0,0 +1,70 @@
+package com.shijingfeng.swipe_remove;
+
+import android.graphics.Color;
+
+/**
+ * function: 绘制型侧滑菜单项（{@link SwipeRemoveItemHelper} 直接画在Canvas上，不创建View）
+ */
+public final class SwipeMenuItem {
+
+    /** 菜单项ID（点击回调中用于区分）*/
+    private final int mId;
+    /** 宽度（像素）*/
+    private final int mWidth;
+    /** 背景颜色 */
+    private final int mBackgroundColor;
+    /** 文字 */
+    private final CharSequence mText;
+    /** 文字颜色 默认白色 */
+    private int mTextColor = Color.WHITE;
+    /** 文字大小（像素）0: 使用默认大小 */
+    private float mTextSize;
+
+    /**
+     * @param id              菜单项ID
+     * @param width           宽度（像素）
+     * @param backgroundColor 背景颜色
+     * @param text            文字
+     */
+    public SwipeMenuItem(int id, int width, int backgroundColor, CharSequence text) {
+        mId = id;
+        mWidth = width;
+        mBackgroundColor = backgroundColor;
+        mText = text;
+    }
+
+    public int getId() {
+        return mId;
+    }
+
+    public int getWidth() {
+        return mWidth;
+    }
+
+    public int getBackgroundColor() {
+        return mBackgroundColor;
+    }
+
+    public CharSequence getText() {
+        return mText;
+    }
+
+    public int getTextColor() {
+        return mTextColor;
+    }
+
+    public SwipeMenuItem setTextColor(int textColor) {
+        mTextColor = textColor;
+        return this;
+    }
+
+    public float getTextSize() {
+        return mTextSize;
+    }
+
+    public SwipeMenuItem setTextSize(float textSize) {
+        mTextSize = textSize;
+        return this;
+    }
+
+}
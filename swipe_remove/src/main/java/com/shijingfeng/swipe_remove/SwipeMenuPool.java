@@ -0,0 +1,157 @@
+package com.shijingfeng.swipe_remove;
+
+import android.util.SparseArray;
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import java.util.ArrayList;
+
+/**
+ * function: 侧滑菜单View复用池（按菜单布局资源ID分类，多行共享同一批菜单View）
+ *           配合 app:menuLayout 使用，菜单关闭后归还，下一次侧滑时取出复用，不再重复inflate
+ *           通过 {@link SwipeRemoveCoordinator#setMenuPool(SwipeMenuPool)} 交给列表持有，列表内所有行自动共享
+ */
+public final class SwipeMenuPool {
+
+    /** 默认每种菜单最多缓存的空闲View数量（同一时间通常只有一个菜单打开）*/
+    public static final int DEFAULT_MAX_SCRAP = 2;
+
+    /** 菜单布局资源ID -> 空闲的菜单View */
+    private final SparseArray<ArrayList<View>> mScrapViews = new SparseArray<>();
+    /** 每种菜单最多缓存的空闲View数量 */
+    private int mMaxScrap;
+    /** 取出时命中的次数 */
+    private int mHitCount;
+    /** 取出时没有空闲View（需要inflate）的次数 */
+    private int mMissCount;
+    /** 归还时超出数量上限被丢弃的次数 */
+    private int mDropCount;
+
+    public SwipeMenuPool() {
+        this(DEFAULT_MAX_SCRAP);
+    }
+
+    /**
+     * @param maxScrap 每种菜单最多缓存的空闲View数量
+     */
+    public SwipeMenuPool(int maxScrap) {
+        setMaxScrap(maxScrap);
+    }
+
+    /**
+     * 取出一个空闲的菜单View
+     * @param menuLayoutRes 菜单布局资源ID
+     * @return 没有空闲的菜单View时返回null
+     */
+    View acquire(int menuLayoutRes) {
+        final ArrayList<View> scrapViews = mScrapViews.get(menuLayoutRes);
+
+        if (scrapViews == null || scrapViews.isEmpty()) {
+            ++mMissCount;
+            return null;
+        }
+        ++mHitCount;
+        return scrapViews.remove(scrapViews.size() - 1);
+    }
+
+    /**
+     * 归还菜单View
+     * @param menuLayoutRes 菜单布局资源ID
+     * @param menuView      菜单View
+     */
+    void release(int menuLayoutRes, View menuView) {
+        final ViewParent parent = menuView.getParent();
+
+        if (parent instanceof ViewGroup) {
+            ((ViewGroup) parent).removeView(menuView);
+        }
+        //复用前清除上一行留下的偏移
+        menuView.setTranslationX(0);
+        menuView.setTranslationY(0);
+
+        ArrayList<View> scrapViews = mScrapViews.get(menuLayoutRes);
+
+        if (scrapViews == null) {
+            scrapViews = new ArrayList<>(mMaxScrap);
+            mScrapViews.put(menuLayoutRes, scrapViews);
+        }
+        if (scrapViews.size() >= mMaxScrap) {
+            ++mDropCount;
+            return;
+        }
+        scrapViews.add(menuView);
+    }
+
+    /**
+     * 设置每种菜单最多缓存的空闲View数量（超出的部分立即丢弃）
+     * @param maxScrap 数量 必须大于等于0
+     */
+    public void setMaxScrap(int maxScrap) {
+        if (maxScrap < 0) {
+            throw new IllegalArgumentException("maxScrap must not be negative.");
+        }
+        mMaxScrap = maxScrap;
+
+        for (int i = 0, size = mScrapViews.size(); i < size; ++i) {
+            final ArrayList<View> scrapViews = mScrapViews.valueAt(i);
+
+            while (scrapViews.size() > maxScrap) {
+                scrapViews.remove(scrapViews.size() - 1);
+                ++mDropCount;
+            }
+        }
+    }
+
+    public int getMaxScrap() {
+        return mMaxScrap;
+    }
+
+    /**
+     * 指定菜单当前空闲的View数量
+     * @param menuLayoutRes 菜单布局资源ID
+     */
+    public int getScrapCount(int menuLayoutRes) {
+        final ArrayList<View> scrapViews = mScrapViews.get(menuLayoutRes);
+
+        return scrapViews == null ? 0 : scrapViews.size();
+    }
+
+    /**
+     * 取出时命中的次数
+     */
+    public int getHitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * 取出时没有空闲View（需要inflate）的次数
+     */
+    public int getMissCount() {
+        return mMissCount;
+    }
+
+    /**
+     * 归还时超出数量上限被丢弃的次数
+     */
+    public int getDropCount() {
+        return mDropCount;
+    }
+
+    /**
+     * 统计清零
+     */
+    public void resetCounters() {
+        mHitCount = 0;
+        mMissCount = 0;
+        mDropCount = 0;
+    }
+
+    /**
+     * 清空复用池
+     */
+    public void clear() {
+        mScrapViews.clear();
+    }
+
+}
@@ -0,0 +1,169 @@
+package com.shijingfeng.swipe_remove;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * function: 无锁直方图（固定桶边界，记录时只做二分查找和原子加，不加锁、不产生对象）
+ *           UI线程记录，任意线程读取或导出
+ */
+public final class SwipeMetricsHistogram {
+
+    /** 桶上边界（包含，升序），最后一个桶收集大于最大边界的值 */
+    private final long[] mUpperBounds;
+    /** 每个桶的数量（比边界多一个溢出桶）*/
+    private final AtomicLongArray mCounts;
+    private final AtomicLong mTotalCount = new AtomicLong();
+    private final AtomicLong mSum = new AtomicLong();
+    private final AtomicLong mMax = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     * @param upperBounds 桶上边界（包含，必须严格升序）
+     */
+    public SwipeMetricsHistogram(long... upperBounds) {
+        if (upperBounds.length == 0) {
+            throw new IllegalArgumentException("At least one bucket bound is required.");
+        }
+        for (int i = 1; i < upperBounds.length; ++i) {
+            if (upperBounds[i] <= upperBounds[i - 1]) {
+                throw new IllegalArgumentException("Bucket bounds must be strictly ascending.");
+            }
+        }
+        mUpperBounds = upperBounds.clone();
+        mCounts = new AtomicLongArray(upperBounds.length + 1);
+    }
+
+    /**
+     * 记录一个值
+     */
+    public void record(long value) {
+        mCounts.incrementAndGet(bucketOf(value));
+        mTotalCount.incrementAndGet();
+        mSum.addAndGet(value);
+
+        long max = mMax.get();
+
+        while (value > max && !mMax.compareAndSet(max, value)) {
+            max = mMax.get();
+        }
+    }
+
+    /**
+     * 值所在的桶（第一个上边界 >= value 的桶）
+     */
+    private int bucketOf(long value) {
+        int low = 0;
+        int high = mUpperBounds.length - 1;
+
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+
+            if (mUpperBounds[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * 桶数量（包括溢出桶）
+     */
+    public int getBucketCount() {
+        return mCounts.length();
+    }
+
+    /**
+     * 桶上边界
+     * @return 溢出桶返回 Long.MAX_VALUE
+     */
+    public long getUpperBound(int bucket) {
+        return bucket < mUpperBounds.length ? mUpperBounds[bucket] : Long.MAX_VALUE;
+    }
+
+    public long getCount(int bucket) {
+        return mCounts.get(bucket);
+    }
+
+    public long getTotalCount() {
+        return mTotalCount.get();
+    }
+
+    public long getSum() {
+        return mSum.get();
+    }
+
+    /**
+     * 最大值
+     * @return 没有记录时返回0
+     */
+    public long getMax() {
+        final long max = mMax.get();
+
+        return max == Long.MIN_VALUE ? 0 : max;
+    }
+
+    /**
+     * 把各桶数量复制到 out 中（不产生对象，可在UI线程导出）
+     * @param out 长度至少为 {@link #getBucketCount()}
+     */
+    public void copyCounts(long[] out) {
+        for (int i = 0, count = mCounts.length(); i < count; ++i) {
+            out[i] = mCounts.get(i);
+        }
+    }
+
+    /**
+     * 估算百分位（返回所在桶的上边界）
+     * @param fraction 0 ~ 1
+     * @return 没有记录时返回0，落在溢出桶时返回最大值
+     */
+    public long getPercentile(double fraction) {
+        final long total = mTotalCount.get();
+
+        if (total == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(fraction * total));
+        long accumulated = 0;
+
+        for (int i = 0; i < mUpperBounds.length; ++i) {
+            accumulated += mCounts.get(i);
+            if (accumulated >= rank) {
+                return mUpperBounds[i];
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * 清零（与记录并发时，清零前后的记录可能部分保留）
+     */
+    public void reset() {
+        for (int i = 0, count = mCounts.length(); i < count; ++i) {
+            mCounts.set(i, 0);
+        }
+        mTotalCount.set(0);
+        mSum.set(0);
+        mMax.set(Long.MIN_VALUE);
+    }
+
+    /**
+     * 以文本形式追加到 builder（用于日志或上报，建议在后台线程调用）
+     * 格式：count=.. sum=.. max=.. [<=b0:c0 <=b1:c1 ... >bn:cn]
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        builder.append("count=").append(getTotalCount())
+                .append(" sum=").append(getSum())
+                .append(" max=").append(getMax())
+                .append(" [");
+        for (int i = 0; i < mUpperBounds.length; ++i) {
+            builder.append("<=").append(mUpperBounds[i]).append(':').append(mCounts.get(i)).append(' ');
+        }
+        builder.append('>').append(mUpperBounds[mUpperBounds.length - 1]).append(':').append(mCounts.get(mUpperBounds.length)).append(']');
+        return builder;
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.shijingfeng.swipe_remove;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * function: 侧滑性能汇总（把每次手势的数据累加到无锁直方图中，可以多个布局共享同一个实例）
+ *           用法：layout.setOnSwipeMetricsListener(recorder)，需要时在任意线程调用 {@link #dump(StringBuilder)} 导出
+ */
+public final class SwipeMetricsRecorder implements SwipeRemoveLayout.OnSwipeMetricsListener {
+
+    /** 按下到第一次偏移（微秒）*/
+    private final SwipeMetricsHistogram mFirstOffsetLatency = new SwipeMetricsHistogram(
+            1_000, 2_000, 4_000, 8_000, 16_000, 32_000, 64_000, 128_000);
+    /** 每次手势的掉帧数（拖动 + 归位）*/
+    private final SwipeMetricsHistogram mDroppedFrames = new SwipeMetricsHistogram(
+            0, 1, 2, 3, 5, 8, 13, 21);
+    /** 每次手势的帧数（拖动 + 归位）*/
+    private final SwipeMetricsHistogram mFrames = new SwipeMetricsHistogram(
+            5, 10, 20, 30, 45, 60, 90, 120, 180);
+    /** 归位耗时（毫秒）*/
+    private final SwipeMetricsHistogram mSettleDuration = new SwipeMetricsHistogram(
+            50, 100, 150, 200, 250, 300, 400, 500, 750, 1_000);
+    /** 展开次数 */
+    private final AtomicLong mExpandedCount = new AtomicLong();
+    /** 关闭次数 */
+    private final AtomicLong mClosedCount = new AtomicLong();
+    /** 整行滑出次数 */
+    private final AtomicLong mFullSwipeCount = new AtomicLong();
+    /** 归位被打断的次数 */
+    private final AtomicLong mInterruptedCount = new AtomicLong();
+
+    @Override
+    public void onGestureMetrics(SwipeRemoveLayout layout, SwipeGestureMetrics metrics) {
+        if (metrics.getFirstOffsetLatencyNanos() >= 0) {
+            mFirstOffsetLatency.record(metrics.getFirstOffsetLatencyNanos() / 1_000);
+        }
+        mDroppedFrames.record(metrics.getDragDroppedFrameCount() + metrics.getSettleDroppedFrameCount());
+        mFrames.record(metrics.getDragFrameCount() + metrics.getSettleFrameCount());
+        mSettleDuration.record(metrics.getSettleDurationNanos() / 1_000_000);
+        switch (metrics.getResult()) {
+            case SwipeGestureMetrics.RESULT_EXPANDED:
+                mExpandedCount.incrementAndGet();
+                break;
+            case SwipeGestureMetrics.RESULT_FULL_SWIPE:
+                mFullSwipeCount.incrementAndGet();
+                break;
+            default:
+                mClosedCount.incrementAndGet();
+                break;
+        }
+        if (metrics.isSettleInterrupted()) {
+            mInterruptedCount.incrementAndGet();
+        }
+    }
+
+    public SwipeMetricsHistogram getFirstOffsetLatencyMicros() {
+        return mFirstOffsetLatency;
+    }
+
+    public SwipeMetricsHistogram getDroppedFrames() {
+        return mDroppedFrames;
+    }
+
+    public SwipeMetricsHistogram getFrames() {
+        return mFrames;
+    }
+
+    public SwipeMetricsHistogram getSettleDurationMillis() {
+        return mSettleDuration;
+    }
+
+    public long getExpandedCount() {
+        return mExpandedCount.get();
+    }
+
+    public long getClosedCount() {
+        return mClosedCount.get();
+    }
+
+    public long getFullSwipeCount() {
+        return mFullSwipeCount.get();
+    }
+
+    public long getInterruptedCount() {
+        return mInterruptedCount.get();
+    }
+
+    /**
+     * 清零
+     */
+    public void reset() {
+        mFirstOffsetLatency.reset();
+        mDroppedFrames.reset();
+        mFrames.reset();
+        mSettleDuration.reset();
+        mExpandedCount.set(0);
+        mClosedCount.set(0);
+        mFullSwipeCount.set(0);
+        mInterruptedCount.set(0);
+    }
+
+    /**
+     * 以文本形式导出（建议在后台线程调用）
+     */
+    public StringBuilder dump(StringBuilder builder) {
+        builder.append("expanded=").append(getExpandedCount())
+                .append(" closed=").append(getClosedCount())
+                .append(" fullSwipe=").append(getFullSwipeCount())
+                .append(" interrupted=").append(getInterruptedCount()).append('\n');
+        mFirstOffsetLatency.appendTo(builder.append("firstOffsetLatencyUs: ")).append('\n');
+        mFrames.appendTo(builder.append("frames: ")).append('\n');
+        mDroppedFrames.appendTo(builder.append("droppedFrames: ")).append('\n');
+        mSettleDuration.appendTo(builder.append("settleDurationMs: ")).append('\n');
+        return builder;
+    }
+
+}
@@ -0,0 +1,201 @@
+package com.shijingfeng.swipe_remove;
+
+import android.view.Choreographer;
+import android.view.Display;
+
+/**
+ * function: 侧滑手势性能采集（只在设置了监听时创建，未设置时布局中没有任何额外开销）
+ *           按下后注册 Choreographer 帧回调，逐帧统计拖动和归位阶段的帧数、掉帧数，归位结束后回调一次
+ */
+final class SwipeMetricsTracker implements Choreographer.FrameCallback {
+
+    /** 60Hz 屏幕的刷新间隔（纳秒），获取不到屏幕时使用 */
+    private static final long DEFAULT_FRAME_INTERVAL_NANOS = 16_666_667L;
+
+    /** 空闲 */
+    private static final int PHASE_IDLE = 0;
+    /** 拖动中（手指按下）*/
+    private static final int PHASE_DRAG = 1;
+    /** 归位中（手指抬起）*/
+    private static final int PHASE_SETTLE = 2;
+
+    private final SwipeRemoveLayout mLayout;
+    /** 复用的手势数据 */
+    private final SwipeGestureMetrics mMetrics = new SwipeGestureMetrics();
+    private SwipeRemoveLayout.OnSwipeMetricsListener mListener;
+    /** 当前阶段 */
+    private int mPhase = PHASE_IDLE;
+    /** 按下时的偏移量 */
+    private int mDownOffset;
+    /** 按下时间（纳秒，与 System.nanoTime() 同一时钟）*/
+    private long mDownNanos;
+    /** 归位开始时间（纳秒）*/
+    private long mSettleStartNanos;
+    /** 上一帧的时间（纳秒），0: 还没有帧 */
+    private long mLastFrameNanos;
+    /** 帧回调是否已注册 */
+    private boolean mFrameCallbackPosted;
+
+    SwipeMetricsTracker(SwipeRemoveLayout layout) {
+        mLayout = layout;
+    }
+
+    void setListener(SwipeRemoveLayout.OnSwipeMetricsListener listener) {
+        mListener = listener;
+    }
+
+    /**
+     * 手指按下
+     * @param eventTimeMillis 按下事件的时间（SystemClock.uptimeMillis() 时钟）
+     * @param offset          按下时的偏移量
+     */
+    void onTouchDown(long eventTimeMillis, int offset) {
+        if (mPhase == PHASE_SETTLE) {
+            //上一次归位被新的触摸打断
+            mMetrics.mSettleInterrupted = true;
+            finish(System.nanoTime());
+        }
+        mMetrics.reset(getFrameIntervalNanos());
+        mPhase = PHASE_DRAG;
+        mDownOffset = offset;
+        mDownNanos = eventTimeMillis * 1_000_000L;
+        mLastFrameNanos = 0;
+        postFrameCallback();
+    }
+
+    /**
+     * 拖动过程中偏移量发生了变化
+     */
+    void onDragOffsetChanged() {
+        if (mPhase == PHASE_DRAG && mMetrics.mFirstOffsetLatencyNanos < 0) {
+            mMetrics.mFirstOffsetLatencyNanos = Math.max(0, System.nanoTime() - mDownNanos);
+        }
+    }
+
+    /**
+     * 开始归位（同一次手势中可能调用多次，以最后一次为准）
+     * @param result {@link SwipeGestureMetrics#RESULT_CLOSED}、{@link SwipeGestureMetrics#RESULT_EXPANDED}
+     *               或 {@link SwipeGestureMetrics#RESULT_FULL_SWIPE}
+     */
+    void onSettleStart(int result) {
+        if (mPhase == PHASE_IDLE) {
+            //不是由手势触发的归位（例如外部调用 close()）
+            return;
+        }
+        if (mPhase == PHASE_DRAG) {
+            mPhase = PHASE_SETTLE;
+            mSettleStartNanos = System.nanoTime();
+        }
+        mMetrics.mResult = result;
+    }
+
+    /**
+     * 归位结束
+     */
+    void onSettleEnd() {
+        if (mPhase == PHASE_SETTLE) {
+            finish(System.nanoTime());
+        }
+    }
+
+    /**
+     * 归位动画被取消（重新绑定状态或离屏），本次手势按被打断处理
+     */
+    void onSettleCanceled() {
+        if (mPhase == PHASE_SETTLE) {
+            mMetrics.mSettleInterrupted = true;
+            finish(System.nanoTime());
+        }
+    }
+
+    /**
+     * 丢弃正在记录的手势（离屏或移除监听）
+     */
+    void cancel() {
+        mPhase = PHASE_IDLE;
+        removeFrameCallback();
+    }
+
+    /**
+     * 是否空闲（没有正在记录的手势，也没有注册帧回调）
+     */
+    boolean isIdle() {
+        return mPhase == PHASE_IDLE && !mFrameCallbackPosted;
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        mFrameCallbackPosted = false;
+        if (mPhase == PHASE_IDLE) {
+            return;
+        }
+
+        int dropped = 0;
+
+        if (mLastFrameNanos != 0) {
+            //两帧之间超过一个刷新间隔的部分按四舍五入计为掉帧
+            final long interval = mMetrics.mFrameIntervalNanos;
+            final long missed = (frameTimeNanos - mLastFrameNanos + interval / 2) / interval - 1;
+
+            if (missed > 0) {
+                dropped = (int) missed;
+            }
+        }
+        mLastFrameNanos = frameTimeNanos;
+
+        if (mPhase == PHASE_DRAG) {
+            ++mMetrics.mDragFrameCount;
+            mMetrics.mDragDroppedFrameCount += dropped;
+        } else {
+            ++mMetrics.mSettleFrameCount;
+            mMetrics.mSettleDroppedFrameCount += dropped;
+        }
+        postFrameCallback();
+    }
+
+    /**
+     * 结束本次手势并回调（没有移动过的关闭手势不回调，例如列表上下滚动时经过的行）
+     */
+    private void finish(long nowNanos) {
+        mPhase = PHASE_IDLE;
+        removeFrameCallback();
+        mMetrics.mSettleDurationNanos = nowNanos - mSettleStartNanos;
+
+        final boolean moved = mMetrics.mFirstOffsetLatencyNanos >= 0 || mDownOffset != 0;
+
+        if (mListener != null && moved) {
+            mListener.onGestureMetrics(mLayout, mMetrics);
+        }
+    }
+
+    /**
+     * 当前屏幕的刷新间隔（纳秒），支持 90Hz、120Hz 等高刷新率屏幕
+     */
+    private long getFrameIntervalNanos() {
+        final Display display = mLayout.getDisplay();
+
+        if (display != null) {
+            final float refreshRate = display.getRefreshRate();
+
+            if (refreshRate >= 1F) {
+                return (long) (1_000_000_000L / refreshRate);
+            }
+        }
+        return DEFAULT_FRAME_INTERVAL_NANOS;
+    }
+
+    private void postFrameCallback() {
+        if (!mFrameCallbackPosted) {
+            mFrameCallbackPosted = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    private void removeFrameCallback() {
+        if (mFrameCallbackPosted) {
+            mFrameCallbackPosted = false;
+            Choreographer.getInstance().removeFrameCallback(this);
+        }
+    }
+
+}
@@ -0,0 +1,237 @@
+package com.shijingfeng.swipe_remove;
+
+/**
+ * function: 侧滑决策（不依赖Android，只处理偏移量和速度）
+ *           拖动时的越界修正，以及松手时展开、关闭还是整行滑出的判断
+ *           {@link SwipeRemoveLayout} 使用它做决策，其他UI框架（例如自绘列表）也可以直接复用同一套规则
+ *           偏移量约定：正值表示拖出末端菜单，负值表示拖出起始端菜单
+ */
+public final class SwipeReleasePolicy {
+
+    /** 没有拖出菜单 */
+    public static final int SIDE_NONE = 0;
+    /** 起始端菜单（偏移量为负值）*/
+    public static final int SIDE_START = 1;
+    /** 末端菜单（偏移量为正值）*/
+    public static final int SIDE_END = 2;
+
+    /** 松手决策：关闭 */
+    public static final int DECISION_CLOSE = 0;
+    /** 松手决策：展开偏移量所在一端的菜单 */
+    public static final int DECISION_EXPAND = 1;
+    /** 松手决策：整行滑出 */
+    public static final int DECISION_FULL_SWIPE = 2;
+
+    /** 默认展开阈值（占菜单尺寸的比例，超过则展开）*/
+    public static final float DEFAULT_MENU_THRESHOLD = 0.4F;
+    /** 默认快速滑动速度（像素点数量/秒），超过时只看方向，不看展开阈值 */
+    public static final float DEFAULT_FLING_VELOCITY = 1000F;
+    /** 默认整行滑动阈值（占行主轴尺寸的比例）*/
+    public static final float DEFAULT_FULL_SWIPE_THRESHOLD = 0.5F;
+    /** 默认整行滑动速度阈值（像素点数量/秒）*/
+    public static final int DEFAULT_FULL_SWIPE_VELOCITY = 3000;
+
+    /** 起始端菜单尺寸 */
+    private int mStartMenuSize;
+    /** 末端菜单尺寸 */
+    private int mEndMenuSize;
+    /** 起始端菜单展开阈值（占菜单尺寸的比例）*/
+    private float mStartMenuThreshold = DEFAULT_MENU_THRESHOLD;
+    /** 末端菜单展开阈值（占菜单尺寸的比例）*/
+    private float mEndMenuThreshold = DEFAULT_MENU_THRESHOLD;
+    /** 快速滑动速度（像素点数量/秒）*/
+    private float mFlingVelocity = DEFAULT_FLING_VELOCITY;
+    /** 是否开启整行滑动 */
+    private boolean mFullSwipeEnable;
+    /** 整行滑动阈值（占行主轴尺寸的比例）*/
+    private float mFullSwipeThreshold = DEFAULT_FULL_SWIPE_THRESHOLD;
+    /** 整行滑动速度阈值（像素点数量/秒）*/
+    private int mFullSwipeVelocity = DEFAULT_FULL_SWIPE_VELOCITY;
+
+    /**
+     * 偏移量拖出的是哪一端的菜单
+     * @return {@link #SIDE_START}、{@link #SIDE_END} 或 {@link #SIDE_NONE}
+     */
+    public static int sideOf(float offset) {
+        if (offset > 0) {
+            return SIDE_END;
+        }
+        return offset < 0 ? SIDE_START : SIDE_NONE;
+    }
+
+    /**
+     * 指定菜单完全展开时的偏移量（起始端为负值，末端为正值）
+     */
+    public int getExpandedOffset(int side) {
+        if (side == SIDE_START) {
+            return - mStartMenuSize;
+        }
+        return side == SIDE_END ? mEndMenuSize : 0;
+    }
+
+    /**
+     * 越界修正（没有菜单的一端不能拖动，开启整行滑动时可以越过菜单，一直拖动到行的主轴尺寸）
+     * @param offset  偏移量
+     * @param rowSize 行的主轴尺寸
+     * @return 修正后的偏移量
+     */
+    public float clamp(float offset, int rowSize) {
+        return Math.max(- getMaxOffset(mStartMenuSize, rowSize), Math.min(offset, getMaxOffset(mEndMenuSize, rowSize)));
+    }
+
+    /**
+     * 向一端拖动的最大距离
+     */
+    private int getMaxOffset(int menuSize, int rowSize) {
+        if (menuSize == 0) {
+            return 0;
+        }
+        return mFullSwipeEnable ? Math.max(menuSize, rowSize) : menuSize;
+    }
+
+    /**
+     * 松手时的决策
+     * @param offset         松手时的偏移量
+     * @param offsetVelocity 偏移量的变化速度（像素点数量/秒，与偏移量同号表示向展开方向）
+     * @param rowSize        行的主轴尺寸
+     * @param moved          本次手势是否拖动过（没有拖动过的手势一律关闭）
+     * @return {@link #DECISION_CLOSE}、{@link #DECISION_EXPAND} 或 {@link #DECISION_FULL_SWIPE}，
+     *         展开和整行滑出的一端由 {@link #sideOf(float)} 决定
+     */
+    public int decide(int offset, float offsetVelocity, int rowSize, boolean moved) {
+        final int side = sideOf(offset);
+
+        if (side == SIDE_NONE || !moved) {
+            return DECISION_CLOSE;
+        }
+
+        //向展开方向的速度（末端菜单偏移量增大，起始端菜单偏移量减小）
+        final float openingVelocity = side == SIDE_END ? offsetVelocity : - offsetVelocity;
+        final int distance = Math.abs(offset);
+
+        if (shouldFullSwipe(side, distance, openingVelocity, rowSize)) {
+            return DECISION_FULL_SWIPE;
+        }
+        if (Math.abs(offsetVelocity) > mFlingVelocity) {
+            //快速滑动：朝展开方向则展开，反方向则关闭
+            return openingVelocity > 0 ? DECISION_EXPAND : DECISION_CLOSE;
+        }
+        //慢速滑动：超过该端的展开阈值则展开
+        return distance > getLimitSize(side) ? DECISION_EXPAND : DECISION_CLOSE;
+    }
+
+    /**
+     * 是否整行滑出：拖动超过行主轴尺寸的阈值比例，或者越过菜单后向展开方向快速滑动
+     */
+    private boolean shouldFullSwipe(int side, int distance, float openingVelocity, int rowSize) {
+        if (!mFullSwipeEnable || rowSize == 0) {
+            return false;
+        }
+        if (distance > rowSize * mFullSwipeThreshold) {
+            return true;
+        }
+        return distance > Math.abs(getExpandedOffset(side)) && openingVelocity > mFullSwipeVelocity;
+    }
+
+    /**
+     * 该端菜单的展开距离阈值
+     */
+    private int getLimitSize(int side) {
+        return side == SIDE_END ? (int) (mEndMenuSize * mEndMenuThreshold) : (int) (mStartMenuSize * mStartMenuThreshold);
+    }
+
+    /**
+     * 设置两端菜单尺寸（测量后更新）
+     */
+    public void setMenuSizes(int startMenuSize, int endMenuSize) {
+        mStartMenuSize = startMenuSize;
+        mEndMenuSize = endMenuSize;
+    }
+
+    public int getStartMenuSize() {
+        return mStartMenuSize;
+    }
+
+    public int getEndMenuSize() {
+        return mEndMenuSize;
+    }
+
+    /**
+     * 设置起始端菜单展开阈值
+     * @param threshold 占菜单尺寸的比例 0 ~ 1
+     */
+    public void setStartMenuThreshold(float threshold) {
+        mStartMenuThreshold = checkThreshold(threshold);
+    }
+
+    public float getStartMenuThreshold() {
+        return mStartMenuThreshold;
+    }
+
+    /**
+     * 设置末端菜单展开阈值
+     * @param threshold 占菜单尺寸的比例 0 ~ 1
+     */
+    public void setEndMenuThreshold(float threshold) {
+        mEndMenuThreshold = checkThreshold(threshold);
+    }
+
+    public float getEndMenuThreshold() {
+        return mEndMenuThreshold;
+    }
+
+    private static float checkThreshold(float threshold) {
+        if (threshold < 0 || threshold > 1) {
+            throw new IllegalArgumentException("threshold must be in [0, 1].");
+        }
+        return threshold;
+    }
+
+    /**
+     * 设置快速滑动速度（超过时只看方向，不看展开阈值）
+     * @param velocity 像素点数量/秒
+     */
+    public void setFlingVelocity(float velocity) {
+        mFlingVelocity = velocity;
+    }
+
+    public float getFlingVelocity() {
+        return mFlingVelocity;
+    }
+
+    public void setFullSwipeEnable(boolean fullSwipeEnable) {
+        mFullSwipeEnable = fullSwipeEnable;
+    }
+
+    public boolean isFullSwipeEnable() {
+        return mFullSwipeEnable;
+    }
+
+    /**
+     * 设置整行滑动阈值
+     * @param threshold 占行主轴尺寸的比例 (0, 1]
+     */
+    public void setFullSwipeThreshold(float threshold) {
+        if (threshold <= 0F || threshold > 1F) {
+            throw new IllegalArgumentException("threshold must be in (0, 1].");
+        }
+        mFullSwipeThreshold = threshold;
+    }
+
+    public float getFullSwipeThreshold() {
+        return mFullSwipeThreshold;
+    }
+
+    /**
+     * 设置整行滑动速度阈值（越过菜单后向展开方向滑动的速度超过它即触发）
+     * @param velocity 像素点数量/秒
+     */
+    public void setFullSwipeVelocity(int velocity) {
+        mFullSwipeVelocity = velocity;
+    }
+
+    public int getFullSwipeVelocity() {
+        return mFullSwipeVelocity;
+    }
+
+}
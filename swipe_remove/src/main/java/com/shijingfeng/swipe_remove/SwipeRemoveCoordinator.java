@@ -0,0 +1,245 @@
+package com.shijingfeng.swipe_remove;
+
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * function: 侧滑菜单协调器（挂在容器上，例如 RecyclerView，只协调该容器内的 SwipeRemoveLayout）
+ *           负责：同时打开的菜单数量策略、同一时间只允许一个触摸，全部使用弱引用，不会泄漏已移除的View
+ */
+public final class SwipeRemoveCoordinator {
+
+    /** 同时只允许打开一个菜单（默认，打开新菜单或触摸其他行会关闭已打开的菜单）*/
+    public static final int SINGLE_OPEN = 1;
+    /** 不限制同时打开的菜单数量 */
+    public static final int UNLIMITED_OPEN = Integer.MAX_VALUE;
+
+    /** 已打开的菜单（按打开顺序排列，数量很少，线性查找即可）*/
+    private final List<WeakReference<SwipeRemoveLayout>> mOpenList = new ArrayList<>();
+    /** 最近打开的菜单 O(1) 获取 */
+    private WeakReference<SwipeRemoveLayout> mLastOpened;
+    /** 当前正在触摸的布局 */
+    private WeakReference<SwipeRemoveLayout> mTouching;
+    /** 同时允许打开的最大数量 默认 {@value SINGLE_OPEN} */
+    private int mMaxOpenCount = SINGLE_OPEN;
+    /** 列表内所有行共享的菜单View复用池（可以为null）*/
+    private SwipeMenuPool mMenuPool;
+
+    /**
+     * 在容器上安装协调器（已安装则直接返回）
+     * 容器内（包括子孙）的 SwipeRemoveLayout 都由它协调，未安装时 SwipeRemoveLayout 会自动安装到直接父容器上
+     * @param container 容器 例如 RecyclerView
+     */
+    public static SwipeRemoveCoordinator install(ViewGroup container) {
+        final Object tag = container.getTag(R.id.swipe_remove_coordinator);
+
+        if (tag instanceof SwipeRemoveCoordinator) {
+            return (SwipeRemoveCoordinator) tag;
+        }
+
+        final SwipeRemoveCoordinator coordinator = new SwipeRemoveCoordinator();
+
+        container.setTag(R.id.swipe_remove_coordinator, coordinator);
+        return coordinator;
+    }
+
+    /**
+     * 查找 layout 所属的协调器（向上查找最近一个安装了协调器的容器，找不到则安装到直接父容器上）
+     * @return 没有父容器时返回null
+     */
+    static SwipeRemoveCoordinator find(SwipeRemoveLayout layout) {
+        ViewParent parent = layout.getParent();
+
+        while (parent instanceof ViewGroup) {
+            final Object tag = ((ViewGroup) parent).getTag(R.id.swipe_remove_coordinator);
+
+            if (tag instanceof SwipeRemoveCoordinator) {
+                return (SwipeRemoveCoordinator) tag;
+            }
+            parent = parent.getParent();
+        }
+        if (layout.getParent() instanceof ViewGroup) {
+            return install((ViewGroup) layout.getParent());
+        }
+        return null;
+    }
+
+    /**
+     * 设置同时允许打开的最大数量
+     * @param maxOpenCount {@link #SINGLE_OPEN}、N 或 {@link #UNLIMITED_OPEN}
+     */
+    public void setMaxOpenCount(int maxOpenCount) {
+        if (maxOpenCount < 1) {
+            throw new IllegalArgumentException("maxOpenCount must be at least 1.");
+        }
+        mMaxOpenCount = maxOpenCount;
+        trimOpenList(null);
+    }
+
+    public int getMaxOpenCount() {
+        return mMaxOpenCount;
+    }
+
+    /**
+     * 设置列表共享的菜单View复用池（行自己设置了复用池时优先使用行自己的）
+     * @param menuPool 复用池 可以为null
+     */
+    public void setMenuPool(SwipeMenuPool menuPool) {
+        mMenuPool = menuPool;
+    }
+
+    public SwipeMenuPool getMenuPool() {
+        return mMenuPool;
+    }
+
+    /**
+     * 是否是单一打开策略
+     */
+    public boolean isSingleOpen() {
+        return mMaxOpenCount == SINGLE_OPEN;
+    }
+
+    /**
+     * 最近打开的菜单
+     * @return 没有打开的菜单时返回null
+     */
+    public SwipeRemoveLayout getLastOpened() {
+        final SwipeRemoveLayout layout = mLastOpened == null ? null : mLastOpened.get();
+
+        if (layout == null || !layout.isOpen()) {
+            return null;
+        }
+        return layout;
+    }
+
+    /**
+     * 当前打开的菜单数量
+     */
+    public int getOpenCount() {
+        purge();
+        return mOpenList.size();
+    }
+
+    /**
+     * 关闭所有打开的菜单
+     */
+    public void closeAll() {
+        closeOthers(null);
+    }
+
+    /**
+     * 关闭除 keep 以外所有打开的菜单
+     * @param keep 保留的菜单 可以为null
+     */
+    public void closeOthers(SwipeRemoveLayout keep) {
+        for (int i = mOpenList.size() - 1; i >= 0; --i) {
+            final SwipeRemoveLayout layout = mOpenList.get(i).get();
+
+            if (layout != keep) {
+                mOpenList.remove(i);
+                if (layout != null) {
+                    layout.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * 开始触摸
+     * @return false: 其他布局正在触摸，本次触摸无效
+     */
+    boolean onTouchStart(SwipeRemoveLayout layout) {
+        final SwipeRemoveLayout touching = mTouching == null ? null : mTouching.get();
+
+        //其他布局已经不在窗口上（例如被回收后没有收到 ACTION_UP），不能一直卡住
+        if (touching != null && touching != layout && touching.isAttachedToWindow()) {
+            return false;
+        }
+        mTouching = new WeakReference<>(layout);
+        return true;
+    }
+
+    /**
+     * 结束触摸
+     */
+    void onTouchEnd(SwipeRemoveLayout layout) {
+        if (mTouching != null && mTouching.get() == layout) {
+            mTouching = null;
+        }
+    }
+
+    /**
+     * 菜单打开（开始展开动画时回调）
+     */
+    void onOpened(SwipeRemoveLayout layout) {
+        if (indexOf(layout) < 0) {
+            mOpenList.add(new WeakReference<>(layout));
+        }
+        mLastOpened = new WeakReference<>(layout);
+        trimOpenList(layout);
+    }
+
+    /**
+     * 菜单关闭（开始关闭动画时回调）
+     */
+    void onClosed(SwipeRemoveLayout layout) {
+        final int index = indexOf(layout);
+
+        if (index >= 0) {
+            mOpenList.remove(index);
+        }
+        if (mLastOpened != null && mLastOpened.get() == layout) {
+            final int size = mOpenList.size();
+
+            mLastOpened = size == 0 ? null : mOpenList.get(size - 1);
+        }
+    }
+
+    /**
+     * 超出数量限制时，从最早打开的菜单开始关闭
+     * @param keep 不关闭的菜单 可以为null
+     */
+    private void trimOpenList(SwipeRemoveLayout keep) {
+        purge();
+
+        int i = 0;
+
+        while (mOpenList.size() > mMaxOpenCount && i < mOpenList.size()) {
+            final SwipeRemoveLayout layout = mOpenList.get(i).get();
+
+            if (layout == keep) {
+                ++i;
+                continue;
+            }
+            mOpenList.remove(i);
+            if (layout != null) {
+                layout.close();
+            }
+        }
+    }
+
+    /**
+     * 移除已被回收的弱引用
+     */
+    private void purge() {
+        for (int i = mOpenList.size() - 1; i >= 0; --i) {
+            if (mOpenList.get(i).get() == null) {
+                mOpenList.remove(i);
+            }
+        }
+    }
+
+    private int indexOf(SwipeRemoveLayout layout) {
+        for (int i = 0, size = mOpenList.size(); i < size; ++i) {
+            if (mOpenList.get(i).get() == layout) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,593 @@
+package com.shijingfeng.swipe_remove;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.TimeInterpolator;
+import android.animation.ValueAnimator;
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.text.TextPaint;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
+import android.view.View;
+import android.view.ViewConfiguration;
+import android.view.animation.DecelerateInterpolator;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static android.view.MotionEvent.ACTION_CANCEL;
+import static android.view.MotionEvent.ACTION_DOWN;
+import static android.view.MotionEvent.ACTION_MOVE;
+import static android.view.MotionEvent.ACTION_UP;
+
+/**
+ * function: RecyclerView 级别的侧滑引擎（不需要用 SwipeRemoveLayout 包裹每一行）
+ *           作为 OnItemTouchListener 处理手势，直接平移 itemView，菜单由 ItemDecoration 画在 Canvas 上，
+ *           行布局少一层，也不用为每一行创建菜单View
+ */
+public class SwipeRemoveItemHelper extends RecyclerView.ItemDecoration
+        implements RecyclerView.OnItemTouchListener, RecyclerView.OnChildAttachStateChangeListener, ValueAnimator.AnimatorUpdateListener {
+
+    /** 向左滑动（与 app:swipeDirection="left" 一致）*/
+    public static final int LEFT = 0;
+    /** 向右滑动（与 app:swipeDirection="right" 一致）*/
+    public static final int RIGHT = 1;
+
+    /** 归位动画时长（毫秒值）*/
+    private static final int SETTLE_DURATION = 250;
+    /** 在此时间段内（毫秒值） 速度采集分析 */
+    private static final int SPEED_ANALYZE_DURATION = 1000;
+    /** tan = y/x */
+    private static final float TAN_20 = 0.3639702342662F;
+    /** 默认文字大小（sp）*/
+    private static final int DEFAULT_TEXT_SIZE = 16;
+    /** 归位动画插值器 */
+    private static final TimeInterpolator SETTLE_INTERPOLATOR = new DecelerateInterpolator();
+
+    /** 菜单项 */
+    private final List<SwipeMenuItem> mMenuItems = new ArrayList<>();
+    /** 菜单背景画笔 */
+    private final Paint mBackgroundPaint = new Paint();
+    /** 菜单文字画笔 */
+    private final TextPaint mTextPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    /** 归位动画（只创建一次）*/
+    private final ValueAnimator mAnimator;
+    /** 回调 */
+    private final Callback mCallback;
+    private RecyclerView mRecyclerView;
+    /** 滑动速度采集器 */
+    private VelocityTracker mVelocityTracker;
+    /** 系统最小滑动距离 */
+    private final int mScaledTouchSlop;
+    /** 系统最大滑动速度 */
+    private final int mScaledMaximumFlingVelocity;
+    /** 默认文字大小（像素）*/
+    private final float mDefaultTextSize;
+    /** 滑动方向 默认 {@value LEFT}*/
+    private int mSwipeDirection;
+    /** 是否开启滑动 默认开启 */
+    private boolean mSwipeEnable;
+    /** 菜单总宽度 */
+    private int mMenuWidth;
+    /** 侧滑决策（与 SwipeRemoveLayout 使用同一套规则）*/
+    private final SwipeReleasePolicy mReleasePolicy = new SwipeReleasePolicy();
+
+    /** 正在拖动、归位或已打开的行 */
+    private View mActiveView;
+    /** 按下时手指所在的行（还没有确定是否横向拖动）*/
+    private View mCandidateView;
+    /** ACTION_DOWN 记录坐标 */
+    private float mDownX;
+    private float mDownY;
+    /** 开始拖动时行的平移量 */
+    private float mStartTranslation;
+    /** 动画起始平移量 */
+    private float mFromTranslation;
+    /** 动画结束平移量 */
+    private float mToTranslation;
+    /** 是否正在横向拖动 */
+    private boolean mIsDragging;
+    /** 菜单是否打开（包括正在展开）*/
+    private boolean mIsOpen;
+    /** 本次手势是否是点击打开的菜单 */
+    private boolean mIsMenuTap;
+    /** 归位动画是否被取消了（被取消的动画不清除当前行）*/
+    private boolean mSettleCanceled;
+
+    public SwipeRemoveItemHelper(Context context, Callback callback) {
+        this(context, null, callback);
+    }
+
+    /**
+     * @param attrs 支持与 SwipeRemoveLayout 相同的 app:swipeDirection app:swipeEnable 属性（只支持横向的 left、right）
+     */
+    public SwipeRemoveItemHelper(Context context, AttributeSet attrs, Callback callback) {
+        mCallback = callback;
+        mScaledTouchSlop = ViewConfiguration.get(context).getScaledTouchSlop();
+        mScaledMaximumFlingVelocity = ViewConfiguration.get(context).getScaledMaximumFlingVelocity();
+        mDefaultTextSize = TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, DEFAULT_TEXT_SIZE, context.getResources().getDisplayMetrics());
+
+        final TypedArray typedArray = context.obtainStyledAttributes(attrs, R.styleable.SwipeRemoveLayout);
+        mSwipeEnable = typedArray.getBoolean(R.styleable.SwipeRemoveLayout_swipeEnable, true);
+        mSwipeDirection = typedArray.getInt(R.styleable.SwipeRemoveLayout_swipeDirection, LEFT);
+        typedArray.recycle();
+        checkSwipeDirection(mSwipeDirection);
+
+        mTextPaint.setTextAlign(Paint.Align.CENTER);
+        mAnimator = ValueAnimator.ofFloat(0F, 1F);
+        mAnimator.setDuration(SETTLE_DURATION);
+        mAnimator.setInterpolator(SETTLE_INTERPOLATOR);
+        mAnimator.addUpdateListener(this);
+        mAnimator.addListener(new AnimatorListenerAdapter() {
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                if (!mSettleCanceled && !mIsOpen) {
+                    //关闭完成
+                    mActiveView = null;
+                }
+            }
+        });
+    }
+
+    /**
+     * 绑定到 RecyclerView（传null解除绑定）
+     */
+    public void attachToRecyclerView(RecyclerView recyclerView) {
+        if (mRecyclerView == recyclerView) {
+            return;
+        }
+        if (mRecyclerView != null) {
+            resetActiveView();
+            mRecyclerView.removeItemDecoration(this);
+            mRecyclerView.removeOnItemTouchListener(this);
+            mRecyclerView.removeOnChildAttachStateChangeListener(this);
+        }
+        mRecyclerView = recyclerView;
+        if (recyclerView != null) {
+            recyclerView.addItemDecoration(this);
+            recyclerView.addOnItemTouchListener(this);
+            recyclerView.addOnChildAttachStateChangeListener(this);
+        }
+    }
+
+    /**
+     * 添加菜单项（按添加顺序从内容边缘向外排列）
+     */
+    public void addMenuItem(SwipeMenuItem item) {
+        mMenuItems.add(item);
+        mMenuWidth += item.getWidth();
+        updateMenuSizes();
+    }
+
+    /**
+     * 清除所有菜单项
+     */
+    public void clearMenuItems() {
+        close();
+        mMenuItems.clear();
+        mMenuWidth = 0;
+        updateMenuSizes();
+    }
+
+    /**
+     * @param swipeDirection {@link #LEFT} 或 {@link #RIGHT}
+     */
+    public void setSwipeDirection(int swipeDirection) {
+        checkSwipeDirection(swipeDirection);
+        close();
+        mSwipeDirection = swipeDirection;
+        updateMenuSizes();
+    }
+
+    /**
+     * 同步侧滑决策的菜单尺寸（向左滑动菜单在末端，向右滑动菜单在起始端）
+     */
+    private void updateMenuSizes() {
+        if (mSwipeDirection == LEFT) {
+            mReleasePolicy.setMenuSizes(0, mMenuWidth);
+        } else {
+            mReleasePolicy.setMenuSizes(mMenuWidth, 0);
+        }
+    }
+
+    public int getSwipeDirection() {
+        return mSwipeDirection;
+    }
+
+    /**
+     * 只支持横向侧滑（平移 translationX，菜单画在行的左右两侧），纵向方向（top、bottom）请使用 SwipeRemoveLayout
+     */
+    private static void checkSwipeDirection(int swipeDirection) {
+        if (swipeDirection != LEFT && swipeDirection != RIGHT) {
+            throw new IllegalArgumentException("Unsupported swipeDirection: " + swipeDirection + ", only left and right are supported.");
+        }
+    }
+
+    public void setSwipeEnable(boolean swipeEnable) {
+        mSwipeEnable = swipeEnable;
+    }
+
+    public boolean isSwipeEnable() {
+        return mSwipeEnable;
+    }
+
+    /**
+     * 当前打开菜单的行
+     * @return 没有打开的行时返回null
+     */
+    public RecyclerView.ViewHolder getOpenViewHolder() {
+        if (!mIsOpen || mActiveView == null || mRecyclerView == null) {
+            return null;
+        }
+        return mRecyclerView.getChildViewHolder(mActiveView);
+    }
+
+    /**
+     * 关闭打开的菜单
+     */
+    public void close() {
+        if (mActiveView != null) {
+            settle(false);
+        }
+    }
+
+    @Override
+    public boolean onInterceptTouchEvent(@NonNull RecyclerView rv, @NonNull MotionEvent e) {
+        if (!mSwipeEnable || mMenuWidth == 0) {
+            return false;
+        }
+
+        switch (e.getActionMasked()) {
+            case ACTION_DOWN:
+                mDownX = e.getX();
+                mDownY = e.getY();
+                mIsDragging = false;
+                mIsMenuTap = false;
+
+                final View child = rv.findChildViewUnder(mDownX, mDownY);
+
+                if (mActiveView != null && mIsOpen) {
+                    if (child == mActiveView && isInMenu(mDownX)) {
+                        //点击打开的菜单
+                        mIsMenuTap = true;
+                        return true;
+                    }
+                    if (child != mActiveView) {
+                        //点击其他行，关闭菜单并消费本次手势
+                        settle(false);
+                        return true;
+                    }
+                }
+
+                mCandidateView = child != null && mCallback.isSwipeEnabled(rv.getChildViewHolder(child)) ? child : null;
+                if (mCandidateView != null) {
+                    acquireVelocityTracker(e);
+                }
+                break;
+            case ACTION_MOVE:
+                if (mCandidateView == null) {
+                    break;
+                }
+                acquireVelocityTracker(e);
+
+                final float dx = Math.abs(e.getX() - mDownX);
+                final float dy = Math.abs(e.getY() - mDownY);
+
+                //不用除法比较斜率
+                if (dx > mScaledTouchSlop && dy < dx * TAN_20) {
+                    startDrag(e.getX());
+                    return true;
+                }
+                if (dy > mScaledTouchSlop) {
+                    //纵向滑动，交给RecyclerView滚动
+                    mCandidateView = null;
+                    releaseVelocityTracker();
+                }
+                break;
+            case ACTION_UP:
+            case ACTION_CANCEL:
+                final boolean tapOnOpenRow = mIsOpen && mCandidateView != null && mCandidateView == mActiveView;
+
+                mCandidateView = null;
+                releaseVelocityTracker();
+                if (tapOnOpenRow) {
+                    //点击打开的行的内容，关闭菜单，不触发行的点击事件
+                    settle(false);
+                    return true;
+                }
+                break;
+            default:
+                break;
+        }
+        return false;
+    }
+
+    @Override
+    public void onTouchEvent(@NonNull RecyclerView rv, @NonNull MotionEvent e) {
+        switch (e.getActionMasked()) {
+            case ACTION_MOVE:
+                if (mIsDragging) {
+                    acquireVelocityTracker(e);
+                    applyTranslation(clampTranslation(mStartTranslation + e.getX() - mDownX));
+                }
+                break;
+            case ACTION_UP:
+            case ACTION_CANCEL:
+                if (mIsMenuTap) {
+                    final int index = e.getActionMasked() == ACTION_UP ? findMenuItem(e.getX()) : -1;
+
+                    if (index >= 0) {
+                        mCallback.onMenuItemClick(rv.getChildViewHolder(mActiveView), mMenuItems.get(index));
+                    }
+                    settle(false);
+                } else if (mIsDragging) {
+                    acquireVelocityTracker(e);
+                    settle(shouldExpand());
+                }
+                mIsDragging = false;
+                mIsMenuTap = false;
+                mCandidateView = null;
+                releaseVelocityTracker();
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public void onRequestDisallowInterceptTouchEvent(boolean disallowIntercept) {}
+
+    @Override
+    public void onChildViewAttachedToWindow(@NonNull View view) {}
+
+    @Override
+    public void onChildViewDetachedFromWindow(@NonNull View view) {
+        if (view == mActiveView) {
+            //被回收的行不能带着偏移复用给其他数据
+            resetActiveView();
+        }
+        if (view == mCandidateView) {
+            mCandidateView = null;
+        }
+    }
+
+    @Override
+    public void onDraw(@NonNull Canvas c, @NonNull RecyclerView parent, @NonNull RecyclerView.State state) {
+        final View view = mActiveView;
+
+        if (view == null || mMenuItems.isEmpty()) {
+            return;
+        }
+
+        final float translation = view.getTranslationX();
+
+        if (translation == 0) {
+            return;
+        }
+
+        final int top = view.getTop();
+        final int bottom = view.getBottom();
+        final float textY = (top + bottom) / 2F - (mTextPaint.ascent() + mTextPaint.descent()) / 2F;
+        final int saveCount = c.save();
+
+        if (mSwipeDirection == LEFT) {
+            //菜单在右侧，从内容右边缘向右排列
+            final int right = view.getRight();
+            float x = right - mMenuWidth;
+
+            c.clipRect(right + translation, top, right, bottom);
+            for (int i = 0, size = mMenuItems.size(); i < size; ++i) {
+                final SwipeMenuItem item = mMenuItems.get(i);
+
+                drawMenuItem(c, item, x, top, x + item.getWidth(), bottom, textY);
+                x += item.getWidth();
+            }
+        } else {
+            //菜单在左侧，从内容左边缘向左排列
+            final int left = view.getLeft();
+            float x = left + mMenuWidth;
+
+            c.clipRect(left, top, left + translation, bottom);
+            for (int i = 0, size = mMenuItems.size(); i < size; ++i) {
+                final SwipeMenuItem item = mMenuItems.get(i);
+
+                drawMenuItem(c, item, x - item.getWidth(), top, x, bottom, textY);
+                x -= item.getWidth();
+            }
+        }
+        c.restoreToCount(saveCount);
+    }
+
+    /**
+     * 画一个菜单项
+     */
+    private void drawMenuItem(Canvas c, SwipeMenuItem item, float left, float top, float right, float bottom, float textY) {
+        mBackgroundPaint.setColor(item.getBackgroundColor());
+        c.drawRect(left, top, right, bottom, mBackgroundPaint);
+
+        final CharSequence text = item.getText();
+
+        if (text != null && text.length() > 0) {
+            mTextPaint.setColor(item.getTextColor());
+            mTextPaint.setTextSize(item.getTextSize() > 0 ? item.getTextSize() : mDefaultTextSize);
+            c.drawText(text, 0, text.length(), (left + right) / 2F, textY, mTextPaint);
+        }
+    }
+
+    @Override
+    public void onAnimationUpdate(ValueAnimator animation) {
+        if (mActiveView != null) {
+            applyTranslation(mFromTranslation + (mToTranslation - mFromTranslation) * animation.getAnimatedFraction());
+        }
+    }
+
+    /**
+     * 开始横向拖动
+     */
+    private void startDrag(float x) {
+        cancelSettle();
+        if (mActiveView != null && mActiveView != mCandidateView) {
+            //另一行还在归位，直接复位
+            mActiveView.setTranslationX(0);
+            mIsOpen = false;
+        }
+        mActiveView = mCandidateView;
+        mIsDragging = true;
+        mDownX = x;
+        mStartTranslation = mActiveView.getTranslationX();
+
+        if (mRecyclerView.getParent() != null) {
+            mRecyclerView.getParent().requestDisallowInterceptTouchEvent(true);
+        }
+    }
+
+    /**
+     * 松手时判断展开还是关闭（与 SwipeRemoveLayout 使用同一个 {@link SwipeReleasePolicy}）
+     */
+    private boolean shouldExpand() {
+        mVelocityTracker.computeCurrentVelocity(SPEED_ANALYZE_DURATION, mScaledMaximumFlingVelocity);
+
+        //偏移量与平移方向相反（内容向左平移时拖出末端菜单）
+        final int offset = (int) - mActiveView.getTranslationX();
+        final float offsetVelocity = - mVelocityTracker.getXVelocity();
+
+        return mReleasePolicy.decide(offset, offsetVelocity, mActiveView.getWidth(), true) == SwipeReleasePolicy.DECISION_EXPAND;
+    }
+
+    /**
+     * 动画归位
+     * @param expand true: 展开  false: 关闭
+     */
+    private void settle(boolean expand) {
+        if (mActiveView == null) {
+            return;
+        }
+        cancelSettle();
+        mSettleCanceled = false;
+        mIsOpen = expand;
+        mFromTranslation = mActiveView.getTranslationX();
+        mToTranslation = expand ? (mSwipeDirection == LEFT ? -mMenuWidth : mMenuWidth) : 0;
+        mAnimator.start();
+    }
+
+    /**
+     * 取消归位动画
+     */
+    private void cancelSettle() {
+        if (mAnimator.isStarted()) {
+            mSettleCanceled = true;
+            mAnimator.cancel();
+        }
+    }
+
+    /**
+     * 立即复位当前行
+     */
+    private void resetActiveView() {
+        cancelSettle();
+        if (mActiveView != null) {
+            mActiveView.setTranslationX(0);
+        }
+        mActiveView = null;
+        mIsOpen = false;
+        mIsDragging = false;
+        mIsMenuTap = false;
+    }
+
+    /**
+     * 平移当前行，并重绘菜单（itemView 自己的绘制指令不需要重新记录）
+     */
+    private void applyTranslation(float translation) {
+        mActiveView.setTranslationX(translation);
+        mRecyclerView.invalidate();
+    }
+
+    /**
+     * 越界修正
+     */
+    private float clampTranslation(float translation) {
+        return - mReleasePolicy.clamp(- translation, mActiveView.getWidth());
+    }
+
+    /**
+     * x 是否落在打开的菜单上
+     */
+    private boolean isInMenu(float x) {
+        final float translation = mActiveView.getTranslationX();
+
+        if (mSwipeDirection == LEFT) {
+            return x >= mActiveView.getRight() + translation;
+        }
+        return x <= mActiveView.getLeft() + translation;
+    }
+
+    /**
+     * 查找 x 所在的菜单项
+     * @return 没有找到返回-1
+     */
+    private int findMenuItem(float x) {
+        if (mActiveView == null || !isInMenu(x)) {
+            return -1;
+        }
+
+        //菜单项相对内容边缘的距离
+        final float distance = mSwipeDirection == LEFT
+                ? x - (mActiveView.getRight() - mMenuWidth)
+                : mActiveView.getLeft() + mMenuWidth - x;
+        float edge = 0;
+
+        for (int i = 0, size = mMenuItems.size(); i < size; ++i) {
+            edge += mMenuItems.get(i).getWidth();
+            if (distance < edge) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 获取速度采集器
+     * @param event 触摸事件
+     */
+    private void acquireVelocityTracker(MotionEvent event) {
+        if (mVelocityTracker == null) {
+            mVelocityTracker = VelocityTracker.obtain();
+        }
+        mVelocityTracker.addMovement(event);
+    }
+
+    /**
+     * 销毁释放速度采集器
+     */
+    private void releaseVelocityTracker() {
+        if (mVelocityTracker != null) {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+    }
+
+    /**
+     * 回调
+     */
+    public interface Callback {
+
+        /**
+         * 该行是否允许侧滑
+         */
+        boolean isSwipeEnabled(RecyclerView.ViewHolder holder);
+
+        /**
+         * 点击了菜单项（回调后菜单自动关闭）
+         */
+        void onMenuItemClick(RecyclerView.ViewHolder holder, SwipeMenuItem item);
+    }
+
+}
@@ -1,21 +1,16 @@
 package com.shijingfeng.swipe_remove;
 
-import android.animation.Animator;
-import android.animation.AnimatorListenerAdapter;
-import android.animation.ValueAnimator;
-import android.annotation.SuppressLint;
+import android.animation.TimeInterpolator;
 import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Canvas;
-import android.graphics.PointF;
 import android.util.AttributeSet;
+import android.view.LayoutInflater;
 import android.view.MotionEvent;
-import android.view.VelocityTracker;
 import android.view.View;
 import android.view.ViewConfiguration;
 import android.view.ViewGroup;
-import android.view.animation.AccelerateInterpolator;
-import android.view.animation.OvershootInterpolator;
+import android.view.animation.DecelerateInterpolator;
 
 import static android.view.MotionEvent.ACTION_CANCEL;
 import static android.view.MotionEvent.ACTION_DOWN;
@@ -34,56 +29,134 @@ public class SwipeRemoveLayout extends ViewGroup {
     private static final int LEFT = 0;
     /** 向右滑动 */
     private static final int RIGHT = 1;
+    /** 向上滑动 */
+    private static final int TOP = 2;
+    /** 向下滑动 */
+    private static final int BOTTOM = 3;
     /** 关闭动画时长（毫秒值）*/
     private static final int CLOSE_DURATION = 300;
     /** 展开动画时长（毫秒值）*/
     private static final int EXPAND_DURATION = 300;
-    /** 在此时间段内（毫秒值） 速度采集分析 */
-    private static final int SPEED_ANALYZE_DURATION = 1000;
-    /** 最大滑动速度（像素点数量/毫秒值） */
-    private static final int MAX_SWIPE_SPEED = 1000;
-
-    /** 当前展开的SwipeRemoveLayout */
-    @SuppressLint("StaticFieldLeak")
-    private static SwipeRemoveLayout sViewCache;
-    /** 是否已经触摸过了（用于多点触摸情况）*/
-    private static boolean mIsTouching;
+    /** 整行滑出动画时长（毫秒值）*/
+    private static final int FULL_SWIPE_DURATION = 250;
+    /** 整行滑出动画插值器（无状态，全局共享）*/
+    private static final TimeInterpolator FULL_SWIPE_INTERPOLATOR = new DecelerateInterpolator();
+
+    /** 整行滑动状态：没有触发 */
+    private static final int FULL_SWIPE_NONE = 0;
+    /** 整行滑动状态：正在滑出屏幕 */
+    private static final int FULL_SWIPE_ANIMATING = 1;
+    /** 整行滑动状态：已滑出屏幕并回调（重新绑定状态时恢复）*/
+    private static final int FULL_SWIPE_DONE = 2;
+
+    /** 通过 scrollTo() 整体滚动实现偏移（每次偏移都会重绘整个布局）*/
+    public static final int OFFSET_STRATEGY_SCROLL = 0;
+    /** 通过子View的 translationX（纵向侧滑时为 translationY）实现偏移（只修改RenderNode属性，不重新记录绘制指令）*/
+    public static final int OFFSET_STRATEGY_TRANSLATION = 1;
+
+    /** 菜单位置：由 swipeDirection 决定（向左/向上滑动在末端，向右/向下滑动在起始端）*/
+    public static final int SIDE_DEFAULT = 0;
+    /** 菜单位置：起始端（内容左侧或上方，向右或向下滑动显示）*/
+    public static final int SIDE_START = SwipeReleasePolicy.SIDE_START;
+    /** 菜单位置：末端（内容右侧或下方，向左或向上滑动显示）*/
+    public static final int SIDE_END = SwipeReleasePolicy.SIDE_END;
+
+    /** 松手后按固定时长动画归位 */
+    public static final int SETTLE_MODE_DURATION = 0;
+    /** 松手后以松手速度为初速度，按弹簧模型归位（快速滑动只需几帧） */
+    public static final int SETTLE_MODE_SPRING = 1;
 
     private Context mContext;
     /** 内容View */
     private View mContentView;
-    /** ACTION_DOWN 记录坐标（屏幕坐标系） */
-    private PointF mDownPointF = new PointF();
-    /** ACTION_DOWN ACTION_MOVE 记录坐标（屏幕坐标系）*/
-    private PointF mMovePointF = new PointF();
-    /** 滑动速度采集器 */
-    private VelocityTracker mVelocityTracker;
-    /** 滑动伸展动画 */
-    private ValueAnimator mExpandAnim;
-    /** 滑动收缩动画 */
-    private ValueAnimator mCloseAnim;
-    /** 滑动菜单宽度 */
-    private int mMenuWidth;
-    /** 布局高度 */
-    private int mHeight;
-    /** 当滑动大于mLimitWidth, 则展开，否则收缩 */
-    private int mLimitWidth;
+    /** 所属容器的协调器（负责打开数量策略和触摸互斥，未添加到容器时为null）*/
+    private SwipeRemoveCoordinator mCoordinator;
+    /** 延迟加载的菜单布局资源ID（0: 不使用延迟加载，菜单直接写在布局中）*/
+    private int mMenuLayoutRes;
+    /** 延迟加载的菜单View（第一次侧滑时才inflate）*/
+    private View mMenuView;
+    /** 延后加载菜单（只创建一次）*/
+    private final Runnable mEnsureMenuAction = this::ensureMenu;
+    /** 整行滑出动画结束（只创建一次）*/
+    private final Runnable mFullSwipeEndAction = this::onFullSwipeEnd;
+    /** 整行滑动监听 */
+    private OnFullSwipeListener mOnFullSwipeListener;
+    /** 在下一帧的动画阶段应用拖动偏移量（只创建一次）*/
+    private final Runnable mApplyDragAction = this::applyPendingDrag;
+    /** 菜单View复用池（可以为null）*/
+    private SwipeMenuPool mMenuPool;
+    /** 菜单View添加/移除监听（用于绑定菜单点击事件等）*/
+    private OnMenuAttachListener mOnMenuAttachListener;
+    /** 打开状态存储（由Adapter绑定，可以为null）*/
+    private SwipeStateStore mStateStore;
+    /** 绑定数据的稳定ID */
+    private long mStateId;
+    /** 展开/关闭动画引擎（每个布局只创建一次）*/
+    private SwipeSettleEngine mSettleEngine;
+    /** 侧滑性能采集（设置了监听时才创建，为null时没有任何额外开销）*/
+    private SwipeMetricsTracker mMetricsTracker;
+    /** 侧滑方向轴（由 swipeDirection 决定，测量、布局、触摸和偏移都按它换算坐标）*/
+    private SwipeAxis mAxis;
+    /** 侧滑决策（保存两端菜单尺寸、展开阈值和整行滑动配置，不依赖Android）*/
+    private final SwipeReleasePolicy mReleasePolicy = new SwipeReleasePolicy();
+    /** 侧滑手势状态机（方向判断、偏移量累加、速度估算，不依赖Android）*/
+    private final SwipeGestureCore mGestureCore = new SwipeGestureCore(mReleasePolicy);
+    /** 触摸轨迹录制（默认为null，不录制）*/
+    private SwipeGestureRecorder mGestureRecorder;
+    /** 当前打开（或正在展开）的菜单 {@link #SIDE_START} 或 {@link #SIDE_END}，0: 没有打开 */
+    private int mOpenSide;
+    /** 菜单打开/关闭监听 */
+    private OnSwipeMenuListener mOnSwipeMenuListener;
+    /** 子View在交叉轴方向的统一尺寸（横向侧滑时为高度，纵向侧滑时为宽度）*/
+    private int mCrossSize;
+    /** 测量缓存是否有效（增删子View后失效）*/
+    private boolean mMeasureCacheValid;
+    /** 上一次测量的 widthMeasureSpec */
+    private int mLastWidthMeasureSpec;
+    /** 上一次测量的 heightMeasureSpec */
+    private int mLastHeightMeasureSpec;
+    /** 上一次测量时的左右内边距之和 */
+    private int mLastHorizontalPadding;
+    /** 上一次测量时的上下内边距之和 */
+    private int mLastVerticalPadding;
+    /** 上一次测量时的子View数量 */
+    private int mLastChildCount;
+    /** 上一次测量的主轴尺寸 */
+    private int mLastMeasuredMainSize;
+    /** 上一次测量的交叉轴尺寸（没有收起时）*/
+    private int mLastMeasuredCrossSize;
+    /** onMeasure() 调用次数（性能统计用）*/
+    private int mMeasureCount;
+    /** onMeasure() 直接使用缓存的次数（性能统计用）*/
+    private int mMeasureCacheHitCount;
+    /** 子View测量次数（性能统计用）*/
+    private int mChildMeasureCount;
     /** 系统最小滑动距离 */
     private int mScaledTouchSlop;
-    /** 系统最大滑动速度 */
-    private int mScaledMaximumFlingVelocity;
-    /** 多点触摸的某一点ID，用于速度分析采集（默认多点触摸只算第一根手指的速度）*/
-    private int mPointerId;
-    /** 滑动方向 默认 {@value LEFT}*/
+    /** 整行滑动状态 */
+    private int mFullSwipeState = FULL_SWIPE_NONE;
+    /** 交叉轴尺寸收起比例（0: 完整尺寸  1: 尺寸为0），删除时逐渐收起 */
+    private float mCollapseFraction;
+    /** 是否已经请求在下一帧应用拖动偏移量 */
+    private boolean mDragFramePending;
+    /** 滑动方向 默认 {@value LEFT}（决定侧滑方向轴，没有指定位置的菜单按滑动方向放置）*/
     private int mSwipeDirection;
+    /** 当前偏移量（正值: 内容向左/向上移动  负值: 内容向右/向下移动）*/
+    private int mSwipeOffset;
+    /** 偏移实现方式 默认 {@value OFFSET_STRATEGY_SCROLL}*/
+    private int mOffsetStrategy;
+    /** 归位方式 默认 {@value SETTLE_MODE_DURATION}*/
+    private int mSettleMode;
     /** 是否开启滑动 默认开启 */
     private boolean mSwipeEnable;
+    /** 侧滑菜单是否处于打开状态（包括正在展开）? true: 打开  false: 关闭 */
+    private boolean mIsOpen;
+    /** 手指是否正在触摸 */
+    private boolean mIsTouching;
     /** 侧滑菜单是否展开? true: 展开  false: 没有展开 */
     private boolean mIsExpanded;
     /** 用户是否滑动了?  true: 滑动了  false: 没有滑动 */
     private boolean mIsUserSwiped;
-    /** 是否滑动了？(用于在OnInterceptTouchEvent中做判断)  true: 滑动了  false: 没有滑动 (点击事件或长按事件) */
-    private boolean mIsMoved;
 
     public SwipeRemoveLayout(Context context) {
         this(context, null);
@@ -103,217 +176,500 @@ public class SwipeRemoveLayout extends ViewGroup {
      */
     private void init(Context context, AttributeSet attrs) {
         mContext = context;
+        mSettleEngine = new SwipeSettleEngine(this);
         mScaledTouchSlop = ViewConfiguration.get(mContext).getScaledTouchSlop();
-        mScaledMaximumFlingVelocity = ViewConfiguration.get(mContext).getScaledMaximumFlingVelocity();
+        mGestureCore.setTouchSlop(mScaledTouchSlop);
+        mGestureCore.setMaxVelocity(ViewConfiguration.get(mContext).getScaledMaximumFlingVelocity());
+        mGestureCore.setCallback(this::onDragStarted);
 
         TypedArray typedArray = mContext.obtainStyledAttributes(attrs, R.styleable.SwipeRemoveLayout);
         mSwipeEnable = typedArray.getBoolean(R.styleable.SwipeRemoveLayout_swipeEnable, true);
         mSwipeDirection = typedArray.getInt(R.styleable.SwipeRemoveLayout_swipeDirection, LEFT);
+        mAxis = mSwipeDirection == TOP || mSwipeDirection == BOTTOM ? SwipeAxis.VERTICAL : SwipeAxis.HORIZONTAL;
+        mMenuLayoutRes = typedArray.getResourceId(R.styleable.SwipeRemoveLayout_menuLayout, 0);
+        mOffsetStrategy = typedArray.getInt(R.styleable.SwipeRemoveLayout_offsetStrategy, OFFSET_STRATEGY_SCROLL);
+        mSettleMode = typedArray.getInt(R.styleable.SwipeRemoveLayout_settleMode, SETTLE_MODE_DURATION);
+        mReleasePolicy.setStartMenuThreshold(typedArray.getFloat(R.styleable.SwipeRemoveLayout_startMenuThreshold, SwipeReleasePolicy.DEFAULT_MENU_THRESHOLD));
+        mReleasePolicy.setEndMenuThreshold(typedArray.getFloat(R.styleable.SwipeRemoveLayout_endMenuThreshold, SwipeReleasePolicy.DEFAULT_MENU_THRESHOLD));
+        mSettleEngine.getSpring().setStiffness(typedArray.getFloat(R.styleable.SwipeRemoveLayout_springStiffness, SpringSimulation.DEFAULT_STIFFNESS));
+        mSettleEngine.getSpring().setDampingRatio(typedArray.getFloat(R.styleable.SwipeRemoveLayout_springDampingRatio, SpringSimulation.DEFAULT_DAMPING_RATIO));
+        mReleasePolicy.setFullSwipeEnable(typedArray.getBoolean(R.styleable.SwipeRemoveLayout_fullSwipeEnable, false));
+        mReleasePolicy.setFullSwipeThreshold(typedArray.getFloat(R.styleable.SwipeRemoveLayout_fullSwipeThreshold, SwipeReleasePolicy.DEFAULT_FULL_SWIPE_THRESHOLD));
+        mReleasePolicy.setFullSwipeVelocity(typedArray.getInt(R.styleable.SwipeRemoveLayout_fullSwipeVelocity, SwipeReleasePolicy.DEFAULT_FULL_SWIPE_VELOCITY));
         typedArray.recycle();
+
+        //设置自己可点击，获取触摸事件（子View在 onViewAdded() 中设置）
+        setClickable(true);
+    }
+
+    /**
+     * 使用动画特效关闭
+     */
+    private void smoothClose() {
+        smoothClose(0);
     }
 
     /**
-     * 获取速度采集器
-     * @param event 触摸事件
+     * 使用动画特效关闭
+     * @param velocity 松手时偏移量的变化速度（像素点数量/秒）
      */
-    private void acquireVelocityTracker(MotionEvent event) {
-        if (mVelocityTracker == null) {
-            mVelocityTracker = VelocityTracker.obtain();
+    private void smoothClose(float velocity) {
+        mIsOpen = false;
+        if (mMetricsTracker != null) {
+            mMetricsTracker.onSettleStart(SwipeGestureMetrics.RESULT_CLOSED);
+        }
+        if (mCoordinator != null) {
+            mCoordinator.onClosed(this);
+        }
+        if (mStateStore != null) {
+            mStateStore.remove(mStateId);
+        }
+
+        if (mSettleMode == SETTLE_MODE_SPRING) {
+            mSettleEngine.springClose(mSwipeOffset, velocity);
+        } else {
+            mSettleEngine.close(mSwipeOffset, CLOSE_DURATION);
         }
-        mVelocityTracker.addMovement(event);
     }
 
     /**
-     * 销毁释放速度采集器
+     * 使用动画特效展开
      */
-    private void releaseVelocityTracker() {
-        if (mVelocityTracker != null) {
-            mVelocityTracker.clear();
-            mVelocityTracker.recycle();
-            mVelocityTracker = null;
+    private void smoothExpand(int side) {
+        smoothExpand(side, 0);
+    }
+
+    /**
+     * 使用动画特效展开
+     * @param side     展开的菜单 {@link #SIDE_START} 或 {@link #SIDE_END}
+     * @param velocity 松手时偏移量的变化速度（像素点数量/秒）
+     */
+    private void smoothExpand(int side, float velocity) {
+        if (mOnSwipeMenuListener != null && mIsExpanded && mOpenSide != side) {
+            //从一端直接拖到另一端，原来打开的菜单已经关闭
+            mOnSwipeMenuListener.onMenuClosed(this, mOpenSide);
+            mIsExpanded = false;
+        }
+        mIsOpen = true;
+        mOpenSide = side;
+        if (mMetricsTracker != null) {
+            mMetricsTracker.onSettleStart(SwipeGestureMetrics.RESULT_EXPANDED);
+        }
+        if (mCoordinator != null) {
+            mCoordinator.onOpened(this);
+        }
+        if (mStateStore != null) {
+            mStateStore.put(mStateId, side == SIDE_START ? SwipeStateStore.STATE_OPEN_START : SwipeStateStore.STATE_OPEN_END);
+        }
+
+        if (mContentView != null) {
+            //内容View 设置不可长按
+            mContentView.setLongClickable(false);
+        }
+
+        final int target = getExpandedOffset();
+
+        if (mSettleMode == SETTLE_MODE_SPRING) {
+            mSettleEngine.springExpand(mSwipeOffset, target, velocity);
+        } else {
+            mSettleEngine.expand(mSwipeOffset, target, EXPAND_DURATION);
         }
     }
 
     /**
-     * 使用动画特效关闭
+     * 完全展开时的偏移量
      */
-    private void smoothClose() {
-        sViewCache = null;
+    private int getExpandedOffset() {
+        return getExpandedOffset(mOpenSide);
+    }
 
-        cancelAnim();
+    /**
+     * 指定菜单完全展开时的偏移量（起始端为负值，末端为正值）
+     */
+    private int getExpandedOffset(int side) {
+        return mReleasePolicy.getExpandedOffset(side);
+    }
 
-        mCloseAnim = ValueAnimator.ofInt(getScrollX(), 0);
-        mCloseAnim.setInterpolator(new AccelerateInterpolator());
-        mCloseAnim.setDuration(CLOSE_DURATION);
-        mCloseAnim.addUpdateListener(animation -> scrollTo((Integer) animation.getAnimatedValue(), 0));
-        mCloseAnim.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                mIsExpanded = false;
+    /**
+     * 没有指定位置的菜单放在哪一端
+     */
+    private int getDefaultSide() {
+        return mSwipeDirection == RIGHT || mSwipeDirection == BOTTOM ? SIDE_START : SIDE_END;
+    }
 
-                if (mContentView != null) {
-                    //内容View 设置可长按
-                    mContentView.setLongClickable(true);
-                }
-            }
-        });
-        mCloseAnim.start();
+    /**
+     * 子View（菜单）所在的一端
+     */
+    private int getMenuSide(View child) {
+        final LayoutParams lp = child.getLayoutParams();
+        final int side = lp instanceof CustomLayoutParams ? ((CustomLayoutParams) lp).menuSide : SIDE_DEFAULT;
+
+        return side == SIDE_DEFAULT ? getDefaultSide() : side;
     }
 
     /**
-     * 使用动画特效展开
+     * 动画每一帧的回调（由 {@link SwipeSettleEngine} 调用）
+     * @param offset 当前偏移量
      */
-    private void smoothExpand() {
+    void onSettleUpdate(int offset) {
+        setSwipeOffset(offset);
+    }
 
-        sViewCache = SwipeRemoveLayout.this;
+    /**
+     * 设置偏移量
+     * @param offset 偏移量（正值: 内容向左/向上移动  负值: 内容向右/向下移动）
+     */
+    private void setSwipeOffset(int offset) {
+        if (mSwipeOffset == offset) {
+            return;
+        }
+        mSwipeOffset = offset;
+        applySwipeOffset();
+    }
 
-        cancelAnim();
+    /**
+     * 按当前偏移实现方式应用偏移量
+     */
+    private void applySwipeOffset() {
+        if (mOffsetStrategy == OFFSET_STRATEGY_TRANSLATION) {
+            final float translation = - mSwipeOffset;
 
-        if (mContentView != null) {
-            //内容View 设置不可长按
-            mContentView.setLongClickable(false);
+            for (int i = 0, childCount = getChildCount(); i < childCount; ++i) {
+                mAxis.setTranslation(getChildAt(i), translation);
+            }
+        } else {
+            mAxis.scrollTo(this, mSwipeOffset);
         }
+    }
 
-        mExpandAnim = ValueAnimator.ofInt(getScrollX(), mSwipeDirection == LEFT ? mMenuWidth : -mMenuWidth);
-        mExpandAnim.setInterpolator(new OvershootInterpolator());
-        mExpandAnim.setDuration(EXPAND_DURATION);
-        mExpandAnim.addUpdateListener(animation -> scrollTo((Integer) animation.getAnimatedValue(), 0));
-        mExpandAnim.addListener(new AnimatorListenerAdapter() {
-            @Override
-            public void onAnimationEnd(Animator animation) {
-                mIsExpanded = true;
+    /**
+     * 动画结束的回调（由 {@link SwipeSettleEngine} 调用，被取消的动画不会回调）
+     * @param expanded true: 展开  false: 关闭
+     */
+    void onSettleEnd(boolean expanded) {
+        mIsExpanded = expanded;
+        if (mMetricsTracker != null) {
+            mMetricsTracker.onSettleEnd();
+        }
+        if (mOnSwipeMenuListener != null && mOpenSide != 0) {
+            if (expanded) {
+                mOnSwipeMenuListener.onMenuOpened(this, mOpenSide);
+            } else {
+                mOnSwipeMenuListener.onMenuClosed(this, mOpenSide);
             }
-        });
-        mExpandAnim.start();
+        }
+        if (!expanded) {
+            mOpenSide = 0;
+        }
+
+        if (!expanded && mContentView != null) {
+            //内容View 设置可长按
+            mContentView.setLongClickable(true);
+        }
+        if (!expanded) {
+            recycleMenu();
+        }
+    }
+
+    /**
+     * 加载延迟菜单（优先从复用池中取出），并立即测量和布局，本次滑动即可显示
+     */
+    private void ensureMenu() {
+        if (mMenuLayoutRes == 0 || mMenuView != null) {
+            return;
+        }
+
+        final SwipeMenuPool menuPool = getMenuPool();
+        View menuView = menuPool == null ? null : menuPool.acquire(mMenuLayoutRes);
+
+        if (menuView == null) {
+            menuView = LayoutInflater.from(mContext).inflate(mMenuLayoutRes, this, false);
+        }
+        mMenuView = menuView;
+        addView(menuView);
+
+        if (mOnMenuAttachListener != null) {
+            mOnMenuAttachListener.onMenuAttached(this, menuView);
+        }
+
+        if (getMeasuredWidth() > 0) {
+            //按当前尺寸立即测量布局，不等待下一帧
+            measure(MeasureSpec.makeMeasureSpec(getMeasuredWidth(), MeasureSpec.EXACTLY), MeasureSpec.makeMeasureSpec(getMeasuredHeight(), MeasureSpec.EXACTLY));
+            layout(getLeft(), getTop(), getRight(), getBottom());
+        }
+    }
+
+    /**
+     * 菜单关闭后，把延迟菜单归还复用池（没有复用池时保留菜单，下次直接使用）
+     */
+    private void recycleMenu() {
+        if (!mIsOpen) {
+            releaseMenu();
+        }
     }
 
     /**
-     * 取消动画
+     * 把延迟菜单归还复用池（不检查打开状态）
      */
-    private void cancelAnim() {
-        //取消关闭动画
-        if (mCloseAnim != null && mCloseAnim.isStarted()) {
-            mCloseAnim.cancel();
+    private void releaseMenu() {
+        final SwipeMenuPool menuPool = getMenuPool();
+
+        if (mMenuView == null || menuPool == null) {
+            return;
         }
-        //取消伸展动画
-        if (mExpandAnim != null && mExpandAnim.isStarted()) {
-            mExpandAnim.cancel();
+
+        final View menuView = mMenuView;
+
+        mMenuView = null;
+        if (mOnMenuAttachListener != null) {
+            mOnMenuAttachListener.onMenuDetached(this, menuView);
+        }
+        menuPool.release(mMenuLayoutRes, menuView);
+    }
+
+    /**
+     * 当前使用的菜单View复用池（优先使用自己设置的，其次使用列表共享的）
+     */
+    private SwipeMenuPool getMenuPool() {
+        if (mMenuPool != null) {
+            return mMenuPool;
         }
+        return mCoordinator == null ? null : mCoordinator.getMenuPool();
     }
 
     /**
-     * 强制统一侧滑栏高度
-     * @param childCount       侧滑栏View数量
-     * @param widthMeasureSpec 本ViewGroup的widthMeasureSpec;
+     * 强制统一侧滑栏交叉轴尺寸（只在所有子View交叉轴尺寸都是 MATCH_PARENT 时才需要）
+     * @param childCount        侧滑栏View数量
+     * @param widthMeasureSpec  本ViewGroup的widthMeasureSpec
+     * @param heightMeasureSpec 本ViewGroup的heightMeasureSpec
      */
-    private void forceUniformHeight(int childCount, final int widthMeasureSpec) {
-        //手动构建一个父ViewGroup的HeightMeasureSpec
-        final int heightMeasureSpec = MeasureSpec.makeMeasureSpec(getMeasuredHeight(), MeasureSpec.EXACTLY);
+    private void forceUniformCrossSize(int childCount, final int widthMeasureSpec, final int heightMeasureSpec) {
+        //手动构建一个父ViewGroup交叉轴方向的MeasureSpec
+        final int crossMeasureSpec = MeasureSpec.makeMeasureSpec(mAxis.getCrossPadding(this) + mCrossSize, MeasureSpec.EXACTLY);
 
         for (int i = 0; i < childCount; ++i) {
             final View childView = getChildAt(i);
 
-            if (childView.getVisibility() != GONE) {
-                final MarginLayoutParams lp = (MarginLayoutParams) childView.getLayoutParams();
+            if (childView.getVisibility() != GONE && mAxis.getMeasuredCrossSize(childView) != mCrossSize) {
+                measureChildView(childView, widthMeasureSpec, heightMeasureSpec, crossMeasureSpec);
+            }
+        }
+    }
 
-                if (lp.height == MATCH_PARENT) {
-//                    final int oldWidth = lp.width;
-//                    lp.width = childView.getMeasuredWidth();
-                    measureChildWithMargins(childView, widthMeasureSpec, 0, heightMeasureSpec, 0);
-//                    lp.width = oldWidth;
-                }
+    /**
+     * 按指定的交叉轴 MeasureSpec 测量子View（主轴方向仍使用本ViewGroup的MeasureSpec）
+     */
+    private void measureChildView(View childView, int widthMeasureSpec, int heightMeasureSpec, int crossMeasureSpec) {
+        if (mAxis == SwipeAxis.VERTICAL) {
+            measureChildView(childView, crossMeasureSpec, heightMeasureSpec);
+        } else {
+            measureChildView(childView, widthMeasureSpec, crossMeasureSpec);
+        }
+    }
+
+    /**
+     * 测量子View（统一入口，用于统计测量次数）
+     */
+    private void measureChildView(View childView, int widthMeasureSpec, int heightMeasureSpec) {
+        ++mChildMeasureCount;
+        //加入上滑、下滑，则将不再支持Item的margin, 应使用measureChild()方法
+        measureChildWithMargins(childView, widthMeasureSpec, 0, heightMeasureSpec, 0);
+    }
+
+    /**
+     * 是否可以直接使用上一次的测量结果
+     * 条件：MeasureSpec、内边距、子View数量都没有变化，并且没有子View请求重新布局
+     */
+    private boolean canReuseMeasurement(int widthMeasureSpec, int heightMeasureSpec) {
+        if (!mMeasureCacheValid
+                || mLastWidthMeasureSpec != widthMeasureSpec
+                || mLastHeightMeasureSpec != heightMeasureSpec
+                || mLastHorizontalPadding != getPaddingLeft() + getPaddingRight()
+                || mLastVerticalPadding != getPaddingTop() + getPaddingBottom()
+                || mLastChildCount != getChildCount()) {
+            return false;
+        }
+        for (int i = 0, childCount = getChildCount(); i < childCount; ++i) {
+            if (getChildAt(i).isLayoutRequested()) {
+                return false;
             }
         }
+        return true;
     }
 
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
-        super.onMeasure(widthMeasureSpec, heightMeasureSpec);
+        ++mMeasureCount;
 
-        //设置自己可点击，获取触摸事件
-        setClickable(true);
+        if (canReuseMeasurement(widthMeasureSpec, heightMeasureSpec)) {
+            ++mMeasureCacheHitCount;
+            setMeasuredSize(mLastMeasuredMainSize, getCollapsedSize(mLastMeasuredCrossSize));
+            return;
+        }
 
         //解决ListView或RecyclerView复用问题
-        mMenuWidth = 0;
-        mHeight = 0;
+        mCrossSize = 0;
 
         final int childCount = getChildCount();
-        final boolean parentWidthNotExactly = MeasureSpec.getMode(heightMeasureSpec) != MeasureSpec.EXACTLY;
-        int contentViewWidth = 0;
-        boolean isNeedMeasureChildHeight = false;
+        int startMenuSize = 0;
+        int endMenuSize = 0;
+        final boolean parentCrossNotExactly = MeasureSpec.getMode(mAxis.getCrossMeasureSpec(widthMeasureSpec, heightMeasureSpec)) != MeasureSpec.EXACTLY;
+        int contentViewSize = 0;
+        boolean hasMatchParentChild = false;
 
+        //第一遍：测量交叉轴尺寸不依赖本布局的子View，得到布局交叉轴尺寸（横向侧滑时为高度）
         for (int i = 0; i < childCount; ++i) {
             final View childView = getChildAt(i);
 
-            //设置自己可点击，获取触摸事件
-            childView.setClickable(true);
-
             if (childView.getVisibility() != GONE) {
-                //加入上滑、下滑，则将不再支持Item的margin, 应使用measureChild()方法
-                measureChildWithMargins(childView, widthMeasureSpec, 0, heightMeasureSpec, 0);
-
                 final MarginLayoutParams childLp = (MarginLayoutParams) childView.getLayoutParams();
-                final int leftMargin = childLp.leftMargin;
-                final int rightMargin = childLp.rightMargin;
-                final int topMargin = childLp.topMargin;
-                final int bottomMargin = childLp.bottomMargin;
 
-                mHeight = Math.max(mHeight, childView.getMeasuredHeight());
+                if (parentCrossNotExactly && mAxis.getCrossLayoutSize(childLp) == MATCH_PARENT) {
+                    //交叉轴尺寸跟随布局，等布局尺寸确定后再测量，避免测量两次
+                    hasMatchParentChild = true;
+                    continue;
+                }
+                measureChildView(childView, widthMeasureSpec, heightMeasureSpec);
+                mCrossSize = Math.max(mCrossSize, mAxis.getMeasuredCrossSize(childView));
+            }
+        }
+
+        //第二遍：只测量 MATCH_PARENT 的子View，每个子View只测量一次
+        if (hasMatchParentChild) {
+            final boolean allMatchParent = mCrossSize == 0;
+            final int uniformCrossMeasureSpec = allMatchParent
+                    ? mAxis.getCrossMeasureSpec(widthMeasureSpec, heightMeasureSpec)
+                    : MeasureSpec.makeMeasureSpec(mAxis.getCrossPadding(this) + mCrossSize, MeasureSpec.EXACTLY);
 
-                if (parentWidthNotExactly && childLp.height == MATCH_PARENT) {
-                    isNeedMeasureChildHeight = true;
+            for (int i = 0; i < childCount; ++i) {
+                final View childView = getChildAt(i);
+
+                if (childView.getVisibility() != GONE && mAxis.getCrossLayoutSize((MarginLayoutParams) childView.getLayoutParams()) == MATCH_PARENT) {
+                    measureChildView(childView, widthMeasureSpec, heightMeasureSpec, uniformCrossMeasureSpec);
+                    mCrossSize = Math.max(mCrossSize, mAxis.getMeasuredCrossSize(childView));
                 }
+            }
+
+            if (allMatchParent) {
+                //所有子View都是 MATCH_PARENT，没有参照尺寸，只能按最大的子View再统一一次
+                forceUniformCrossSize(childCount, widthMeasureSpec, heightMeasureSpec);
+            }
+        }
 
+        for (int i = 0; i < childCount; ++i) {
+            final View childView = getChildAt(i);
+
+            if (childView.getVisibility() != GONE) {
                 if (i == 0) {
                     //内容View
                     mContentView = childView;
-//                    contentViewWidth = childView.getMeasuredWidth() + leftMargin + rightMargin;
-                    contentViewWidth = childView.getMeasuredWidth();
+                    contentViewSize = mAxis.getMeasuredMainSize(childView);
+                } else if (getMenuSide(childView) == SIDE_START) {
+                    //起始端菜单
+                    startMenuSize += mAxis.getMeasuredMainSize(childView);
                 } else {
-                    //侧滑菜单
-//                    mMenuWidth += childView.getMeasuredWidth() + leftMargin + rightMargin;
-                    mMenuWidth += childView.getMeasuredWidth();
+                    //末端菜单
+                    endMenuSize += mAxis.getMeasuredMainSize(childView);
                 }
             }
         }
 
-        setMeasuredDimension(getPaddingLeft() + contentViewWidth + getPaddingRight(), getPaddingTop() + mHeight + getPaddingBottom());
+        final int measuredMainSize = mAxis.getMainPadding(this) + contentViewSize;
+        final int measuredCrossSize = mAxis.getCrossPadding(this) + mCrossSize;
+
+        setMeasuredSize(measuredMainSize, getCollapsedSize(measuredCrossSize));
+
+        mReleasePolicy.setMenuSizes(startMenuSize, endMenuSize);
+
+        //记录本次测量条件和结果
+        mMeasureCacheValid = true;
+        mLastWidthMeasureSpec = widthMeasureSpec;
+        mLastHeightMeasureSpec = heightMeasureSpec;
+        mLastHorizontalPadding = getPaddingLeft() + getPaddingRight();
+        mLastVerticalPadding = getPaddingTop() + getPaddingBottom();
+        mLastChildCount = childCount;
+        mLastMeasuredMainSize = measuredMainSize;
+        mLastMeasuredCrossSize = measuredCrossSize;
+    }
 
-        mLimitWidth = mMenuWidth * 4 / 10;
+    /**
+     * 按主轴和交叉轴尺寸设置测量结果
+     */
+    private void setMeasuredSize(int mainSize, int crossSize) {
+        if (mAxis == SwipeAxis.VERTICAL) {
+            setMeasuredDimension(crossSize, mainSize);
+        } else {
+            setMeasuredDimension(mainSize, crossSize);
+        }
+    }
 
-        if (isNeedMeasureChildHeight) {
-            forceUniformHeight(childCount, widthMeasureSpec);
+    /**
+     * 按收起比例计算交叉轴尺寸（横向侧滑时为高度，子View仍按完整尺寸布局，超出部分被父容器裁剪）
+     * @param size 完整尺寸
+     */
+    private int getCollapsedSize(int size) {
+        if (mCollapseFraction <= 0F) {
+            return size;
         }
+        return Math.round(size * (1F - mCollapseFraction));
     }
 
     @Override
     protected void onLayout(boolean changed, int l, int t, int r, int b) {
         final int childCount = getChildCount();
-        int left = getPaddingLeft();
-        int right = getPaddingLeft();
+        final int crossStart = mAxis.getCrossPaddingStart(this);
+        int end = mAxis.getMainPaddingStart(this);
+        int start = end;
 
         for (int i = 0; i < childCount; ++i) {
             final View childView = getChildAt(i);
 
             if (childView.getVisibility() != GONE) {
+                final int childSize = mAxis.getMeasuredMainSize(childView);
+
                 if (i == 0) {
                     //内容View
-                    childView.layout(left, getPaddingTop(), left + childView.getMeasuredWidth(), getPaddingTop() + childView.getMeasuredHeight());
-                    left = left + childView.getMeasuredWidth();
+                    mAxis.layoutChild(childView, end, crossStart);
+                    end = end + childSize;
+                } else if (getMenuSide(childView) == SIDE_END) {
+                    //末端菜单：依次排在内容右侧或下方（向左或向上滑动显示）
+                    mAxis.layoutChild(childView, end, crossStart);
+                    end = end + childSize;
                 } else {
-                    //侧滑菜单
-                    if (mSwipeDirection == LEFT) {
-                        //向左滑
-                        childView.layout(left, getPaddingTop(), left + childView.getMeasuredWidth(), getPaddingTop() + childView.getMeasuredHeight());
-                        left = left + childView.getMeasuredWidth();
-                    } else if (mSwipeDirection == RIGHT){
-                        //向右滑
-                        childView.layout(right - childView.getMeasuredWidth(), getPaddingTop(), right, getPaddingTop() + childView.getMeasuredHeight());
-                        right = right - childView.getMeasuredWidth();
-                    }
+                    //起始端菜单：依次排在内容左侧或上方（向右或向下滑动显示）
+                    start = start - childSize;
+                    mAxis.layoutChild(childView, start, crossStart);
                 }
             }
         }
+
+        fixExpandedOffset();
+    }
+
+    /**
+     * 布局完成后修正完全展开状态的偏移量（菜单尺寸可能因复用或恢复状态而变化）
+     */
+    private void fixExpandedOffset() {
+        if (mIsExpanded && !mIsTouching && !mSettleEngine.isRunning()) {
+            setSwipeOffset(getExpandedOffset());
+        }
+    }
+
+    @Override
+    public void onViewAdded(View child) {
+        super.onViewAdded(child);
+        mMeasureCacheValid = false;
+        //设置子View可点击，获取触摸事件
+        child.setClickable(true);
+        if (mOffsetStrategy == OFFSET_STRATEGY_TRANSLATION) {
+            mAxis.setTranslation(child, - mSwipeOffset);
+        }
+    }
+
+    @Override
+    public void onViewRemoved(View child) {
+        super.onViewRemoved(child);
+        mMeasureCacheValid = false;
     }
 
     @Override
@@ -321,132 +677,88 @@ public class SwipeRemoveLayout extends ViewGroup {
         super.onDraw(canvas);
     }
 
-    /** tan = y/x */
-    final double tan20 = 0.3639702342662F;
-
     @Override
     public boolean dispatchTouchEvent(MotionEvent ev) {
+        if (mGestureRecorder != null) {
+            mGestureRecorder.record(ev);
+        }
         if (mSwipeEnable) {
-            acquireVelocityTracker(ev);
+            final int action = ev.getAction();
 
-            switch (ev.getAction()) {
+            if (action == ACTION_MOVE && mGestureCore.getState() == SwipeGestureCore.STATE_SCROLL) {
+                //快速路径：已确定是垂直于侧滑方向的滑动（列表滚动），直到抬起都不再采集速度和计算偏移
+                return super.dispatchTouchEvent(ev);
+            }
+
+            final float rawX = ev.getRawX();
+            final float rawY = ev.getRawY();
+
+            switch (action) {
                 case ACTION_DOWN:
-                    if (mIsTouching) {
+                    if (mFullSwipeState != FULL_SWIPE_NONE) {
+                        //整行已滑出（或正在滑出），等待删除，不再响应触摸
+                        return false;
+                    }
+                    if (mCoordinator != null && !mCoordinator.onTouchStart(this)) {
                         //如果有了一个触摸点，则其他触摸点对本View无效
                         return false;
-                    } else {
-                        mIsTouching = true;
                     }
-                    mIsMoved = false;
+                    mIsTouching = true;
+                    if (mMetricsTracker != null) {
+                        mMetricsTracker.onTouchDown(ev.getEventTime(), mSwipeOffset);
+                    }
                     mIsUserSwiped = false;
+                    mGestureCore.onDown(mAxis.main(rawX, rawY), mAxis.cross(rawX, rawY), ev.getEventTime(), mSwipeOffset, mAxis.getSize(this));
 
-                    mDownPointF.set(ev.getRawX(), ev.getRawY());
-                    mMovePointF.set(ev.getRawX(), ev.getRawY());
+                    final SwipeRemoveLayout opened = mCoordinator == null ? null : mCoordinator.getLastOpened();
 
-                    if (sViewCache != null) {
-                        if (sViewCache != this) {
-                            sViewCache.smoothClose();
+                    if (opened != null && mCoordinator.isSingleOpen()) {
+                        if (opened != this) {
+                            opened.smoothClose();
                         }
                         //只要有一个侧滑菜单处于打开状态， 就不给外层布局上下滑动了
                         getParent().requestDisallowInterceptTouchEvent(true);
+                    } else if (mIsOpen) {
+                        //允许同时打开多个菜单时，只有自己处于打开状态才不给外层布局上下滑动
+                        getParent().requestDisallowInterceptTouchEvent(true);
                     }
-
-                    mPointerId = ev.getPointerId(0);
                     break;
                 case ACTION_MOVE:
-                    final float scrollX = mMovePointF.x - ev.getRawX();
-                    final float scrollY = mMovePointF.y - ev.getRawY();
+                    //批量事件携带的历史采样点只用于速度估算（历史坐标是本View坐标系，换算成屏幕坐标系）
+                    final int historySize = ev.getHistorySize();
 
-                    if (Math.abs(scrollX) > mScaledTouchSlop || Math.abs(getScrollX()) > mScaledTouchSlop) {
-                        getParent().requestDisallowInterceptTouchEvent(true);
-                    }
-
-                    final float ratio = Math.abs(scrollY) / Math.abs(scrollX);
+                    if (historySize > 0) {
+                        final float dx = rawX - ev.getX();
+                        final float dy = rawY - ev.getY();
 
-                    if (ratio < tan20) {
-                        if (Math.abs(scrollX) > mScaledTouchSlop) {
-                            mIsMoved = true;
+                        for (int i = 0; i < historySize; ++i) {
+                            mGestureCore.onHistoricalSample(mAxis.main(ev.getHistoricalX(i) + dx, ev.getHistoricalY(i) + dy), ev.getHistoricalEventTime(i));
                         }
-
-                        scrollBy((int) scrollX, 0);
                     }
-
-                    //越界修正
-                    if (mSwipeDirection == LEFT) {
-                        if (getScrollX() < 0) {
-                            scrollTo(0, 0);
-                        } else if (getScrollX() > mMenuWidth) {
-                            scrollTo(mMenuWidth, 0);
-                        }
-                    } else if (mSwipeDirection == RIGHT) {
-                        if (getScrollX() > 0) {
-                            scrollTo(0, 0);
-                        } else if (getScrollX() < - mMenuWidth) {
-                            scrollTo(- mMenuWidth, 0);
-                        }
+                    //批量事件的最后一个采样点已包含之前所有历史采样点的移动，偏移量只计算一次
+                    if (mGestureCore.onMove(mAxis.main(rawX, rawY), mAxis.cross(rawX, rawY), ev.getEventTime())) {
+                        scheduleDragFrame();
                     }
-
-                    mMovePointF.set(ev.getRawX(), ev.getRawY());
                     break;
                 case ACTION_UP:
                 case ACTION_CANCEL:
-                    //判断用户是否滑动了，如果滑动了，则屏蔽一切点击事件
-                    if (Math.abs(ev.getRawX() - mDownPointF.x) > mScaledTouchSlop) {
-                        mIsUserSwiped = true;
+                    final int decision = mGestureCore.onUp(mAxis.main(rawX, rawY), mAxis.cross(rawX, rawY), ev.getEventTime());
+
+                    if (decision != SwipeGestureCore.RELEASE_NONE) {
+                        //松手前先应用还没有到帧的偏移量，归位动画从手指最后的位置开始
+                        flushPendingDrag();
+                        onDragRelease(decision);
+                    } else if (mIsOpen || mSwipeOffset != 0) {
+                        //点击或列表滚动：关闭已打开的侧滑菜单
+                        smoothClose();
+                    } else if (mMetricsTracker != null) {
+                        //点击、长按或列表滚动经过的行：没有归位，丢弃本次手势（停止逐帧回调）
+                        mMetricsTracker.cancel();
                     }
-
-                    mVelocityTracker.computeCurrentVelocity(SPEED_ANALYZE_DURATION, mScaledMaximumFlingVelocity);
-
-                    final float velocityX = mVelocityTracker.getXVelocity(mPointerId);
-
-                    if (Math.abs(velocityX) > MAX_SWIPE_SPEED) {
-                        //超过滑动速度阈值
-                        if (velocityX > 0) {
-                            //向右滑动
-                            if (mSwipeDirection == LEFT) {
-                                //关闭侧滑菜单
-                                smoothClose();
-                            } else if (mSwipeDirection == RIGHT) {
-                                if (mIsMoved) {
-                                    //伸展侧滑菜单
-                                    smoothExpand();
-                                } else {
-                                    //关闭侧滑菜单
-                                    smoothClose();
-                                }
-                            }
-                        } else {
-                            //向左滑动
-                            if (mSwipeDirection == LEFT) {
-                                if (mIsMoved) {
-                                    //伸展侧滑菜单
-                                    smoothExpand();
-                                } else {
-                                    //关闭侧滑菜单
-                                    smoothClose();
-                                }
-                            } else if (mSwipeDirection == RIGHT) {
-                                //关闭侧滑菜单
-                                smoothClose();
-                            }
-                        }
-                    } else {
-                        //没有超过滑动速度阈值
-                        if (Math.abs(getScrollX()) > mLimitWidth) {
-                            if (mIsMoved) {
-                                //伸展侧滑菜单
-                                smoothExpand();
-                            } else {
-                                //关闭侧滑菜单
-                                smoothClose();
-                            }
-                        } else {
-                            //关闭侧滑菜单
-                            smoothClose();
-                        }
-                    }
-                    releaseVelocityTracker();
                     mIsTouching = false;
+                    if (mCoordinator != null) {
+                        mCoordinator.onTouchEnd(this);
+                    }
                     break;
                 default:
                     break;
@@ -455,27 +767,170 @@ public class SwipeRemoveLayout extends ViewGroup {
         return super.dispatchTouchEvent(ev);
     }
 
+    /**
+     * 手势状态机确定为侧滑（由 {@link SwipeGestureCore} 回调）
+     * @return 当前偏移量
+     */
+    private int onDragStarted() {
+        getParent().requestDisallowInterceptTouchEvent(true);
+        if (mMenuView == null) {
+            //第一次侧滑超过最小滑动距离，加载菜单
+            ensureMenu();
+        }
+        return mSwipeOffset;
+    }
+
+    /**
+     * 请求在下一帧应用拖动偏移量（同一帧内多次请求只应用一次，与 Choreographer 对齐）
+     */
+    private void scheduleDragFrame() {
+        if (mDragFramePending) {
+            return;
+        }
+        if (isAttachedToWindow()) {
+            mDragFramePending = true;
+            postOnAnimation(mApplyDragAction);
+        } else {
+            //没有添加到窗口就没有帧回调，直接应用
+            applyPendingDrag();
+        }
+    }
+
+    /**
+     * 立即应用还没有到帧的拖动偏移量
+     */
+    private void flushPendingDrag() {
+        if (mDragFramePending) {
+            removeCallbacks(mApplyDragAction);
+            applyPendingDrag();
+        }
+    }
+
+    /**
+     * 应用拖动偏移量（每帧最多一次）
+     */
+    private void applyPendingDrag() {
+        mDragFramePending = false;
+
+        final int offset = (int) mGestureCore.getPendingOffset();
+
+        if (mMetricsTracker != null && offset != mSwipeOffset) {
+            mMetricsTracker.onDragOffsetChanged();
+        }
+        setSwipeOffset(offset);
+    }
+
+    /**
+     * 执行整行滑动：整行（内容和菜单）平移出屏幕，结束后回调
+     * 只修改本布局主轴方向的 translation 并使用硬件层，每帧只更新RenderNode属性，不重新布局也不重新记录绘制指令
+     */
+    private void commitFullSwipe() {
+        mSettleEngine.cancel();
+        mFullSwipeState = FULL_SWIPE_ANIMATING;
+        mIsOpen = false;
+        mIsExpanded = false;
+        if (mMetricsTracker != null) {
+            mMetricsTracker.onSettleStart(SwipeGestureMetrics.RESULT_FULL_SWIPE);
+        }
+        if (mCoordinator != null) {
+            mCoordinator.onClosed(this);
+        }
+        if (mStateStore != null) {
+            mStateStore.remove(mStateId);
+        }
+
+        final int side = getSwipeSide();
+        //菜单跟在内容后面，多平移一个菜单尺寸才能完全离开屏幕
+        final float distance = mAxis.getSize(this) + Math.abs(getExpandedOffset(side));
+
+        mAxis.animateTranslation(animate(), side == SIDE_END ? - distance : distance)
+                .setDuration(FULL_SWIPE_DURATION)
+                .setInterpolator(FULL_SWIPE_INTERPOLATOR)
+                .withLayer()
+                .withEndAction(mFullSwipeEndAction);
+    }
+
+    /**
+     * 整行滑出结束（动画结束或离屏时）
+     */
+    private void onFullSwipeEnd() {
+        if (mFullSwipeState != FULL_SWIPE_ANIMATING) {
+            return;
+        }
+        mFullSwipeState = FULL_SWIPE_DONE;
+        if (mMetricsTracker != null) {
+            mMetricsTracker.onSettleEnd();
+        }
+        if (mOnFullSwipeListener != null) {
+            mOnFullSwipeListener.onFullSwipe(this);
+        }
+    }
+
+    /**
+     * 恢复整行滑动之前的状态（行被复用时）
+     */
+    private void resetFullSwipe() {
+        if (mFullSwipeState == FULL_SWIPE_NONE) {
+            return;
+        }
+        mFullSwipeState = FULL_SWIPE_NONE;
+        animate().cancel();
+        mAxis.setTranslation(this, 0);
+    }
+
+    /**
+     * 侧滑拖动后松手，执行手势状态机的决策
+     * @param decision {@link SwipeReleasePolicy} 的决策
+     */
+    private void onDragRelease(int decision) {
+        //判断用户是否滑动了，如果滑动了，则屏蔽一切点击事件
+        mIsUserSwiped = mGestureCore.isSwiped();
+
+        final float offsetVelocity = mGestureCore.getOffsetVelocity();
+
+        switch (decision) {
+            case SwipeReleasePolicy.DECISION_FULL_SWIPE:
+                commitFullSwipe();
+                break;
+            case SwipeReleasePolicy.DECISION_EXPAND:
+                //伸展侧滑菜单，偏移量的符号决定拖出的是哪一端的菜单
+                smoothExpand(getSwipeSide(), offsetVelocity);
+                break;
+            default:
+                //关闭侧滑菜单
+                smoothClose(offsetVelocity);
+                break;
+        }
+    }
+
+    /**
+     * 当前偏移量拖出的是哪一端的菜单
+     * @return {@link #SIDE_START}、{@link #SIDE_END}，没有偏移时返回0
+     */
+    private int getSwipeSide() {
+        return SwipeReleasePolicy.sideOf(mSwipeOffset);
+    }
+
     @Override
     public boolean onInterceptTouchEvent(MotionEvent ev) {
-        if (mSwipeEnable) {
+        if (mSwipeEnable && mFullSwipeState == FULL_SWIPE_NONE) {
             switch (ev.getAction()) {
                 case ACTION_MOVE:
-                    if (Math.abs(mDownPointF.x - ev.getRawX()) > mScaledTouchSlop) {
+                    if (mGestureCore.getState() == SwipeGestureCore.STATE_DRAG) {
                         return true;
                     }
                     break;
                 case ACTION_UP:
                 case ACTION_CANCEL:
-                    if (mSwipeDirection == LEFT) {
-                        if (getScrollX() > mScaledTouchSlop && ev.getRawX() < (getWidth() - getScrollX())) {
-                            smoothClose();
-                            return true;
-                        }
-                    } else if (mSwipeDirection == RIGHT) {
-                        if (getScrollX() > mScaledTouchSlop && ev.getRawX() > - getScrollX()) {
-                            smoothClose();
-                            return true;
-                        }
+                    //菜单打开时点击内容区域关闭菜单（主轴上的内容区域: 末端菜单 0 ~ 尺寸-偏移量  起始端菜单 -偏移量 ~ 尺寸）
+                    final float position = mAxis.main(ev.getX(), ev.getY());
+
+                    if (mSwipeOffset > mScaledTouchSlop && position < (mAxis.getSize(this) - mSwipeOffset)) {
+                        smoothClose();
+                        return true;
+                    } else if (mSwipeOffset < - mScaledTouchSlop && position > - mSwipeOffset) {
+                        smoothClose();
+                        return true;
                     }
                     break;
                 default:
@@ -500,15 +955,372 @@ public class SwipeRemoveLayout extends ViewGroup {
         return new CustomLayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT);
     }
 
+    /**
+     * 设置偏移实现方式
+     * @param offsetStrategy {@link #OFFSET_STRATEGY_SCROLL} 或 {@link #OFFSET_STRATEGY_TRANSLATION}
+     */
+    public void setOffsetStrategy(int offsetStrategy) {
+        if (mOffsetStrategy == offsetStrategy) {
+            return;
+        }
+        //先清除旧方式的偏移，再按新方式重新应用
+        if (mOffsetStrategy == OFFSET_STRATEGY_TRANSLATION) {
+            for (int i = 0, childCount = getChildCount(); i < childCount; ++i) {
+                mAxis.setTranslation(getChildAt(i), 0);
+            }
+        } else {
+            scrollTo(0, 0);
+        }
+        mOffsetStrategy = offsetStrategy;
+        applySwipeOffset();
+    }
+
+    public int getOffsetStrategy() {
+        return mOffsetStrategy;
+    }
+
+    /**
+     * 获取当前偏移量（正值: 内容向左移动  负值: 内容向右移动）
+     */
+    public int getSwipeOffset() {
+        return mSwipeOffset;
+    }
+
+    /**
+     * 设置归位方式
+     * @param settleMode {@link #SETTLE_MODE_DURATION} 或 {@link #SETTLE_MODE_SPRING}
+     */
+    public void setSettleMode(int settleMode) {
+        mSettleMode = settleMode;
+    }
+
+    public int getSettleMode() {
+        return mSettleMode;
+    }
+
+    /**
+     * 设置弹簧刚度（仅 {@link #SETTLE_MODE_SPRING} 有效），越大归位越快
+     * @param stiffness 刚度 必须大于0
+     */
+    public void setSpringStiffness(float stiffness) {
+        mSettleEngine.getSpring().setStiffness(stiffness);
+    }
+
+    public float getSpringStiffness() {
+        return mSettleEngine.getSpring().getStiffness();
+    }
+
+    /**
+     * 设置弹簧阻尼比（仅 {@link #SETTLE_MODE_SPRING} 有效），小于1会回弹，大于等于1不回弹
+     * @param dampingRatio 阻尼比 必须大于0
+     */
+    public void setSpringDampingRatio(float dampingRatio) {
+        mSettleEngine.getSpring().setDampingRatio(dampingRatio);
+    }
+
+    public float getSpringDampingRatio() {
+        return mSettleEngine.getSpring().getDampingRatio();
+    }
+
+    /**
+     * 设置延迟加载的菜单布局（第一次侧滑时才inflate，布局根View作为一个整体菜单）
+     * @param menuLayoutRes 菜单布局资源ID 0: 不使用延迟加载
+     */
+    public void setMenuLayout(int menuLayoutRes) {
+        if (mMenuLayoutRes == menuLayoutRes) {
+            return;
+        }
+        if (mMenuView != null) {
+            removeView(mMenuView);
+            mMenuView = null;
+        }
+        mMenuLayoutRes = menuLayoutRes;
+    }
+
+    /**
+     * 设置菜单View复用池（多行共享，菜单关闭或行离屏后归还），不设置时使用所属列表协调器的复用池
+     * @param menuPool 复用池 可以为null
+     */
+    public void setMenuPool(SwipeMenuPool menuPool) {
+        mMenuPool = menuPool;
+    }
+
+    /**
+     * 设置菜单View添加/移除监听（延迟加载或复用的菜单在这里绑定点击事件）
+     */
+    public void setOnMenuAttachListener(OnMenuAttachListener listener) {
+        mOnMenuAttachListener = listener;
+    }
+
+    /**
+     * 设置侧滑性能监听（每次侧滑手势归位结束后回调一次，可使用 {@link SwipeMetricsRecorder} 汇总）
+     * @param listener 为null时停止采集，不再有任何额外开销
+     */
+    public void setOnSwipeMetricsListener(OnSwipeMetricsListener listener) {
+        if (listener == null) {
+            if (mMetricsTracker != null) {
+                mMetricsTracker.cancel();
+                mMetricsTracker = null;
+            }
+            return;
+        }
+        if (mMetricsTracker == null) {
+            mMetricsTracker = new SwipeMetricsTracker(this);
+        }
+        mMetricsTracker.setListener(listener);
+    }
+
+    /**
+     * 设置触摸轨迹录制（用于复现真实用户的手势，录制的轨迹可以在测试中重放）
+     * @param recorder 为null时停止录制
+     */
+    public void setGestureRecorder(SwipeGestureRecorder recorder) {
+        mGestureRecorder = recorder;
+    }
+
+    /**
+     * 设置是否开启整行滑动（拖动超过阈值或快速滑动时，整行滑出屏幕并回调 {@link OnFullSwipeListener}）
+     */
+    public void setFullSwipeEnable(boolean fullSwipeEnable) {
+        mReleasePolicy.setFullSwipeEnable(fullSwipeEnable);
+    }
+
+    public boolean isFullSwipeEnable() {
+        return mReleasePolicy.isFullSwipeEnable();
+    }
+
+    /**
+     * 设置整行滑动阈值
+     * @param threshold 占行主轴尺寸（横向侧滑时为宽度）的比例 0 ~ 1
+     */
+    public void setFullSwipeThreshold(float threshold) {
+        mReleasePolicy.setFullSwipeThreshold(threshold);
+    }
+
+    public float getFullSwipeThreshold() {
+        return mReleasePolicy.getFullSwipeThreshold();
+    }
+
+    /**
+     * 设置整行滑动速度阈值（越过菜单后向展开方向滑动的速度超过它即触发）
+     * @param velocity 像素点数量/秒
+     */
+    public void setFullSwipeVelocity(int velocity) {
+        mReleasePolicy.setFullSwipeVelocity(velocity);
+    }
+
+    public int getFullSwipeVelocity() {
+        return mReleasePolicy.getFullSwipeVelocity();
+    }
+
+    /**
+     * 设置整行滑动监听
+     */
+    public void setOnFullSwipeListener(OnFullSwipeListener listener) {
+        mOnFullSwipeListener = listener;
+    }
+
+    /**
+     * 设置起始端菜单展开阈值（松手时滑动距离超过菜单尺寸的该比例则展开）
+     * @param threshold 比例 0 ~ 1
+     */
+    public void setStartMenuThreshold(float threshold) {
+        mReleasePolicy.setStartMenuThreshold(threshold);
+    }
+
+    public float getStartMenuThreshold() {
+        return mReleasePolicy.getStartMenuThreshold();
+    }
+
+    /**
+     * 设置末端菜单展开阈值（松手时滑动距离超过菜单尺寸的该比例则展开）
+     * @param threshold 比例 0 ~ 1
+     */
+    public void setEndMenuThreshold(float threshold) {
+        mReleasePolicy.setEndMenuThreshold(threshold);
+    }
+
+    public float getEndMenuThreshold() {
+        return mReleasePolicy.getEndMenuThreshold();
+    }
+
+    /**
+     * 获取菜单尺寸（主轴方向，横向侧滑时为宽度，测量后有效）
+     * @param side {@link #SIDE_START} 或 {@link #SIDE_END}
+     */
+    public int getMenuSize(int side) {
+        return Math.abs(getExpandedOffset(side));
+    }
+
+    /**
+     * 当前打开（或正在展开）的菜单
+     * @return {@link #SIDE_START}、{@link #SIDE_END}，没有打开时返回0
+     */
+    public int getOpenSide() {
+        return mIsOpen ? mOpenSide : 0;
+    }
+
+    /**
+     * 设置菜单打开/关闭监听
+     */
+    public void setOnSwipeMenuListener(OnSwipeMenuListener listener) {
+        mOnSwipeMenuListener = listener;
+    }
+
+    /**
+     * 是否已经整行滑出（或正在滑出），重新绑定状态后恢复
+     */
+    public boolean isFullSwiped() {
+        return mFullSwipeState != FULL_SWIPE_NONE;
+    }
+
+    /**
+     * 获取延迟加载的菜单View
+     * @return 还没有加载或已归还复用池时返回null
+     */
+    public View getMenuView() {
+        return mMenuView;
+    }
+
+    /**
+     * onMeasure() 调用次数（性能统计用，可通过 {@link #resetMeasureCounters()} 清零）
+     */
+    public int getMeasureCount() {
+        return mMeasureCount;
+    }
+
+    /**
+     * onMeasure() 直接使用上一次测量结果、没有测量任何子View的次数
+     */
+    public int getMeasureCacheHitCount() {
+        return mMeasureCacheHitCount;
+    }
+
+    /**
+     * 子View被测量的总次数
+     */
+    public int getChildMeasureCount() {
+        return mChildMeasureCount;
+    }
+
+    /**
+     * 测量统计清零
+     */
+    public void resetMeasureCounters() {
+        mMeasureCount = 0;
+        mMeasureCacheHitCount = 0;
+        mChildMeasureCount = 0;
+    }
+
+    /**
+     * 手势性能采集（没有设置 {@link OnSwipeMetricsListener} 时为null）
+     */
+    SwipeMetricsTracker getMetricsTracker() {
+        return mMetricsTracker;
+    }
+
     /**
      * 外部调用关闭侧滑菜单
      */
     public void close() {
-        if (sViewCache == this) {
+        if (mIsOpen) {
             smoothClose();
         }
     }
 
+    /**
+     * 绑定打开状态（在 Adapter 的 onBindViewHolder 中调用）
+     * 立即恢复 id 对应的打开/关闭状态，没有动画，也不会额外触发布局
+     * @param store 状态存储 为null表示解除绑定
+     * @param id    数据的稳定ID
+     */
+    public void bindState(SwipeStateStore store, long id) {
+        mSettleEngine.cancel();
+        //复用的行可能是被删除时收起或整行滑出的行
+        setCollapseFraction(0F);
+        resetFullSwipe();
+        if (mMetricsTracker != null) {
+            mMetricsTracker.onSettleCanceled();
+        }
+        mStateStore = store;
+        mStateId = id;
+
+        final int state = store == null ? SwipeStateStore.STATE_CLOSED : store.get(id);
+        final boolean open = state != SwipeStateStore.STATE_CLOSED;
+
+        if (open) {
+            ensureMenu();
+        }
+
+        if (state == SwipeStateStore.STATE_OPEN_START) {
+            mOpenSide = SIDE_START;
+        } else if (state == SwipeStateStore.STATE_OPEN_END) {
+            mOpenSide = SIDE_END;
+        } else {
+            mOpenSide = open ? getDefaultSide() : 0;
+        }
+        mIsOpen = open;
+        mIsExpanded = open;
+        if (mCoordinator != null) {
+            if (open) {
+                mCoordinator.onOpened(this);
+            } else {
+                mCoordinator.onClosed(this);
+            }
+        }
+        if (mContentView != null) {
+            //展开时内容View不可长按
+            mContentView.setLongClickable(!open);
+        }
+        //菜单尺寸在测量后才确定，如果发生变化会在 onLayout() 中修正
+        setSwipeOffset(open ? getExpandedOffset() : 0);
+        if (!open) {
+            recycleMenu();
+        }
+    }
+
+    /**
+     * 设置收起比例（删除动画使用，本行的子View使用测量缓存）
+     * 尺寸变化需要重新布局：requestLayout() 会传到父容器，在 RecyclerView 中整个列表都会重新布局一次
+     * 收起的是交叉轴尺寸：横向侧滑时为高度（纵向列表），纵向侧滑时为宽度（横向列表）
+     * 重新绑定状态 {@link #bindState(SwipeStateStore, long)} 时自动恢复完整尺寸
+     * @param fraction 0: 完整尺寸  1: 尺寸为0
+     */
+    public void setCollapseFraction(float fraction) {
+        fraction = Math.max(0F, Math.min(fraction, 1F));
+        if (mCollapseFraction == fraction) {
+            return;
+        }
+        mCollapseFraction = fraction;
+        requestLayout();
+    }
+
+    public float getCollapseFraction() {
+        return mCollapseFraction;
+    }
+
+    /**
+     * 当前绑定的数据ID（没有绑定状态存储时无意义）
+     */
+    long getStateId() {
+        return mStateId;
+    }
+
+    /**
+     * 侧滑菜单是否处于打开状态（包括正在展开）
+     */
+    public boolean isOpen() {
+        return mIsOpen;
+    }
+
+    /**
+     * 获取所属容器的协调器（用于设置打开数量策略等）
+     * @return 未添加到容器时返回null
+     */
+    public SwipeRemoveCoordinator getCoordinator() {
+        return mCoordinator;
+    }
+
     @Override
     public boolean performLongClick() {
         if (Math.abs(getScaleX()) > mScaledTouchSlop) {
@@ -517,26 +1329,156 @@ public class SwipeRemoveLayout extends ViewGroup {
         return super.performLongClick();
     }
 
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        mCoordinator = SwipeRemoveCoordinator.find(this);
+        if (mIsOpen) {
+            if (mMenuLayoutRes != 0 && mMenuView == null) {
+                //离屏时菜单已经归还复用池，不能在分发 attach 的过程中添加子View，延后加载
+                post(mEnsureMenuAction);
+            }
+            if (mCoordinator != null) {
+                mCoordinator.onOpened(this);
+            }
+        }
+    }
+
     @Override
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
-        if (sViewCache == this) {
-            smoothClose();
+        removeCallbacks(mEnsureMenuAction);
+        removeCallbacks(mApplyDragAction);
+        mDragFramePending = false;
+        if (mFullSwipeState == FULL_SWIPE_ANIMATING) {
+            //滑出过程中离屏，立即结束并回调，删除照常进行
+            animate().cancel();
+            onFullSwipeEnd();
+        }
+        mIsTouching = false;
+        mGestureCore.cancel();
+        if (mMetricsTracker != null) {
+            //离屏的手势数据不完整，直接丢弃
+            mMetricsTracker.cancel();
+        }
+        if (mIsOpen) {
+            if (mStateStore == null) {
+                smoothClose();
+            } else {
+                //绑定了状态存储，打开状态保留在存储中，重新绑定时恢复
+                mSettleEngine.cancel();
+                if (mCoordinator != null) {
+                    mCoordinator.onClosed(this);
+                }
+            }
+        }
+        if (mMenuView != null && getMenuPool() != null) {
+            //共享的菜单不能跟着离屏的行，立即归还复用池（打开状态由状态存储负责恢复）
+            mSettleEngine.cancel();
+            if (!mIsOpen) {
+                mIsExpanded = false;
+                setSwipeOffset(0);
+            }
+            releaseMenu();
         }
+        if (mCoordinator != null) {
+            mCoordinator.onTouchEnd(this);
+            mCoordinator = null;
+        }
+    }
+
+    /**
+     * 延迟加载菜单的添加/移除监听
+     */
+    public interface OnMenuAttachListener {
+
+        /**
+         * 菜单View被添加到布局中（第一次加载或从复用池中取出）
+         * @param layout   侧滑布局
+         * @param menuView 菜单View（菜单布局的根View）
+         */
+        void onMenuAttached(SwipeRemoveLayout layout, View menuView);
+
+        /**
+         * 菜单View从布局中移除，即将归还复用池
+         * @param layout   侧滑布局
+         * @param menuView 菜单View
+         */
+        void onMenuDetached(SwipeRemoveLayout layout, View menuView);
     }
 
-    private static class CustomLayoutParams extends MarginLayoutParams {
+    /**
+     * 菜单打开/关闭监听（两端菜单各自回调）
+     */
+    public interface OnSwipeMenuListener {
+
+        /**
+         * 菜单完全展开（动画结束）
+         * @param layout 侧滑布局
+         * @param side   {@link SwipeRemoveLayout#SIDE_START} 或 {@link SwipeRemoveLayout#SIDE_END}
+         */
+        void onMenuOpened(SwipeRemoveLayout layout, int side);
+
+        /**
+         * 菜单完全关闭（动画结束）
+         * @param layout 侧滑布局
+         * @param side   {@link SwipeRemoveLayout#SIDE_START} 或 {@link SwipeRemoveLayout#SIDE_END}
+         */
+        void onMenuClosed(SwipeRemoveLayout layout, int side);
+    }
 
-        private CustomLayoutParams(Context c, AttributeSet attrs) {
+    /**
+     * 整行滑动监听
+     */
+    public interface OnFullSwipeListener {
+
+        /**
+         * 整行已经滑出屏幕（在这里删除数据，例如 {@link SwipeRemovePipeline#remove(long)}）
+         * 行保持滑出状态，直到重新绑定状态 {@link SwipeRemoveLayout#bindState(SwipeStateStore, long)}
+         * @param layout 侧滑布局
+         */
+        void onFullSwipe(SwipeRemoveLayout layout);
+    }
+
+    /**
+     * 侧滑性能监听
+     */
+    public interface OnSwipeMetricsListener {
+
+        /**
+         * 一次侧滑手势结束（归位完成或被打断），在UI线程回调
+         * @param layout  侧滑布局
+         * @param metrics 手势数据（复用对象，只在回调期间有效）
+         */
+        void onGestureMetrics(SwipeRemoveLayout layout, SwipeGestureMetrics metrics);
+    }
+
+    /**
+     * 子View布局参数（菜单通过 app:layout_swipeMenuSide 指定放在哪一端）
+     */
+    public static class CustomLayoutParams extends MarginLayoutParams {
+
+        /** 菜单所在的一端 {@link #SIDE_DEFAULT}、{@link #SIDE_START} 或 {@link #SIDE_END} */
+        public int menuSide = SIDE_DEFAULT;
+
+        public CustomLayoutParams(Context c, AttributeSet attrs) {
             super(c, attrs);
+
+            final TypedArray typedArray = c.obtainStyledAttributes(attrs, R.styleable.SwipeRemoveLayout_Layout);
+
+            menuSide = typedArray.getInt(R.styleable.SwipeRemoveLayout_Layout_layout_swipeMenuSide, SIDE_DEFAULT);
+            typedArray.recycle();
         }
 
-        private CustomLayoutParams(int width, int height) {
+        public CustomLayoutParams(int width, int height) {
             super(width, height);
         }
 
-        private CustomLayoutParams(LayoutParams source) {
+        public CustomLayoutParams(LayoutParams source) {
             super(source);
+            if (source instanceof CustomLayoutParams) {
+                menuSide = ((CustomLayoutParams) source).menuSide;
+            }
         }
     }
 
@@ -0,0 +1,303 @@
+package com.shijingfeng.swipe_remove;
+
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.TimeInterpolator;
+import android.animation.ValueAnimator;
+import android.view.Choreographer;
+import android.view.animation.DecelerateInterpolator;
+
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.ListAdapter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * function: 删除流水线（关闭菜单 -> 收起行高度 -> 合并提交列表更新，差异计算在 AsyncListDiffer 的后台线程中完成）
+ *           连续快速删除时，同一帧内以及上一次差异计算期间的删除请求合并为一次提交，不使用 notifyDataSetChanged()
+ *           使用 ListAdapter 时，在 onCurrentListChanged() 中调用 {@link #onCurrentListChanged()}
+ */
+public final class SwipeRemovePipeline<T> {
+
+    /** 默认收起动画时长（毫秒值）*/
+    public static final int DEFAULT_COLLAPSE_DURATION = 200;
+
+    /** 收起动画插值器（无状态，全局共享）*/
+    private static final TimeInterpolator COLLAPSE_INTERPOLATOR = new DecelerateInterpolator();
+
+    /** 列表 */
+    private final ListTarget<T> mTarget;
+    /** 数据的稳定ID */
+    private final KeyProvider<T> mKeyProvider;
+    /** 等待删除的ID（提交后保留，直到确认已经不在当前列表中）*/
+    private final KeySet mPendingKeys = new KeySet();
+    /** 确认时使用的临时集合（与 mPendingKeys 交换，不重复创建）*/
+    private KeySet mScratchKeys = new KeySet();
+    /** 在下一帧合并提交 */
+    private final Choreographer.FrameCallback mFlushCallback = frameTimeNanos -> {
+        mFlushScheduled = false;
+        flush();
+    };
+    /** 收起动画时长（毫秒值）*/
+    private int mCollapseDuration = DEFAULT_COLLAPSE_DURATION;
+    /** 是否已经请求在下一帧提交 */
+    private boolean mFlushScheduled;
+    /** 是否有正在后台计算差异的提交 */
+    private boolean mDiffInFlight;
+    /** 提交次数（每次提交计算一次差异）*/
+    private int mDiffPassCount;
+
+    /**
+     * @param differ      列表差异计算器
+     * @param keyProvider 数据的稳定ID
+     */
+    public SwipeRemovePipeline(AsyncListDiffer<T> differ, KeyProvider<T> keyProvider) {
+        this(new ListTarget<T>() {
+
+            @Override
+            public List<T> getCurrentList() {
+                return differ.getCurrentList();
+            }
+
+            @Override
+            public void submitList(List<T> list) {
+                differ.submitList(list);
+            }
+        }, keyProvider);
+        //其他地方提交的列表覆盖了本次提交时，提交回调不会执行，列表变化监听总会执行
+        differ.addListListener((previousList, currentList) -> onCurrentListChanged());
+    }
+
+    /**
+     * @param adapter     列表Adapter（请在它的 onCurrentListChanged() 中调用 {@link #onCurrentListChanged()}）
+     * @param keyProvider 数据的稳定ID
+     */
+    public SwipeRemovePipeline(ListAdapter<T, ?> adapter, KeyProvider<T> keyProvider) {
+        this(new ListTarget<T>() {
+
+            @Override
+            public List<T> getCurrentList() {
+                return adapter.getCurrentList();
+            }
+
+            @Override
+            public void submitList(List<T> list) {
+                //由 onCurrentListChanged() 确认，不使用提交回调（否则每次提交确认两次）
+                adapter.submitList(list);
+            }
+        }, keyProvider);
+    }
+
+    private SwipeRemovePipeline(ListTarget<T> target, KeyProvider<T> keyProvider) {
+        mTarget = target;
+        mKeyProvider = keyProvider;
+    }
+
+    /**
+     * 设置收起动画时长
+     * @param collapseDuration 毫秒值 0: 不播放收起动画
+     */
+    public void setCollapseDuration(int collapseDuration) {
+        if (collapseDuration < 0) {
+            throw new IllegalArgumentException("collapseDuration must not be negative.");
+        }
+        mCollapseDuration = collapseDuration;
+    }
+
+    public int getCollapseDuration() {
+        return mCollapseDuration;
+    }
+
+    /**
+     * 删除数据（不播放动画，下一帧合并提交）
+     * @param key 数据的稳定ID
+     */
+    public void remove(long key) {
+        mPendingKeys.add(key);
+        scheduleFlush();
+    }
+
+    /**
+     * 删除一行：关闭菜单，收起高度，然后合并提交
+     * 收起期间每帧修改行的尺寸，requestLayout() 会传到 RecyclerView，整个列表每帧重新布局一次
+     * （其他行的测量和布局参数没有变化，只重新摆放；对布局耗时敏感时可以设置收起时长为0，由 ItemAnimator 播放删除动画）
+     * @param layout 行的侧滑布局
+     * @param key    数据的稳定ID
+     */
+    public void remove(SwipeRemoveLayout layout, long key) {
+        layout.close();
+        if (mCollapseDuration == 0) {
+            remove(key);
+            return;
+        }
+
+        //收起过程中行被复用（例如滑出屏幕后绑定了其他数据）就不再修改它的高度，删除照常提交
+        final long boundId = layout.getStateId();
+        final ValueAnimator animator = ValueAnimator.ofFloat(0F, 1F);
+
+        animator.setDuration(mCollapseDuration);
+        animator.setInterpolator(COLLAPSE_INTERPOLATOR);
+        animator.addUpdateListener(animation -> {
+            if (layout.getStateId() == boundId) {
+                layout.setCollapseFraction(animation.getAnimatedFraction());
+            }
+        });
+        animator.addListener(new AnimatorListenerAdapter() {
+
+            @Override
+            public void onAnimationEnd(Animator animation) {
+                remove(key);
+            }
+        });
+        animator.start();
+    }
+
+    /**
+     * 列表发生变化（提交生效或被其他提交覆盖），确认已删除的数据，继续提交剩余的删除请求
+     * 使用 ListAdapter 时请在它的 onCurrentListChanged() 中调用，使用 AsyncListDiffer 时自动调用
+     */
+    public void onCurrentListChanged() {
+        mDiffInFlight = false;
+        if (mPendingKeys.size() == 0) {
+            return;
+        }
+
+        //只保留仍在当前列表中的ID
+        final KeySet stillPresent = mScratchKeys;
+        final List<T> currentList = mTarget.getCurrentList();
+
+        stillPresent.clear();
+        for (int i = 0, size = currentList.size(); i < size; ++i) {
+            final long key = mKeyProvider.getKey(currentList.get(i));
+
+            if (mPendingKeys.contains(key)) {
+                stillPresent.add(key);
+            }
+        }
+        mScratchKeys = mPendingKeys.swap(stillPresent);
+        if (mPendingKeys.size() > 0) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * 等待删除（包括已提交还没有生效）的数量
+     */
+    public int getPendingCount() {
+        return mPendingKeys.size();
+    }
+
+    /**
+     * 提交次数（每次提交在后台计算一次差异）
+     */
+    public int getDiffPassCount() {
+        return mDiffPassCount;
+    }
+
+    private void scheduleFlush() {
+        if (!mFlushScheduled && !mDiffInFlight) {
+            mFlushScheduled = true;
+            Choreographer.getInstance().postFrameCallback(mFlushCallback);
+        }
+    }
+
+    /**
+     * 合并提交：从当前列表中去掉所有等待删除的数据（上一次提交还在计算差异时，等它生效后再提交）
+     */
+    private void flush() {
+        if (mDiffInFlight || mPendingKeys.size() == 0) {
+            return;
+        }
+
+        final List<T> currentList = mTarget.getCurrentList();
+        final List<T> newList = new ArrayList<>(currentList.size());
+
+        for (int i = 0, size = currentList.size(); i < size; ++i) {
+            final T item = currentList.get(i);
+
+            if (!mPendingKeys.contains(mKeyProvider.getKey(item))) {
+                newList.add(item);
+            }
+        }
+        if (newList.size() == currentList.size()) {
+            //要删除的数据都已经不在列表中
+            mPendingKeys.clear();
+            return;
+        }
+        mDiffInFlight = true;
+        ++mDiffPassCount;
+        mTarget.submitList(newList);
+    }
+
+    /**
+     * 数据的稳定ID
+     */
+    public interface KeyProvider<T> {
+
+        long getKey(T item);
+    }
+
+    /**
+     * AsyncListDiffer 与 ListAdapter 的公共部分
+     */
+    private interface ListTarget<T> {
+
+        List<T> getCurrentList();
+
+        void submitList(List<T> list);
+    }
+
+    /**
+     * 有序 long 集合（二分查找，删除请求数量通常远小于列表长度）
+     */
+    private static final class KeySet {
+
+        private long[] mKeys = new long[16];
+        private int mSize;
+
+        void add(long key) {
+            int index = Arrays.binarySearch(mKeys, 0, mSize, key);
+
+            if (index >= 0) {
+                return;
+            }
+            index = ~index;
+            if (mSize == mKeys.length) {
+                mKeys = Arrays.copyOf(mKeys, mSize * 2);
+            }
+            System.arraycopy(mKeys, index, mKeys, index + 1, mSize - index);
+            mKeys[index] = key;
+            ++mSize;
+        }
+
+        boolean contains(long key) {
+            return mSize > 0 && Arrays.binarySearch(mKeys, 0, mSize, key) >= 0;
+        }
+
+        int size() {
+            return mSize;
+        }
+
+        void clear() {
+            mSize = 0;
+        }
+
+        /**
+         * 与 other 交换内容
+         * @return other（交换后保存本集合原来的内容）
+         */
+        KeySet swap(KeySet other) {
+            final long[] keys = mKeys;
+            final int size = mSize;
+
+            mKeys = other.mKeys;
+            mSize = other.mSize;
+            other.mKeys = keys;
+            other.mSize = size;
+            return other;
+        }
+    }
+
+}
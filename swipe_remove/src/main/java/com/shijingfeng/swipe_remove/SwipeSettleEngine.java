@@ -0,0 +1,195 @@
+package com.shijingfeng.swipe_remove;
+
+import android.animation.Animator;
+import android.animation.TimeInterpolator;
+import android.animation.ValueAnimator;
+import android.view.animation.AccelerateInterpolator;
+import android.view.animation.LinearInterpolator;
+import android.view.animation.OvershootInterpolator;
+
+/**
+ * function: 侧滑菜单展开/关闭动画引擎（每个SwipeRemoveLayout只创建一次，反复复用，动画过程中不产生任何对象）
+ */
+final class SwipeSettleEngine implements ValueAnimator.AnimatorUpdateListener, Animator.AnimatorListener {
+
+    /** 关闭动画插值器（无状态，全局共享）*/
+    private static final TimeInterpolator CLOSE_INTERPOLATOR = new AccelerateInterpolator();
+    /** 展开动画插值器（无状态，全局共享）*/
+    private static final TimeInterpolator EXPAND_INTERPOLATOR = new OvershootInterpolator();
+    /** 弹簧动画插值器（弹簧模式下动画器只用作帧时钟）*/
+    private static final TimeInterpolator SPRING_INTERPOLATOR = new LinearInterpolator();
+    /** 弹簧动画最大时长（毫秒值），超时直接到达目标位置 */
+    private static final int SPRING_MAX_DURATION = 1000;
+
+    /** 宿主布局 */
+    private final SwipeRemoveLayout mLayout;
+    /** 唯一的动画器，只在 0 ~ 1 之间变化，由 mFromOffset 和 mToOffset 换算成实际偏移量 */
+    private final ValueAnimator mAnimator;
+    /** 弹簧模型（弹簧模式下使用）*/
+    private final SpringSimulation mSpring = new SpringSimulation();
+    /** 动画起始偏移量 */
+    private int mFromOffset;
+    /** 动画结束偏移量 */
+    private int mToOffset;
+    /** 当前动画是否是展开动画 */
+    private boolean mExpand;
+    /** 当前动画是否被取消了（被取消的动画不回调结束事件）*/
+    private boolean mCanceled;
+    /** 当前动画是否使用弹簧模型 */
+    private boolean mSpringMode;
+    /** 弹簧是否已经静止 */
+    private boolean mSpringAtRest;
+
+    SwipeSettleEngine(SwipeRemoveLayout layout) {
+        mLayout = layout;
+        mAnimator = ValueAnimator.ofFloat(0F, 1F);
+        mAnimator.addUpdateListener(this);
+        mAnimator.addListener(this);
+    }
+
+    /**
+     * 开始展开动画
+     * @param from     起始偏移量
+     * @param to       结束偏移量
+     * @param duration 动画时长（毫秒值）
+     */
+    void expand(int from, int to, int duration) {
+        start(from, to, true, false, EXPAND_INTERPOLATOR, duration);
+    }
+
+    /**
+     * 开始关闭动画
+     * @param from     起始偏移量
+     * @param duration 动画时长（毫秒值）
+     */
+    void close(int from, int duration) {
+        start(from, 0, false, false, CLOSE_INTERPOLATOR, duration);
+    }
+
+    /**
+     * 使用弹簧模型开始展开动画
+     * @param from     起始偏移量
+     * @param to       结束偏移量
+     * @param velocity 松手时偏移量的变化速度（像素点数量/秒）
+     */
+    void springExpand(int from, int to, float velocity) {
+        cancel();
+        mSpring.start(from, velocity, to);
+        start(from, to, true, true, SPRING_INTERPOLATOR, SPRING_MAX_DURATION);
+    }
+
+    /**
+     * 使用弹簧模型开始关闭动画
+     * @param from     起始偏移量
+     * @param velocity 松手时偏移量的变化速度（像素点数量/秒）
+     */
+    void springClose(int from, float velocity) {
+        cancel();
+        mSpring.start(from, velocity, 0);
+        start(from, 0, false, true, SPRING_INTERPOLATOR, SPRING_MAX_DURATION);
+    }
+
+    /**
+     * 弹簧模型（用于修改刚度和阻尼比）
+     */
+    SpringSimulation getSpring() {
+        return mSpring;
+    }
+
+    /**
+     * 开始动画
+     */
+    private void start(int from, int to, boolean expand, boolean springMode, TimeInterpolator interpolator, int duration) {
+        cancel();
+
+        mFromOffset = from;
+        mToOffset = to;
+        mExpand = expand;
+        mCanceled = false;
+        mSpringMode = springMode;
+        mSpringAtRest = false;
+
+        mAnimator.setInterpolator(interpolator);
+        mAnimator.setDuration(duration);
+        mAnimator.start();
+    }
+
+    /**
+     * 取消动画
+     */
+    void cancel() {
+        if (mAnimator.isStarted()) {
+            mCanceled = true;
+            mAnimator.cancel();
+        }
+    }
+
+    /**
+     * 动画是否正在进行
+     */
+    boolean isRunning() {
+        return mAnimator.isStarted();
+    }
+
+    @Override
+    public void onAnimationUpdate(ValueAnimator animation) {
+        if (mSpringMode) {
+            onSpringUpdate(animation);
+            return;
+        }
+        //getAnimatedFraction() 已经经过插值器换算，直接使用基本类型，避免 getAnimatedValue() 装箱
+        final float fraction = animation.getAnimatedFraction();
+
+        mLayout.onSettleUpdate(mFromOffset + Math.round((mToOffset - mFromOffset) * fraction));
+    }
+
+    /**
+     * 弹簧模式下每一帧的处理
+     */
+    private void onSpringUpdate(ValueAnimator animation) {
+        if (mSpringAtRest) {
+            //end() 会再回调一次本方法
+            return;
+        }
+        mSpring.update(animation.getCurrentPlayTime() / 1000D);
+
+        if (mSpring.isAtRest()) {
+            mSpringAtRest = true;
+            mLayout.onSettleUpdate(mToOffset);
+            //提前结束
+            animation.end();
+            return;
+        }
+
+        int offset = (int) Math.round(mSpring.getPosition());
+
+        //回弹不允许越过零点（否则会露出另一侧的空白）
+        final int side = mToOffset != 0 ? mToOffset : mFromOffset;
+
+        if ((side > 0 && offset < 0) || (side < 0 && offset > 0)) {
+            offset = 0;
+        }
+        mLayout.onSettleUpdate(offset);
+    }
+
+    @Override
+    public void onAnimationStart(Animator animation) {}
+
+    @Override
+    public void onAnimationEnd(Animator animation) {
+        if (!mCanceled) {
+            if (mSpringMode) {
+                //超过最大时长仍未静止，直接到达目标位置
+                mLayout.onSettleUpdate(mToOffset);
+            }
+            mLayout.onSettleEnd(mExpand);
+        }
+    }
+
+    @Override
+    public void onAnimationCancel(Animator animation) {}
+
+    @Override
+    public void onAnimationRepeat(Animator animation) {}
+
+}
@@ -0,0 +1,167 @@
+package com.shijingfeng.swipe_remove;
+
+import android.os.Bundle;
+
+import java.util.Arrays;
+
+/**
+ * function: 侧滑菜单打开状态存储（以Adapter的稳定ID为key，基本类型有序数组 + 二分查找，不装箱）
+ *           Adapter 在 onBindViewHolder 中调用 {@link SwipeRemoveLayout#bindState(SwipeStateStore, long)}，
+ *           View 被复用给其他数据时状态不会跟错数据，也不会丢失
+ */
+public final class SwipeStateStore {
+
+    /** 关闭（不存储）*/
+    public static final int STATE_CLOSED = 0;
+    /** 打开（没有指定哪一端，按 swipeDirection 对应的菜单打开）*/
+    public static final int STATE_OPEN = 1;
+    /** 起始端菜单打开 */
+    public static final int STATE_OPEN_START = 2;
+    /** 末端菜单打开 */
+    public static final int STATE_OPEN_END = 3;
+
+    /** 默认容量 */
+    private static final int DEFAULT_CAPACITY = 8;
+    /** 保存到Bundle时 key 的后缀 */
+    private static final String KEYS_SUFFIX = ":swipe_state_keys";
+    private static final String STATES_SUFFIX = ":swipe_state_values";
+
+    /** 有序的ID数组 */
+    private long[] mKeys;
+    /** 与 mKeys 一一对应的状态 */
+    private int[] mStates;
+    /** 存储数量 */
+    private int mSize;
+
+    public SwipeStateStore() {
+        mKeys = new long[DEFAULT_CAPACITY];
+        mStates = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * 获取状态
+     * @param id 稳定ID
+     * @return 不存在时返回 {@link #STATE_CLOSED}
+     */
+    public int get(long id) {
+        final int index = Arrays.binarySearch(mKeys, 0, mSize, id);
+
+        return index < 0 ? STATE_CLOSED : mStates[index];
+    }
+
+    /**
+     * 是否是打开状态
+     * @param id 稳定ID
+     */
+    public boolean isOpen(long id) {
+        return get(id) != STATE_CLOSED;
+    }
+
+    /**
+     * 设置状态
+     * @param id    稳定ID
+     * @param state 状态 {@link #STATE_CLOSED} 等同于 {@link #remove(long)}
+     */
+    public void put(long id, int state) {
+        if (state == STATE_CLOSED) {
+            remove(id);
+            return;
+        }
+
+        int index = Arrays.binarySearch(mKeys, 0, mSize, id);
+
+        if (index >= 0) {
+            mStates[index] = state;
+            return;
+        }
+        index = ~index;
+
+        if (mSize == mKeys.length) {
+            final int capacity = mSize * 2;
+
+            mKeys = Arrays.copyOf(mKeys, capacity);
+            mStates = Arrays.copyOf(mStates, capacity);
+        }
+        if (index < mSize) {
+            System.arraycopy(mKeys, index, mKeys, index + 1, mSize - index);
+            System.arraycopy(mStates, index, mStates, index + 1, mSize - index);
+        }
+        mKeys[index] = id;
+        mStates[index] = state;
+        ++mSize;
+    }
+
+    /**
+     * 移除状态（即关闭）
+     * @param id 稳定ID
+     */
+    public void remove(long id) {
+        final int index = Arrays.binarySearch(mKeys, 0, mSize, id);
+
+        if (index >= 0) {
+            System.arraycopy(mKeys, index + 1, mKeys, index, mSize - index - 1);
+            System.arraycopy(mStates, index + 1, mStates, index, mSize - index - 1);
+            --mSize;
+        }
+    }
+
+    /**
+     * 清空（全部关闭）
+     */
+    public void clear() {
+        mSize = 0;
+    }
+
+    /**
+     * 存储数量（即打开的数量）
+     */
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * 第 index 个ID（按ID升序）
+     */
+    public long keyAt(int index) {
+        return mKeys[index];
+    }
+
+    /**
+     * 第 index 个状态（按ID升序）
+     */
+    public int stateAt(int index) {
+        return mStates[index];
+    }
+
+    /**
+     * 保存状态（在 Activity/Fragment 的 onSaveInstanceState 中调用，用于进程被回收后恢复）
+     * @param outState Bundle
+     * @param key      同一个Bundle中保存多个时用于区分
+     */
+    public void onSaveInstanceState(Bundle outState, String key) {
+        outState.putLongArray(key + KEYS_SUFFIX, Arrays.copyOf(mKeys, mSize));
+        outState.putIntArray(key + STATES_SUFFIX, Arrays.copyOf(mStates, mSize));
+    }
+
+    /**
+     * 恢复状态
+     * @param savedInstanceState Bundle 可以为null
+     * @param key                与保存时一致
+     */
+    public void onRestoreInstanceState(Bundle savedInstanceState, String key) {
+        if (savedInstanceState == null) {
+            return;
+        }
+
+        final long[] keys = savedInstanceState.getLongArray(key + KEYS_SUFFIX);
+        final int[] states = savedInstanceState.getIntArray(key + STATES_SUFFIX);
+
+        if (keys == null || states == null || keys.length != states.length) {
+            return;
+        }
+        mKeys = Arrays.copyOf(keys, Math.max(keys.length, DEFAULT_CAPACITY));
+        mStates = Arrays.copyOf(states, mKeys.length);
+        mSize = keys.length;
+    }
+
+}
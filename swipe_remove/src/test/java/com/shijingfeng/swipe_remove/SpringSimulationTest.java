@@ -0,0 +1,125 @@
+package com.shijingfeng.swipe_remove;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * function: 弹簧模型仿真测试（纯JVM，按60帧逐帧采样，检查归位时间和回弹幅度）
+ */
+public class SpringSimulationTest {
+
+    /** 帧间隔（秒）*/
+    private static final double FRAME_TIME = 1 / 60D;
+    /** 最多模拟的帧数 */
+    private static final int MAX_FRAMES = 600;
+    /** 菜单宽度 */
+    private static final int MENU_WIDTH = 720;
+
+    @Test
+    public void fastFling_settlesWithinAFewFrames() {
+        final SpringSimulation spring = new SpringSimulation();
+
+        //已经滑出一半，松手速度 8000 像素点数量/秒
+        spring.start(MENU_WIDTH / 2D, 8000, MENU_WIDTH);
+
+        final int frames = framesToRest(spring);
+
+        //固定时长动画需要 300ms（18帧）
+        assertTrue("settle frames: " + frames, frames < 18);
+    }
+
+    @Test
+    public void slowRelease_settlesWithinDurationLimit() {
+        final SpringSimulation spring = new SpringSimulation();
+
+        spring.start(MENU_WIDTH / 2D, 0, 0);
+
+        final int frames = framesToRest(spring);
+
+        assertTrue("settle frames: " + frames, frames < 30);
+    }
+
+    @Test
+    public void defaultDamping_overshootIsBounded() {
+        final SpringSimulation spring = new SpringSimulation();
+
+        spring.start(0, 8000, MENU_WIDTH);
+
+        //默认阻尼比的回弹不超过菜单宽度的 10%
+        assertTrue(maxOvershoot(spring) < MENU_WIDTH * 0.1);
+    }
+
+    @Test
+    public void criticalDamping_neverOvershoots() {
+        final SpringSimulation spring = new SpringSimulation();
+
+        spring.setDampingRatio(1F);
+        spring.start(MENU_WIDTH, 0, 0);
+        assertEquals(0, maxOvershoot(spring), 0.5);
+
+        spring.setDampingRatio(2F);
+        spring.start(MENU_WIDTH, 0, 0);
+        assertEquals(0, maxOvershoot(spring), 0.5);
+    }
+
+    @Test
+    public void higherStiffness_settlesFaster() {
+        final SpringSimulation soft = new SpringSimulation();
+        final SpringSimulation stiff = new SpringSimulation();
+
+        soft.setStiffness(200F);
+        stiff.setStiffness(3000F);
+        soft.start(MENU_WIDTH, 0, 0);
+        stiff.start(MENU_WIDTH, 0, 0);
+
+        assertTrue(framesToRest(stiff) < framesToRest(soft));
+    }
+
+    @Test
+    public void startState_matchesInput() {
+        final SpringSimulation spring = new SpringSimulation();
+
+        spring.start(100, -500, 0);
+        spring.update(0);
+
+        assertEquals(100, spring.getPosition(), 1e-6);
+        assertEquals(-500, spring.getVelocity(), 1e-6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void nonPositiveStiffness_isRejected() {
+        new SpringSimulation().setStiffness(0F);
+    }
+
+    /**
+     * 逐帧模拟直到静止
+     * @return 静止时的帧数
+     */
+    private static int framesToRest(SpringSimulation spring) {
+        for (int frame = 1; frame <= MAX_FRAMES; ++frame) {
+            spring.update(frame * FRAME_TIME);
+            if (spring.isAtRest()) {
+                return frame;
+            }
+        }
+        return MAX_FRAMES;
+    }
+
+    /**
+     * 逐帧模拟，计算越过目标位置的最大距离
+     */
+    private static double maxOvershoot(SpringSimulation spring) {
+        final double target = spring.getTarget();
+        final double side = Math.signum(spring.getPosition() - target);
+        double overshoot = 0;
+
+        for (int frame = 1; frame <= MAX_FRAMES; ++frame) {
+            spring.update(frame * FRAME_TIME);
+            overshoot = Math.max(overshoot, -side * (spring.getPosition() - target));
+        }
+        return overshoot;
+    }
+
+}
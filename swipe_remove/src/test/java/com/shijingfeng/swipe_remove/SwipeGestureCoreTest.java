@@ -0,0 +1,186 @@
+package com.shijingfeng.swipe_remove;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * function: 侧滑手势状态机测试（纯JVM，不需要Android环境），包括固定种子的随机手势重放
+ */
+public class SwipeGestureCoreTest {
+
+    private static final int ROW_SIZE = 1000;
+    private static final int TOUCH_SLOP = 8;
+    private static final int MAX_VELOCITY = 8000;
+    /** 随机手势数量 */
+    private static final int FUZZ_GESTURES = 200000;
+
+    private SwipeReleasePolicy mPolicy;
+    private SwipeGestureCore mCore;
+
+    @Before
+    public void setUp() {
+        mPolicy = new SwipeReleasePolicy();
+        mPolicy.setMenuSizes(200, 300);
+        mCore = new SwipeGestureCore(mPolicy);
+        mCore.setTouchSlop(TOUCH_SLOP);
+        mCore.setMaxVelocity(MAX_VELOCITY);
+    }
+
+    @Test
+    public void withinSlop_staysUndecided() {
+        mCore.onDown(500, 100, 0, 0, ROW_SIZE);
+        assertFalse(mCore.onMove(495, 104, 8));
+
+        assertEquals(SwipeGestureCore.STATE_UNDECIDED, mCore.getState());
+        assertEquals(SwipeGestureCore.RELEASE_NONE, mCore.onUp(495, 104, 16));
+        assertEquals(SwipeGestureCore.STATE_IDLE, mCore.getState());
+    }
+
+    @Test
+    public void steepMove_becomesScrollAndNeverDrags() {
+        mCore.onDown(500, 100, 0, 0, ROW_SIZE);
+        assertFalse(mCore.onMove(495, 130, 8));
+        assertEquals(SwipeGestureCore.STATE_SCROLL, mCore.getState());
+
+        //确定为列表滚动后，即使转为横向也不再侧滑
+        assertFalse(mCore.onMove(300, 130, 16));
+        assertEquals(0F, mCore.getPendingOffset(), 0F);
+        assertEquals(SwipeGestureCore.RELEASE_NONE, mCore.onUp(300, 130, 24));
+    }
+
+    @Test
+    public void drag_includesSlopDistanceAndClampsToMenu() {
+        final int[] callbackCount = new int[1];
+
+        mCore.setCallback(() -> {
+            ++callbackCount[0];
+            return 0;
+        });
+        mCore.onDown(500, 100, 0, 0, ROW_SIZE);
+        assertTrue(mCore.onMove(480, 102, 8));
+
+        //确定方向时一次补上最小滑动距离内的移动
+        assertEquals(SwipeGestureCore.STATE_DRAG, mCore.getState());
+        assertEquals(20F, mCore.getPendingOffset(), 0F);
+        assertEquals(1, callbackCount[0]);
+
+        assertTrue(mCore.onMove(100, 102, 16));
+        assertEquals(300F, mCore.getPendingOffset(), 0F);
+        //已经到达上限，不需要再刷新
+        assertFalse(mCore.onMove(50, 102, 24));
+        assertEquals(1, callbackCount[0]);
+    }
+
+    @Test
+    public void drag_startsFromOffsetReturnedByCallback() {
+        //按下时归位动画仍在进行，回调返回的是动画当前位置
+        mCore.setCallback(() -> 150);
+        mCore.onDown(500, 100, 0, 300, ROW_SIZE);
+        mCore.onMove(520, 100, 8);
+
+        assertEquals(130F, mCore.getPendingOffset(), 0F);
+    }
+
+    @Test
+    public void fastRelease_usesEstimatedVelocity() {
+        mCore.onDown(500, 100, 0, 0, ROW_SIZE);
+        for (int i = 1; i <= 5; ++i) {
+            mCore.onMove(500 - 16 * i, 100, 8 * i);
+        }
+
+        //手指 -2000 像素点/秒，偏移量 +2000 像素点/秒，80 < 120 仍然展开
+        assertEquals(SwipeReleasePolicy.DECISION_EXPAND, mCore.onUp(404, 100, 48));
+        assertEquals(2000F, mCore.getOffsetVelocity(), 1F);
+        assertTrue(mCore.isSwiped());
+    }
+
+    @Test
+    public void pauseBeforeRelease_dropsEarlierVelocity() {
+        mCore.onDown(500, 100, 0, 0, ROW_SIZE);
+        for (int i = 1; i <= 5; ++i) {
+            mCore.onMove(500 - 16 * i, 100, 8 * i);
+        }
+
+        //停顿超过40毫秒后松手，只按距离判断
+        assertEquals(SwipeReleasePolicy.DECISION_CLOSE, mCore.onUp(420, 100, 200));
+        assertEquals(0F, mCore.getOffsetVelocity(), 0F);
+    }
+
+    @Test
+    public void fuzz_invariantsHold() {
+        final Random random = new Random(20190727L);
+
+        for (int gesture = 0; gesture < FUZZ_GESTURES; ++gesture) {
+            final boolean fullSwipe = random.nextInt(4) == 0;
+            final int startMenuSize = random.nextInt(3) == 0 ? 0 : random.nextInt(400);
+            final int endMenuSize = random.nextInt(3) == 0 ? 0 : random.nextInt(400);
+
+            mPolicy.setFullSwipeEnable(fullSwipe);
+            mPolicy.setMenuSizes(startMenuSize, endMenuSize);
+            replayRandomGesture(random, gesture);
+        }
+    }
+
+    /**
+     * 随机生成一个手势并检查不变量：偏移量不越界、列表滚动不改变偏移量、抬起后回到空闲、速度有限且不超过上限、只展开有菜单的一端
+     */
+    private void replayRandomGesture(Random random, int gesture) {
+        final int initialOffset = (int) mPolicy.clamp(random.nextInt(2 * ROW_SIZE) - ROW_SIZE, ROW_SIZE);
+        final int moveCount = random.nextInt(40);
+        float main = random.nextFloat() * ROW_SIZE;
+        float cross = random.nextFloat() * 200;
+        long time = random.nextInt(1000);
+
+        mCore.setCallback(() -> initialOffset);
+        mCore.onDown(main, cross, time, initialOffset, ROW_SIZE);
+        for (int i = 0; i < moveCount; ++i) {
+            final int stateBefore = mCore.getState();
+            final float offsetBefore = mCore.getPendingOffset();
+
+            //偶尔出现停顿和同一时刻的重复采样
+            time += random.nextInt(10) == 0 ? random.nextInt(120) : random.nextInt(17);
+            main += random.nextGaussian() * 30;
+            cross += random.nextGaussian() * 30;
+            if (random.nextInt(8) == 0) {
+                mCore.onHistoricalSample(main, time);
+            }
+
+            final boolean changed = mCore.onMove(main, cross, time);
+            final float offset = mCore.getPendingOffset();
+
+            check(gesture, offset == mPolicy.clamp(offset, ROW_SIZE), "offset out of bounds: " + offset);
+            check(gesture, changed == (offset != offsetBefore), "change flag mismatch");
+            if (stateBefore == SwipeGestureCore.STATE_SCROLL) {
+                check(gesture, mCore.getState() == SwipeGestureCore.STATE_SCROLL, "scroll left its state");
+                check(gesture, !changed, "scroll changed offset");
+            }
+        }
+
+        final int state = mCore.getState();
+        final int decision = mCore.onUp(main, cross, time + random.nextInt(17));
+        final float velocity = mCore.getOffsetVelocity();
+
+        check(gesture, mCore.getState() == SwipeGestureCore.STATE_IDLE, "not idle after up");
+        check(gesture, (decision == SwipeGestureCore.RELEASE_NONE) == (state != SwipeGestureCore.STATE_DRAG), "unexpected release");
+        check(gesture, !Float.isNaN(velocity) && Math.abs(velocity) <= MAX_VELOCITY, "bad velocity: " + velocity);
+        if (decision == SwipeReleasePolicy.DECISION_EXPAND || decision == SwipeReleasePolicy.DECISION_FULL_SWIPE) {
+            final int side = SwipeReleasePolicy.sideOf((int) mCore.getPendingOffset());
+
+            check(gesture, mPolicy.getExpandedOffset(side) != 0, "expanded a side without menu");
+        }
+    }
+
+    private static void check(int gesture, boolean condition, String message) {
+        if (!condition) {
+            fail("gesture " + gesture + ": " + message);
+        }
+    }
+
+}
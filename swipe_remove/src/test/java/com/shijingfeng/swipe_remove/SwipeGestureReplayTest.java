@@ -0,0 +1,177 @@
+package com.shijingfeng.swipe_remove;
+
+import android.app.Activity;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * function: 重放测试资源中的触摸轨迹（src/test/resources/traces/），检查决策结果、帧预算和内存分配预算
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class SwipeGestureReplayTest {
+
+    /** 末端菜单宽度（展开阈值 120 * 0.4 = 48）*/
+    private static final int MENU_WIDTH = 120;
+    /** 与普通 ViewGroup 相比，每个事件额外分配的内存上限（字节）*/
+    private static final int ALLOCATION_BUDGET_PER_EVENT = 64;
+
+    private Activity mActivity;
+    private SwipeRemoveLayout mLayout;
+
+    @Before
+    public void setUp() {
+        mActivity = Robolectric.buildActivity(Activity.class).setup().get();
+
+        final FrameLayout parent = new FrameLayout(mActivity);
+
+        mLayout = new SwipeRemoveLayout(mActivity);
+        addRowChildren(mLayout);
+        parent.addView(mLayout, new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        mActivity.setContentView(parent);
+        idle();
+    }
+
+    @Test
+    public void fling_expandsBelowDistanceThreshold() throws IOException {
+        //只拖动了约44像素，没有超过阈值，但松手速度超过了快速滑动速度
+        replayAndSettle("fling_open.swtrace");
+
+        assertTrue(mLayout.isOpen());
+        assertEquals(MENU_WIDTH, mLayout.getSwipeOffset());
+    }
+
+    @Test
+    public void slowDrag_followsDistanceThreshold() throws IOException {
+        replayAndSettle("slow_drag_open.swtrace");
+        assertTrue(mLayout.isOpen());
+
+        mLayout.bindState(null, 0);
+        replayAndSettle("slow_drag_close.swtrace");
+        assertFalse(mLayout.isOpen());
+        assertEquals(0, mLayout.getSwipeOffset());
+    }
+
+    @Test
+    public void verticalScroll_neverMovesRow() throws IOException {
+        final int[] scrollCount = new int[1];
+
+        mLayout.setOnScrollChangeListener((v, scrollX, scrollY, oldScrollX, oldScrollY) -> ++scrollCount[0]);
+        replayAndSettle("vertical_scroll.swtrace");
+
+        assertEquals(0, scrollCount[0]);
+        assertFalse(mLayout.isOpen());
+    }
+
+    @Test
+    public void drag_staysWithinFrameBudget() throws IOException {
+        final SwipeGestureMetrics[] reported = new SwipeGestureMetrics[1];
+        final int[] scrollCount = new int[1];
+        final int[] frameCount = new int[1];
+
+        mLayout.setOnSwipeMetricsListener((layout, metrics) -> {
+            reported[0] = metrics;
+            frameCount[0] = metrics.getDragFrameCount() + metrics.getSettleFrameCount();
+        });
+        mLayout.setOnScrollChangeListener((v, scrollX, scrollY, oldScrollX, oldScrollY) -> ++scrollCount[0]);
+        mLayout.resetMeasureCounters();
+        replayAndSettle("slow_drag_open.swtrace");
+
+        assertNotNull(reported[0]);
+        assertEquals(SwipeGestureMetrics.RESULT_EXPANDED, reported[0].getResult());
+        //每帧最多移动一次（松手时应用未到帧的偏移量、动画开始时各可能多一次）
+        assertTrue("scrolls: " + scrollCount[0] + ", frames: " + frameCount[0], scrollCount[0] <= frameCount[0] + 2);
+        //侧滑只移动偏移量，不重新测量
+        assertEquals(0, mLayout.getMeasureCount());
+    }
+
+    @Test
+    public void replay_staysWithinAllocationBudget() throws IOException {
+        final SwipeGestureTrace trace = SwipeGestureReplayer.load("slow_drag_open.swtrace");
+        final FrameLayout baseline = new FrameLayout(mActivity);
+
+        //同样的子View放在普通 ViewGroup 中作为基准，扣除 Robolectric 和 ViewGroup 自身分发的分配
+        addRowChildren(baseline);
+        ((ViewGroup) mLayout.getParent()).addView(baseline, new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        idle();
+
+        //第一次重放用于预热（类加载、菜单加载等）
+        replayAndSettle(trace, mLayout);
+        replayAndSettle(trace, baseline);
+        mLayout.bindState(null, 0);
+
+        final long layoutBytes = replayAndSettle(trace, mLayout);
+        final long baselineBytes = replayAndSettle(trace, baseline);
+        final long extraPerEvent = (layoutBytes - baselineBytes) / trace.size();
+
+        assertTrue("extra bytes per event: " + extraPerEvent, extraPerEvent <= ALLOCATION_BUDGET_PER_EVENT);
+    }
+
+    @Test
+    public void recorder_capturesReplayedTrace() throws IOException {
+        final SwipeGestureTrace trace = SwipeGestureReplayer.load("fling_open.swtrace");
+        final SwipeGestureRecorder recorder = new SwipeGestureRecorder();
+
+        mLayout.setGestureRecorder(recorder);
+        replayAndSettle(trace, mLayout);
+
+        final SwipeGestureTrace recorded = recorder.getTrace();
+
+        assertEquals(trace.size(), recorded.size());
+        for (int i = 0; i < trace.size(); ++i) {
+            assertEquals(trace.getAction(i), recorded.getAction(i));
+            assertEquals(trace.getTime(i), recorded.getTime(i));
+            assertEquals(trace.getX(i), recorded.getX(i), 0F);
+            assertEquals(trace.getY(i), recorded.getY(i), 0F);
+        }
+    }
+
+    private void replayAndSettle(String name) throws IOException {
+        replayAndSettle(SwipeGestureReplayer.load(name), mLayout);
+    }
+
+    /**
+     * 重放轨迹并等待归位动画结束
+     * @return 分发事件期间分配的内存（字节）
+     */
+    private static long replayAndSettle(SwipeGestureTrace trace, View target) {
+        final long allocatedBytes = SwipeGestureReplayer.replay(target, trace);
+
+        //弹簧动画最长1秒
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(1500));
+        return allocatedBytes;
+    }
+
+    /**
+     * 内容（宽度占满，高200）+ 末端菜单
+     */
+    private static void addRowChildren(ViewGroup row) {
+        row.addView(new View(row.getContext()), new ViewGroup.MarginLayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, 200));
+        row.addView(new View(row.getContext()), new ViewGroup.MarginLayoutParams(MENU_WIDTH, ViewGroup.LayoutParams.MATCH_PARENT));
+    }
+
+    private static void idle() {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100));
+    }
+
+}
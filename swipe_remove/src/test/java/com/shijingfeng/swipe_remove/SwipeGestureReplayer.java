@@ -0,0 +1,79 @@
+package com.shijingfeng.swipe_remove;
+
+import android.os.Looper;
+import android.os.SystemClock;
+import android.view.MotionEvent;
+import android.view.View;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * function: 在 Robolectric 中重放触摸轨迹（需要 LooperMode.PAUSED）
+ *           事件之间按轨迹中的时间间隔推进主线程时钟，期间的帧回调和动画与真实设备的顺序一致
+ */
+final class SwipeGestureReplayer {
+
+    /** 轨迹文件在测试资源中的目录 */
+    private static final String TRACE_DIRECTORY = "/traces/";
+
+    private SwipeGestureReplayer() {
+    }
+
+    /**
+     * 读取测试资源中的轨迹
+     * @param name 文件名（src/test/resources/traces/ 下）
+     */
+    static SwipeGestureTrace load(String name) throws IOException {
+        try (InputStream in = SwipeGestureReplayer.class.getResourceAsStream(TRACE_DIRECTORY + name)) {
+            if (in == null) {
+                throw new IOException("Trace not found: " + name);
+            }
+            return SwipeGestureTrace.readFrom(in);
+        }
+    }
+
+    /**
+     * 重放轨迹
+     * @param target 接收事件的View
+     * @return 分发事件期间当前线程分配的内存（字节，不含创建事件和推进时钟的分配）
+     */
+    static long replay(View target, SwipeGestureTrace trace) {
+        final long startTime = SystemClock.uptimeMillis();
+        long downTime = startTime;
+        long allocatedBytes = 0;
+
+        for (int i = 0; i < trace.size(); ++i) {
+            final long eventTime = startTime + trace.getTime(i);
+            final long delay = eventTime - SystemClock.uptimeMillis();
+
+            if (delay > 0) {
+                shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(delay));
+            }
+            if (trace.getAction(i) == SwipeGestureTrace.ACTION_DOWN) {
+                downTime = eventTime;
+            }
+
+            final MotionEvent event = MotionEvent.obtain(downTime, eventTime, trace.getAction(i), trace.getX(i), trace.getY(i), 0);
+            final long before = allocatedBytes();
+
+            target.dispatchTouchEvent(event);
+            allocatedBytes += allocatedBytes() - before;
+            event.recycle();
+        }
+        return allocatedBytes;
+    }
+
+    /**
+     * 当前线程已分配的内存（字节）
+     */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+}
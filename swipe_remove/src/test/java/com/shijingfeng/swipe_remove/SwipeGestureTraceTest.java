@@ -0,0 +1,149 @@
+package com.shijingfeng.swipe_remove;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * function: 触摸轨迹编码测试，以及用测试资源中的轨迹验证手势状态机的决策（纯JVM，不需要Android环境）
+ */
+public class SwipeGestureTraceTest {
+
+    /** 与 {@link SwipeGestureReplayTest} 中的布局一致：宽320，末端菜单宽120 */
+    private static final int ROW_SIZE = 320;
+    private static final int MENU_SIZE = 120;
+    private static final int TOUCH_SLOP = 8;
+
+    @Test
+    public void roundTrip_preservesQuantizedEvents() throws IOException {
+        final SwipeGestureTrace trace = new SwipeGestureTrace();
+
+        trace.add(SwipeGestureTrace.ACTION_DOWN, 0, 250.03F, 100F);
+        //负增量、大间隔
+        trace.add(SwipeGestureTrace.ACTION_MOVE, 8, 12.5F, 140.25F);
+        trace.add(SwipeGestureTrace.ACTION_MOVE, 100_000, -30F, 0F);
+        trace.add(SwipeGestureTrace.ACTION_CANCEL, 100_008, -30F, 0F);
+
+        final SwipeGestureTrace read = SwipeGestureTrace.readFrom(new ByteArrayInputStream(trace.toByteArray()));
+
+        assertEquals(trace.size(), read.size());
+        for (int i = 0; i < trace.size(); ++i) {
+            assertEquals(trace.getAction(i), read.getAction(i));
+            assertEquals(trace.getTime(i), read.getTime(i));
+            assertEquals(trace.getX(i), read.getX(i), 0F);
+            assertEquals(trace.getY(i), read.getY(i), 0F);
+        }
+        //按 1/16 像素量化
+        assertEquals(250F, trace.getX(0), 0F);
+        assertEquals(140.25F, trace.getY(1), 0F);
+    }
+
+    @Test
+    public void encoding_isCompact() throws IOException {
+        final SwipeGestureTrace trace = load("slow_drag_open.swtrace");
+        final int bytes = trace.toByteArray().length;
+
+        //原始数据每个事件 17 个字节（动作 + long 时间 + 两个 float 坐标）
+        assertTrue("bytes per event: " + (float) bytes / trace.size(), bytes < trace.size() * 5);
+    }
+
+    @Test
+    public void readFrom_rejectsInvalidData() {
+        final byte[] bytes = new SwipeGestureTrace().toByteArray();
+
+        bytes[0] = 'X';
+        assertReadFails(bytes, IOException.class);
+
+        final SwipeGestureTrace trace = new SwipeGestureTrace();
+
+        trace.add(SwipeGestureTrace.ACTION_DOWN, 0, 1F, 1F);
+        trace.add(SwipeGestureTrace.ACTION_UP, 8, 1F, 1F);
+
+        final byte[] encoded = trace.toByteArray();
+
+        assertReadFails(Arrays.copyOf(encoded, encoded.length - 1), EOFException.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void add_rejectsMultiPointerAction() {
+        new SwipeGestureTrace().add(5, 0, 0F, 0F);
+    }
+
+    @Test
+    public void fling_expandsBelowDistanceThreshold() throws IOException {
+        assertEquals(SwipeReleasePolicy.DECISION_EXPAND, replay("fling_open.swtrace"));
+    }
+
+    @Test
+    public void slowDrag_followsDistanceThreshold() throws IOException {
+        assertEquals(SwipeReleasePolicy.DECISION_EXPAND, replay("slow_drag_open.swtrace"));
+        assertEquals(SwipeReleasePolicy.DECISION_CLOSE, replay("slow_drag_close.swtrace"));
+    }
+
+    @Test
+    public void verticalScroll_neverDrags() throws IOException {
+        assertEquals(SwipeGestureCore.RELEASE_NONE, replay("vertical_scroll.swtrace"));
+    }
+
+    private static void assertReadFails(byte[] bytes, Class<? extends IOException> expected) {
+        try {
+            SwipeGestureTrace.readFrom(new ByteArrayInputStream(bytes));
+            fail("Expected " + expected.getSimpleName());
+        } catch (IOException e) {
+            assertEquals(expected, e.getClass());
+        }
+    }
+
+    /**
+     * 读取测试资源中的轨迹（不经过 {@link SwipeGestureReplayer}，不加载Android类）
+     */
+    private static SwipeGestureTrace load(String name) throws IOException {
+        try (InputStream in = SwipeGestureTraceTest.class.getResourceAsStream("/traces/" + name)) {
+            if (in == null) {
+                throw new IOException("Trace not found: " + name);
+            }
+            return SwipeGestureTrace.readFrom(in);
+        }
+    }
+
+    /**
+     * 把轨迹（只有一个手势）重放到手势状态机中
+     * @return 最后一次抬起的决策
+     */
+    private static int replay(String name) throws IOException {
+        final SwipeGestureTrace trace = load(name);
+        final SwipeReleasePolicy policy = new SwipeReleasePolicy();
+        final SwipeGestureCore core = new SwipeGestureCore(policy);
+        int decision = SwipeGestureCore.RELEASE_NONE;
+
+        policy.setMenuSizes(0, MENU_SIZE);
+        core.setTouchSlop(TOUCH_SLOP);
+        for (int i = 0; i < trace.size(); ++i) {
+            final float x = trace.getX(i);
+            final float y = trace.getY(i);
+            final long time = trace.getTime(i);
+
+            switch (trace.getAction(i)) {
+                case SwipeGestureTrace.ACTION_DOWN:
+                    core.onDown(x, y, time, 0, ROW_SIZE);
+                    break;
+                case SwipeGestureTrace.ACTION_MOVE:
+                    core.onMove(x, y, time);
+                    break;
+                default:
+                    decision = core.onUp(x, y, time);
+                    break;
+            }
+        }
+        return decision;
+    }
+
+}
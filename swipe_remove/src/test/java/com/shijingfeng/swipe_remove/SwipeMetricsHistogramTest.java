@@ -0,0 +1,92 @@
+package com.shijingfeng.swipe_remove;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * function: 无锁直方图测试（分桶、并发记录、记录时不产生对象）
+ */
+public class SwipeMetricsHistogramTest {
+
+    @Test
+    public void record_placesValuesInInclusiveBuckets() {
+        final SwipeMetricsHistogram histogram = new SwipeMetricsHistogram(10, 20, 40);
+        final long[] counts = new long[histogram.getBucketCount()];
+
+        histogram.record(-1);
+        histogram.record(10);
+        histogram.record(11);
+        histogram.record(40);
+        histogram.record(41);
+        histogram.copyCounts(counts);
+
+        assertEquals(2, counts[0]);
+        assertEquals(1, counts[1]);
+        assertEquals(1, counts[2]);
+        assertEquals(1, counts[3]);
+        assertEquals(5, histogram.getTotalCount());
+        assertEquals(41, histogram.getMax());
+        assertEquals(20, histogram.getPercentile(0.6));
+        assertEquals(41, histogram.getPercentile(1));
+    }
+
+    @Test
+    public void concurrentRecord_losesNothing() throws InterruptedException {
+        final SwipeMetricsHistogram histogram = new SwipeMetricsHistogram(1, 2, 4, 8);
+        final Thread[] threads = new Thread[4];
+        final int perThread = 100_000;
+
+        for (int i = 0; i < threads.length; ++i) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < perThread; ++j) {
+                    histogram.record(j & 15);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long sum = 0;
+
+        for (int i = 0; i < histogram.getBucketCount(); ++i) {
+            sum += histogram.getCount(i);
+        }
+        assertEquals((long) threads.length * perThread, histogram.getTotalCount());
+        assertEquals(histogram.getTotalCount(), sum);
+        assertEquals(15, histogram.getMax());
+    }
+
+    @Test
+    public void recordAndExport_allocateNothingOnceWarm() {
+        final SwipeMetricsHistogram histogram = new SwipeMetricsHistogram(1, 10, 100, 1_000);
+        final long[] counts = new long[histogram.getBucketCount()];
+
+        for (int i = 0; i < 10_000; ++i) {
+            histogram.record(i);
+            histogram.copyCounts(counts);
+        }
+
+        final long before = allocatedBytes();
+
+        for (int i = 0; i < 100_000; ++i) {
+            histogram.record(i);
+            histogram.copyCounts(counts);
+        }
+
+        assertEquals(0, (allocatedBytes() - before) / 100_000);
+    }
+
+    /**
+     * 当前线程已分配的内存（字节）
+     */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+}
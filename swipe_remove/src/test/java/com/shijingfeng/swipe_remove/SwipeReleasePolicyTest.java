@@ -0,0 +1,73 @@
+package com.shijingfeng.swipe_remove;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * function: 侧滑决策测试（纯JVM，不需要Android环境）
+ */
+public class SwipeReleasePolicyTest {
+
+    private static final int ROW_SIZE = 1000;
+
+    private SwipeReleasePolicy mPolicy;
+
+    @Before
+    public void setUp() {
+        mPolicy = new SwipeReleasePolicy();
+        mPolicy.setMenuSizes(200, 300);
+    }
+
+    @Test
+    public void slowRelease_usesPerSideThreshold() {
+        //末端菜单 300 * 0.4 = 120，起始端菜单 200 * 0.4 = 80
+        assertEquals(SwipeReleasePolicy.DECISION_CLOSE, mPolicy.decide(120, 0, ROW_SIZE, true));
+        assertEquals(SwipeReleasePolicy.DECISION_EXPAND, mPolicy.decide(121, 0, ROW_SIZE, true));
+        assertEquals(SwipeReleasePolicy.DECISION_EXPAND, mPolicy.decide(-81, 0, ROW_SIZE, true));
+
+        mPolicy.setStartMenuThreshold(0.5F);
+        assertEquals(SwipeReleasePolicy.DECISION_CLOSE, mPolicy.decide(-81, 0, ROW_SIZE, true));
+    }
+
+    @Test
+    public void fling_followsDirectionRegardlessOfDistance() {
+        assertEquals(SwipeReleasePolicy.DECISION_EXPAND, mPolicy.decide(10, 1500, ROW_SIZE, true));
+        assertEquals(SwipeReleasePolicy.DECISION_CLOSE, mPolicy.decide(290, -1500, ROW_SIZE, true));
+        assertEquals(SwipeReleasePolicy.DECISION_EXPAND, mPolicy.decide(-10, -1500, ROW_SIZE, true));
+        assertEquals(SwipeReleasePolicy.DECISION_CLOSE, mPolicy.decide(-190, 1500, ROW_SIZE, true));
+    }
+
+    @Test
+    public void notMoved_alwaysCloses() {
+        assertEquals(SwipeReleasePolicy.DECISION_CLOSE, mPolicy.decide(300, 1500, ROW_SIZE, false));
+        assertEquals(SwipeReleasePolicy.DECISION_CLOSE, mPolicy.decide(0, 1500, ROW_SIZE, true));
+    }
+
+    @Test
+    public void fullSwipe_byDistanceOrVelocityPastMenu() {
+        mPolicy.setFullSwipeEnable(true);
+
+        assertEquals(SwipeReleasePolicy.DECISION_FULL_SWIPE, mPolicy.decide(501, 0, ROW_SIZE, true));
+        assertEquals(SwipeReleasePolicy.DECISION_EXPAND, mPolicy.decide(301, 2000, ROW_SIZE, true));
+        assertEquals(SwipeReleasePolicy.DECISION_FULL_SWIPE, mPolicy.decide(301, 3500, ROW_SIZE, true));
+        //没有越过菜单时快速滑动只展开
+        assertEquals(SwipeReleasePolicy.DECISION_EXPAND, mPolicy.decide(250, 3500, ROW_SIZE, true));
+        assertEquals(SwipeReleasePolicy.DECISION_FULL_SWIPE, mPolicy.decide(-201, -3500, ROW_SIZE, true));
+    }
+
+    @Test
+    public void clamp_limitsEachSideToItsMenu() {
+        assertEquals(300F, mPolicy.clamp(400, ROW_SIZE), 0F);
+        assertEquals(-200F, mPolicy.clamp(-400, ROW_SIZE), 0F);
+
+        mPolicy.setFullSwipeEnable(true);
+        assertEquals(ROW_SIZE, mPolicy.clamp(2000, ROW_SIZE), 0F);
+
+        //没有菜单的一端不能拖动
+        mPolicy.setMenuSizes(0, 300);
+        assertEquals(0F, mPolicy.clamp(-400, ROW_SIZE), 0F);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.shijingfeng.swipe_remove;
+
+import android.app.Activity;
+import android.util.AttributeSet;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * function: RecyclerView 级别侧滑引擎的滑动方向（只支持横向，纵向方向直接报错，不会被当作向右滑动）
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class SwipeRemoveItemHelperTest {
+
+    private Activity mActivity;
+
+    @Before
+    public void setUp() {
+        mActivity = Robolectric.buildActivity(Activity.class).setup().get();
+    }
+
+    @Test
+    public void horizontalDirections_fromXml() {
+        assertEquals(SwipeRemoveItemHelper.LEFT, new SwipeRemoveItemHelper(mActivity, null).getSwipeDirection());
+        assertEquals(SwipeRemoveItemHelper.RIGHT, new SwipeRemoveItemHelper(mActivity, directionAttrs("right"), null).getSwipeDirection());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void verticalDirection_fromXml_isRejected() {
+        new SwipeRemoveItemHelper(mActivity, directionAttrs("top"), null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void verticalDirection_fromSetter_isRejected() {
+        //与 app:swipeDirection="bottom" 的值相同
+        new SwipeRemoveItemHelper(mActivity, null).setSwipeDirection(3);
+    }
+
+    private AttributeSet directionAttrs(String direction) {
+        return Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.swipeDirection, direction)
+                .build();
+    }
+
+}
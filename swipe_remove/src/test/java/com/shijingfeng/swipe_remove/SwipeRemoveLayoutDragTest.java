@@ -0,0 +1,133 @@
+package com.shijingfeng.swipe_remove;
+
+import android.app.Activity;
+import android.os.Looper;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * function: 拖动偏移测试（同一帧内的多个 ACTION_MOVE 合并为一次偏移；没有归位的松手不留下手势采集）
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class SwipeRemoveLayoutDragTest {
+
+    private SwipeRemoveLayout mLayout;
+
+    @Before
+    public void setUp() {
+        final Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        final FrameLayout parent = new FrameLayout(activity);
+
+        mLayout = new SwipeRemoveLayout(activity);
+        mLayout.addView(new View(activity), new ViewGroup.MarginLayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, 200));
+        mLayout.addView(new View(activity), new ViewGroup.MarginLayoutParams(300, ViewGroup.LayoutParams.MATCH_PARENT));
+        parent.addView(mLayout, new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        activity.setContentView(parent);
+        idle();
+    }
+
+    @Test
+    public void movesWithinOneFrame_applyOnceOnNextFrame() {
+        dispatch(MotionEvent.ACTION_DOWN, 900, 0);
+        dispatch(MotionEvent.ACTION_MOVE, 860, 10);
+        dispatch(MotionEvent.ACTION_MOVE, 840.5F, 20);
+        dispatch(MotionEvent.ACTION_MOVE, 820.5F, 30);
+
+        //还没有到下一帧
+        assertEquals(0, mLayout.getSwipeOffset());
+
+        idle();
+        assertEquals(79, mLayout.getSwipeOffset());
+    }
+
+    @Test
+    public void release_appliesPendingOffsetBeforeSettling() {
+        dispatch(MotionEvent.ACTION_DOWN, 900, 0);
+        dispatch(MotionEvent.ACTION_MOVE, 700, 100);
+        dispatch(MotionEvent.ACTION_MOVE, 600, 200);
+        dispatch(MotionEvent.ACTION_UP, 600, 200);
+
+        //松手时已经应用了最后的位置，超过菜单宽度的40%，展开
+        assertEquals(300, mLayout.getSwipeOffset());
+        assertTrue(mLayout.isOpen());
+    }
+
+    @Test
+    public void tap_leavesMetricsTrackerIdle() {
+        mLayout.setOnSwipeMetricsListener((layout, metrics) -> {});
+        dispatch(MotionEvent.ACTION_DOWN, 900, 0);
+        assertFalse(mLayout.getMetricsTracker().isIdle());
+        dispatch(MotionEvent.ACTION_UP, 900, 50);
+
+        //没有归位，不再逐帧回调
+        assertTrue(mLayout.getMetricsTracker().isIdle());
+        idle();
+        assertTrue(mLayout.getMetricsTracker().isIdle());
+    }
+
+    @Test
+    public void verticalRelease_leavesMetricsTrackerIdle() {
+        mLayout.setOnSwipeMetricsListener((layout, metrics) -> {});
+        dispatch(MotionEvent.ACTION_DOWN, 900, 100, 0);
+        dispatch(MotionEvent.ACTION_MOVE, 895, 160, 10);
+        dispatch(MotionEvent.ACTION_MOVE, 890, 260, 20);
+        dispatch(MotionEvent.ACTION_UP, 890, 260, 30);
+
+        assertEquals(0, mLayout.getSwipeOffset());
+        assertTrue(mLayout.getMetricsTracker().isIdle());
+    }
+
+    @Test
+    public void fullSwipe_reportsFullSwipeResult() {
+        final int[] result = {-1};
+
+        mLayout.setFullSwipeEnable(true);
+        mLayout.setOnSwipeMetricsListener((layout, metrics) -> result[0] = metrics.getResult());
+        dispatch(MotionEvent.ACTION_DOWN, 900, 0);
+        dispatch(MotionEvent.ACTION_MOVE, 800, 100);
+        dispatch(MotionEvent.ACTION_MOVE, 700, 200);
+        dispatch(MotionEvent.ACTION_MOVE, 650, 300);
+        dispatch(MotionEvent.ACTION_UP, 650, 300);
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofSeconds(1));
+
+        //超过行宽一半整行滑出，不算作展开菜单
+        assertTrue(mLayout.isFullSwiped());
+        assertEquals(SwipeGestureMetrics.RESULT_FULL_SWIPE, result[0]);
+        assertTrue(mLayout.getMetricsTracker().isIdle());
+    }
+
+    private void dispatch(int action, float x, long time) {
+        dispatch(action, x, 100, time);
+    }
+
+    private void dispatch(int action, float x, float y, long time) {
+        final MotionEvent event = MotionEvent.obtain(0, time, action, x, y, 0);
+
+        mLayout.dispatchTouchEvent(event);
+        event.recycle();
+    }
+
+    private static void idle() {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100));
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.shijingfeng.swipe_remove;
+
+import android.content.Context;
+import android.view.View;
+import android.view.View.MeasureSpec;
+import android.view.ViewGroup;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * function: 测量次数测试（MATCH_PARENT 菜单只测量一次，条件不变时直接使用缓存）
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SwipeRemoveLayoutMeasureTest {
+
+    private static final int WIDTH_SPEC = MeasureSpec.makeMeasureSpec(1080, MeasureSpec.EXACTLY);
+    private static final int HEIGHT_SPEC = MeasureSpec.makeMeasureSpec(1920, MeasureSpec.AT_MOST);
+
+    private SwipeRemoveLayout mLayout;
+    private View mContent;
+    private View mMenu;
+
+    @Before
+    public void setUp() {
+        final Context context = ApplicationProvider.getApplicationContext();
+
+        mLayout = new SwipeRemoveLayout(context);
+        mContent = new View(context);
+        mLayout.addView(mContent, new ViewGroup.MarginLayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, 200));
+
+        for (int i = 0; i < 3; ++i) {
+            mMenu = new View(context);
+            mLayout.addView(mMenu, new ViewGroup.MarginLayoutParams(150, ViewGroup.LayoutParams.MATCH_PARENT));
+        }
+    }
+
+    @Test
+    public void matchParentMenu_isMeasuredOnce() {
+        mLayout.measure(WIDTH_SPEC, HEIGHT_SPEC);
+
+        assertEquals(1, mLayout.getMeasureCount());
+        assertEquals(4, mLayout.getChildMeasureCount());
+        assertEquals(200, mLayout.getMeasuredHeight());
+        assertEquals(200, mMenu.getMeasuredHeight());
+    }
+
+    @Test
+    public void unchangedRemeasure_usesCache() {
+        mLayout.measure(WIDTH_SPEC, HEIGHT_SPEC);
+        mLayout.layout(0, 0, mLayout.getMeasuredWidth(), mLayout.getMeasuredHeight());
+        mLayout.resetMeasureCounters();
+
+        //只有布局自己请求重新布局，子View没有变化
+        mLayout.forceLayout();
+        mLayout.measure(WIDTH_SPEC, HEIGHT_SPEC);
+
+        assertEquals(1, mLayout.getMeasureCount());
+        assertEquals(1, mLayout.getMeasureCacheHitCount());
+        assertEquals(0, mLayout.getChildMeasureCount());
+        assertEquals(200, mLayout.getMeasuredHeight());
+    }
+
+    @Test
+    public void childChange_invalidatesCache() {
+        mLayout.measure(WIDTH_SPEC, HEIGHT_SPEC);
+        mLayout.layout(0, 0, mLayout.getMeasuredWidth(), mLayout.getMeasuredHeight());
+        mLayout.resetMeasureCounters();
+
+        final ViewGroup.LayoutParams lp = mContent.getLayoutParams();
+
+        lp.height = 300;
+        mContent.setLayoutParams(lp);
+        mLayout.measure(WIDTH_SPEC, HEIGHT_SPEC);
+
+        assertEquals(0, mLayout.getMeasureCacheHitCount());
+        assertEquals(4, mLayout.getChildMeasureCount());
+        assertEquals(300, mMenu.getMeasuredHeight());
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.shijingfeng.swipe_remove;
+
+import android.app.Activity;
+import android.os.Looper;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * function: 两端菜单测试（起始端和末端菜单各自的宽度、阈值和打开状态）
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class SwipeRemoveLayoutMenuSideTest {
+
+    private SwipeRemoveLayout mLayout;
+    private View mStartMenu;
+    private View mEndMenu;
+
+    @Before
+    public void setUp() {
+        final Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        final FrameLayout parent = new FrameLayout(activity);
+
+        mLayout = new SwipeRemoveLayout(activity);
+        mStartMenu = new View(activity);
+        mEndMenu = new View(activity);
+        mLayout.addView(new View(activity), new ViewGroup.MarginLayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, 200));
+        mLayout.addView(mStartMenu, menuParams(200, SwipeRemoveLayout.SIDE_START));
+        mLayout.addView(mEndMenu, menuParams(300, SwipeRemoveLayout.SIDE_END));
+        parent.addView(mLayout, new FrameLayout.LayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        activity.setContentView(parent);
+        idle();
+    }
+
+    @Test
+    public void menus_measuredAndLaidOutOnTheirOwnSide() {
+        assertEquals(200, mLayout.getMenuSize(SwipeRemoveLayout.SIDE_START));
+        assertEquals(300, mLayout.getMenuSize(SwipeRemoveLayout.SIDE_END));
+        assertEquals(-200, mStartMenu.getLeft());
+        assertEquals(mLayout.getWidth(), mEndMenu.getLeft());
+    }
+
+    @Test
+    public void swipeRight_opensStartMenu() {
+        dispatch(MotionEvent.ACTION_DOWN, 100, 0);
+        dispatch(MotionEvent.ACTION_MOVE, 200, 100);
+        dispatch(MotionEvent.ACTION_MOVE, 250, 200);
+        dispatch(MotionEvent.ACTION_UP, 250, 200);
+
+        //超过起始端菜单宽度的40%，展开起始端菜单
+        assertTrue(mLayout.isOpen());
+        assertEquals(SwipeRemoveLayout.SIDE_START, mLayout.getOpenSide());
+    }
+
+    @Test
+    public void endThreshold_isIndependentOfStartThreshold() {
+        mLayout.setEndMenuThreshold(0.8F);
+
+        dispatch(MotionEvent.ACTION_DOWN, 900, 0);
+        dispatch(MotionEvent.ACTION_MOVE, 800, 100);
+        dispatch(MotionEvent.ACTION_MOVE, 750, 200);
+        dispatch(MotionEvent.ACTION_UP, 750, 200);
+
+        //150 没有超过末端菜单宽度的80%，关闭
+        assertFalse(mLayout.isOpen());
+    }
+
+    @Test
+    public void bindState_restoresOpenSide() {
+        final SwipeStateStore store = new SwipeStateStore();
+
+        store.put(1, SwipeStateStore.STATE_OPEN_START);
+        store.put(2, SwipeStateStore.STATE_OPEN_END);
+
+        mLayout.bindState(store, 1);
+        assertEquals(-200, mLayout.getSwipeOffset());
+        assertEquals(SwipeRemoveLayout.SIDE_START, mLayout.getOpenSide());
+
+        mLayout.bindState(store, 2);
+        assertEquals(300, mLayout.getSwipeOffset());
+        assertEquals(SwipeRemoveLayout.SIDE_END, mLayout.getOpenSide());
+    }
+
+    private static SwipeRemoveLayout.CustomLayoutParams menuParams(int width, int side) {
+        final SwipeRemoveLayout.CustomLayoutParams lp = new SwipeRemoveLayout.CustomLayoutParams(width, ViewGroup.LayoutParams.MATCH_PARENT);
+
+        lp.menuSide = side;
+        return lp;
+    }
+
+    private void dispatch(int action, float x, long time) {
+        final MotionEvent event = MotionEvent.obtain(0, time, action, x, 100, 0);
+
+        mLayout.dispatchTouchEvent(event);
+        event.recycle();
+    }
+
+    private static void idle() {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100));
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.shijingfeng.swipe_remove;
+
+import android.app.Activity;
+import android.os.Looper;
+import android.util.AttributeSet;
+import android.view.MotionEvent;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.FrameLayout;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.time.Duration;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * function: 纵向侧滑测试（swipeDirection="top"，菜单排在内容下方，向上滑动显示）
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class SwipeRemoveLayoutVerticalTest {
+
+    private SwipeRemoveLayout mLayout;
+    private View mMenu;
+
+    @Before
+    public void setUp() {
+        final Activity activity = Robolectric.buildActivity(Activity.class).setup().get();
+        final FrameLayout parent = new FrameLayout(activity);
+        final AttributeSet attrs = Robolectric.buildAttributeSet()
+                .addAttribute(R.attr.swipeDirection, "top")
+                .build();
+
+        mLayout = new SwipeRemoveLayout(activity, attrs);
+        mMenu = new View(activity);
+        mLayout.addView(new View(activity), new ViewGroup.MarginLayoutParams(300, 600));
+        mLayout.addView(mMenu, new ViewGroup.MarginLayoutParams(ViewGroup.LayoutParams.MATCH_PARENT, 200));
+        parent.addView(mLayout, new FrameLayout.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT));
+        activity.setContentView(parent);
+        idle();
+    }
+
+    @Test
+    public void menu_laidOutBelowContentWithUniformWidth() {
+        assertEquals(600, mLayout.getHeight());
+        assertEquals(300, mLayout.getWidth());
+        assertEquals(200, mLayout.getMenuSize(SwipeRemoveLayout.SIDE_END));
+        assertEquals(600, mMenu.getTop());
+        assertEquals(300, mMenu.getWidth());
+    }
+
+    @Test
+    public void swipeUp_opensMenu() {
+        dispatch(MotionEvent.ACTION_DOWN, 500, 0);
+        dispatch(MotionEvent.ACTION_MOVE, 420, 100);
+        dispatch(MotionEvent.ACTION_MOVE, 380, 200);
+        dispatch(MotionEvent.ACTION_UP, 380, 200);
+        //等待展开动画结束
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(500));
+
+        //超过菜单高度的40%，展开，只在纵向偏移
+        assertEquals(200, mLayout.getScrollY());
+        assertEquals(0, mLayout.getScrollX());
+        assertTrue(mLayout.isOpen());
+    }
+
+    @Test
+    public void horizontalMove_isLeftToParent() {
+        dispatch(MotionEvent.ACTION_DOWN, 500, 0);
+        dispatch(MotionEvent.ACTION_MOVE, 500, 100, 380);
+        dispatch(MotionEvent.ACTION_UP, 500, 200, 380);
+
+        //与侧滑方向夹角超过20度，交给外层列表
+        assertEquals(0, mLayout.getSwipeOffset());
+        assertFalse(mLayout.isOpen());
+    }
+
+    private void dispatch(int action, float y, long time) {
+        dispatch(action, y, time, 150);
+    }
+
+    private void dispatch(int action, float y, long time, float x) {
+        final MotionEvent event = MotionEvent.obtain(0, time, action, x, y, 0);
+
+        mLayout.dispatchTouchEvent(event);
+        event.recycle();
+    }
+
+    private static void idle() {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100));
+    }
+
+}
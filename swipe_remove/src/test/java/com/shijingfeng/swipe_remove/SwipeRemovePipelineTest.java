@@ -0,0 +1,150 @@
+package com.shijingfeng.swipe_remove;
+
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListUpdateCallback;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+import org.robolectric.annotation.LooperMode;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * function: 删除流水线测试（连续删除合并为一次差异计算）
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+@LooperMode(LooperMode.Mode.PAUSED)
+public class SwipeRemovePipelineTest {
+
+    private static final int ITEM_COUNT = 10_000;
+
+    private static final DiffUtil.ItemCallback<Long> ITEM_CALLBACK = new DiffUtil.ItemCallback<Long>() {
+
+        @Override
+        public boolean areItemsTheSame(@NonNull Long oldItem, @NonNull Long newItem) {
+            return oldItem.equals(newItem);
+        }
+
+        @Override
+        public boolean areContentsTheSame(@NonNull Long oldItem, @NonNull Long newItem) {
+            return true;
+        }
+    };
+
+    /** 后台差异计算任务（手动执行，模拟计算耗时）*/
+    private final List<Runnable> mBackgroundTasks = new ArrayList<>();
+    private AsyncListDiffer<Long> mDiffer;
+    private SwipeRemovePipeline<Long> mPipeline;
+    private int mRemovedCount;
+
+    @Before
+    public void setUp() {
+        final ListUpdateCallback updateCallback = new ListUpdateCallback() {
+
+            @Override
+            public void onInserted(int position, int count) {
+            }
+
+            @Override
+            public void onRemoved(int position, int count) {
+                mRemovedCount += count;
+            }
+
+            @Override
+            public void onMoved(int fromPosition, int toPosition) {
+            }
+
+            @Override
+            public void onChanged(int position, int count, Object payload) {
+            }
+        };
+        final List<Long> list = new ArrayList<>(ITEM_COUNT);
+
+        for (long i = 0; i < ITEM_COUNT; ++i) {
+            list.add(i);
+        }
+        mDiffer = new AsyncListDiffer<>(updateCallback, new AsyncDifferConfig.Builder<>(ITEM_CALLBACK)
+                .setBackgroundThreadExecutor(mBackgroundTasks::add)
+                .build());
+        //第一次提交不计算差异
+        mDiffer.submitList(list);
+        mPipeline = new SwipeRemovePipeline<>(mDiffer, item -> item);
+    }
+
+    @Test
+    public void deletesInOneFrame_shareOneDiffPass() {
+        for (long key = 0; key < ITEM_COUNT; key += 100) {
+            mPipeline.remove(key);
+        }
+        idle();
+        runBackgroundTasks();
+
+        assertEquals(1, mPipeline.getDiffPassCount());
+        assertEquals(ITEM_COUNT - 100, mDiffer.getCurrentList().size());
+        assertEquals(100, mRemovedCount);
+        assertEquals(0, mPipeline.getPendingCount());
+    }
+
+    @Test
+    public void deletesDuringDiff_areCoalescedIntoNextPass() {
+        mPipeline.remove(1);
+        idle();
+
+        //第一次差异计算还没有完成
+        for (long key = 2; key < 50; ++key) {
+            mPipeline.remove(key);
+            idle();
+        }
+        assertEquals(1, mPipeline.getDiffPassCount());
+
+        runBackgroundTasks();
+        runBackgroundTasks();
+
+        assertEquals(2, mPipeline.getDiffPassCount());
+        assertEquals(ITEM_COUNT - 49, mDiffer.getCurrentList().size());
+        assertFalse(mDiffer.getCurrentList().contains(25L));
+        assertEquals(0, mPipeline.getPendingCount());
+    }
+
+    @Test
+    public void unknownKey_submitsNothing() {
+        mPipeline.remove(ITEM_COUNT + 1);
+        idle();
+
+        assertEquals(0, mPipeline.getDiffPassCount());
+        assertEquals(0, mPipeline.getPendingCount());
+    }
+
+    /**
+     * 执行后台差异计算，然后执行主线程的提交和下一帧
+     */
+    private void runBackgroundTasks() {
+        final List<Runnable> tasks = new ArrayList<>(mBackgroundTasks);
+
+        mBackgroundTasks.clear();
+        for (Runnable task : tasks) {
+            task.run();
+        }
+        idle();
+    }
+
+    private static void idle() {
+        shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100));
+    }
+
+}
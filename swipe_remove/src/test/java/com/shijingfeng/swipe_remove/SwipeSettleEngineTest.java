@@ -0,0 +1,90 @@
+package com.shijingfeng.swipe_remove;
+
+import android.animation.ValueAnimator;
+import android.content.Context;
+
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * function: 动画引擎内存分配测试（预热之后每一帧不允许产生任何对象）
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SwipeSettleEngineTest {
+
+    /** 预热帧数 */
+    private static final int WARM_UP_FRAMES = 10_000;
+    /** 测量帧数 */
+    private static final int MEASURE_FRAMES = 100_000;
+
+    private SwipeRemoveLayout mLayout;
+    private SwipeSettleEngine mEngine;
+    private ValueAnimator mFrameSource;
+
+    @Before
+    public void setUp() {
+        final Context context = ApplicationProvider.getApplicationContext();
+
+        mLayout = new SwipeRemoveLayout(context);
+        mEngine = new SwipeSettleEngine(mLayout);
+        //只作为帧数据来源，不启动
+        mFrameSource = ValueAnimator.ofFloat(0F, 1F);
+        mFrameSource.setDuration(300);
+    }
+
+    @Test
+    public void settleFrame_allocatesNothingOnceWarm() {
+        mEngine.expand(0, 300, 300);
+        runFrames(WARM_UP_FRAMES);
+
+        final long before = allocatedBytes();
+        runFrames(MEASURE_FRAMES);
+        final long after = allocatedBytes();
+
+        assertEquals(0, (after - before) / MEASURE_FRAMES);
+    }
+
+    @Test
+    public void settleFrame_appliesInterpolatedOffset() {
+        mEngine.close(200, 300);
+
+        mFrameSource.setCurrentFraction(1F);
+        mEngine.onAnimationUpdate(mFrameSource);
+        assertEquals(0, mLayout.getScrollX());
+
+        mEngine.expand(0, 240, 300);
+        mFrameSource.setCurrentFraction(1F);
+        mEngine.onAnimationUpdate(mFrameSource);
+        assertEquals(240, mLayout.getScrollX());
+    }
+
+    /**
+     * 模拟动画帧
+     * @param frames 帧数
+     */
+    private void runFrames(int frames) {
+        for (int i = 0; i < frames; ++i) {
+            mFrameSource.setCurrentFraction((i % 100) / 100F);
+            mEngine.onAnimationUpdate(mFrameSource);
+        }
+    }
+
+    /**
+     * 当前线程已分配的内存（字节）
+     */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+}
@@ -0,0 +1,69 @@
+package com.shijingfeng.swipe_remove;
+
+import android.os.Bundle;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * function: 打开状态存储测试
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 28)
+public class SwipeStateStoreTest {
+
+    @Test
+    public void putAndRemove_keepKeysSorted() {
+        final SwipeStateStore store = new SwipeStateStore();
+
+        for (long id = 100; id > 0; id -= 3) {
+            store.put(id, SwipeStateStore.STATE_OPEN);
+        }
+        store.put(-5, SwipeStateStore.STATE_OPEN);
+        store.remove(49);
+
+        for (int i = 1; i < store.size(); ++i) {
+            assertTrue(store.keyAt(i - 1) < store.keyAt(i));
+        }
+        assertTrue(store.isOpen(-5));
+        assertTrue(store.isOpen(100));
+        assertFalse(store.isOpen(49));
+        assertFalse(store.isOpen(50));
+    }
+
+    @Test
+    public void putClosed_removesEntry() {
+        final SwipeStateStore store = new SwipeStateStore();
+
+        store.put(7, SwipeStateStore.STATE_OPEN);
+        store.put(7, SwipeStateStore.STATE_CLOSED);
+
+        assertEquals(0, store.size());
+        assertEquals(SwipeStateStore.STATE_CLOSED, store.get(7));
+    }
+
+    @Test
+    public void saveAndRestore_roundTrips() {
+        final SwipeStateStore store = new SwipeStateStore();
+        final SwipeStateStore restored = new SwipeStateStore();
+        final Bundle bundle = new Bundle();
+
+        store.put(Long.MAX_VALUE, SwipeStateStore.STATE_OPEN);
+        store.put(3, SwipeStateStore.STATE_OPEN);
+        store.onSaveInstanceState(bundle, "list");
+        restored.onRestoreInstanceState(bundle, "list");
+        restored.put(4, SwipeStateStore.STATE_OPEN);
+
+        assertEquals(3, restored.size());
+        assertTrue(restored.isOpen(Long.MAX_VALUE));
+        assertTrue(restored.isOpen(3));
+        assertFalse(restored.isOpen(0));
+    }
+
+}